@@ -0,0 +1,19 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Define o contexto de mapeamento de um parâmetro @RequestBody, no lugar do contexto derivado do método HTTP.
+ * <p>
+ * O valor é o nome de um contexto registrado no ContextRegistry (ex.: "admin-read", registrado pela propriedade
+ * reflection-engine.contexts.admin-read). O body é mapeado e validado apenas com os campos desse contexto.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface MappingContext {
+    String value();
+}
@@ -9,7 +9,8 @@ import java.lang.annotation.Annotation;
 public enum OperationContext {
     GET(Read.class),    // Context annotation.
     POST(Create.class), // Context annotation.
-    PUT(Update.class);  // Context annotation.
+    PUT(Update.class),  // Context annotation.
+    PATCH(Update.class); // Context annotation. Corpo application/merge-patch+json (RFC 7396), ver Mapper.patchForX.
     /*
     Se o parâmetro não tem annotation de contexto (@Create, @Read ou @Update por enquanto) ->
     ele não terá o no objeto ->
@@ -39,6 +39,27 @@ public enum ValidationRule {
         this.validator = validator;
     }
 
+    private static final ValidationRule[] VALUES = values();
+    private static final ValidationRule[] NONE = new ValidationRule[0];
+
+    /**
+     * @return Regras das annotations de validação declaradas no campo, na ordem de declaração.
+     * Resolvido uma vez por campo (ver FieldParticipation) para que validar não aloque por chamada.
+     */
+    public static ValidationRule[] rulesFor(Field field) {
+        ValidationRule[] rules = NONE;
+        for (Annotation annotation : field.getDeclaredAnnotations()) {
+            for (ValidationRule rule : VALUES) {
+                if (rule.annotationClass.equals(annotation.annotationType())) {
+                    rules = Arrays.copyOf(rules, rules.length + 1);
+                    rules[rules.length - 1] = rule;
+                    break;
+                }
+            }
+        }
+        return rules;
+    }
+
     public static Optional<ValidationRule> fromAnnotation(Annotation annotation) {
         return Arrays.stream(values())
                 .filter(v -> v.annotationClass.equals(annotation.annotationType()))
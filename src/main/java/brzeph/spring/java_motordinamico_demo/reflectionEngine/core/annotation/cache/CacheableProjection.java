@@ -0,0 +1,17 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.cache;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Habilita a memoização das projeções mapeadas da classe anotada.
+ * <p>
+ * A classe precisa declarar um campo com @Id e um campo com @Version; a projeção é reutilizada
+ * enquanto o par (id, versão) não mudar. Classes sem a anotação nunca são cacheadas.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CacheableProjection {}
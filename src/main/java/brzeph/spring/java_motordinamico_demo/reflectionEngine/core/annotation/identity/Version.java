@@ -0,0 +1,11 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Version {}
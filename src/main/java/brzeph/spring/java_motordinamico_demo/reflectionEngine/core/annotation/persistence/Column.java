@@ -0,0 +1,17 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.persistence;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Define o nome da coluna usada pelos mapeadores JDBC. Sem a anotação, o nome do campo
+ * é convertido para snake_case (ex.: customerName -> customer_name).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Column {
+    String value();
+}
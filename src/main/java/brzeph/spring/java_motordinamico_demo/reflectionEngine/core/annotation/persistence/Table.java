@@ -0,0 +1,17 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.persistence;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Define o nome da tabela usada pelos mapeadores JDBC. Sem a anotação, o nome da classe
+ * é convertido para snake_case (ex.: PurchaseOrder -> purchase_order).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Table {
+    String value();
+}
@@ -0,0 +1,18 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.tracking;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Habilita o rastreamento dos campos presentes na requisição para a classe anotada.
+ * <p>
+ * Instâncias criadas pelo mapForContext guardam (fora do objeto, ver DirtyFields) quais chaves vieram no body,
+ * e o merge visita apenas esses campos em vez de percorrer todo o esquema. Campos ausentes do body mantêm o valor
+ * do base, mesmo que a classe os inicialize com um valor padrão. Classes sem a anotação nunca são rastreadas.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DirtyTracking {}
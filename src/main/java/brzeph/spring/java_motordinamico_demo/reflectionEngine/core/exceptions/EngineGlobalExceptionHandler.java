@@ -39,6 +39,23 @@ public class EngineGlobalExceptionHandler {
                 .body("Erro de validação: " + ex.getMessage());
     }
 
+    /**
+     * Trata corpos de requisição que excedem os limites de payload, rejeitados durante a leitura.
+     *
+     * @param ex a exceção de limite lançada
+     * @return resposta HTTP 413 se o corpo excedeu o tamanho em bytes, 400 se excedeu um limite de forma
+     * (tamanho de coleção, profundidade ou tamanho de string)
+     */
+    @ExceptionHandler(PayloadLimitEngineException.class)
+    public ResponseEntity<String> handlePayloadLimitException(PayloadLimitEngineException ex) {
+        HttpStatus status = ex.getLimit() == PayloadLimitEngineException.Limit.BODY_BYTES
+                ? HttpStatus.PAYLOAD_TOO_LARGE
+                : HttpStatus.BAD_REQUEST;
+        return ResponseEntity
+                .status(status)
+                .body("Payload rejeitado: " + ex.getMessage());
+    }
+
     /**
      * Trata falhas genéricas lançadas pela reflectionEngine
      *
@@ -75,5 +92,11 @@ public class EngineGlobalExceptionHandler {
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("Erro interno: " + ex.getMessage());
     }
+    @ExceptionHandler(PersistenceEngineException.class)
+    public ResponseEntity<String> handleValidationException(PersistenceEngineException ex) {
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Erro de persistência: " + ex.getMessage());
+    }
 }
 
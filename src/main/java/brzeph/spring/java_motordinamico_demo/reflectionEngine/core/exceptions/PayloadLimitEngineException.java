@@ -0,0 +1,28 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions;
+
+/**
+ * Corpo de requisição rejeitado por exceder um limite de tamanho ou de forma (ver PayloadLimits).
+ */
+public class PayloadLimitEngineException extends RuntimeException {
+
+    /**
+     * Limite violado; define o status HTTP da resposta.
+     */
+    public enum Limit {
+        BODY_BYTES,
+        COLLECTION_LENGTH,
+        NESTING_DEPTH,
+        STRING_LENGTH
+    }
+
+    private final Limit limit;
+
+    public PayloadLimitEngineException(Limit limit, String message) {
+        super(message);
+        this.limit = limit;
+    }
+
+    public Limit getLimit() {
+        return limit;
+    }
+}
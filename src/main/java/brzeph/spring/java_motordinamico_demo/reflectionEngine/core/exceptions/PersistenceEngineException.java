@@ -0,0 +1,7 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions;
+
+public class PersistenceEngineException extends RuntimeException {
+    public PersistenceEngineException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,53 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.limits.LimitedPayloadReader;
+
+/**
+ * Documento JSON Merge Patch (RFC 7396) recebido no corpo de uma requisição PATCH.
+ * <p>
+ * O CustomContextualMessageConverter apenas guarda os bytes do corpo; o documento é interpretado em streaming
+ * somente ao ser aplicado sobre a entidade existente com {@link Mapper#patchForX}, sem desserializar um objeto completo.
+ * <p>
+ * Os limites de coleção, profundidade e string do conversor que leu o corpo acompanham o documento e são aplicados
+ * durante essa interpretação.
+ */
+public final class JsonMergePatch {
+
+    public static final String MEDIA_TYPE_VALUE = "application/merge-patch+json";
+
+    private final byte[] document;
+    private final LimitedPayloadReader reader;
+
+    /**
+     * Documento interpretado com os {@link LimitedPayloadReader#defaults() limites padrão}.
+     */
+    public JsonMergePatch(byte[] document) {
+        this(document, LimitedPayloadReader.defaults());
+    }
+
+    public JsonMergePatch(byte[] document, LimitedPayloadReader reader) {
+        this.document = document;
+        this.reader = reader;
+    }
+
+    /**
+     * @return Bytes do documento. O array não deve ser alterado.
+     */
+    public byte[] getDocument() {
+        return document;
+    }
+
+    /**
+     * @return Leitor com os limites aplicados ao interpretar o documento.
+     */
+    public LimitedPayloadReader getReader() {
+        return reader;
+    }
+
+    @Override
+    public String toString() {
+        return "JsonMergePatch{" +
+                "bytes=" + document.length +
+                '}';
+    }
+}
@@ -1,18 +1,40 @@
 package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper;
 
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.MergeEngineException;
-import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.ReflectionMapperEngine;
 
 import java.lang.annotation.Annotation;
 
-import static brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.ReflectionMapperEngine.mergeIntoThirdObject;
-
 public class Mapper {
     /*
     map to map -> devolve um JSON mapeado.
     map to object -> devolve um objeto mapeado.
     merge for x -> realiza merge entre 2 objetos e retorna o terceiro priorizando os dados preenchidos do segundo.
+    patch for x -> aplica um JSON Merge Patch (RFC 7396) sobre o objeto, tocando só as chaves presentes.
+
+    Todos os métodos delegam para o MappingEngine padrão (ReflectiveMappingEngine com as opções globais, ou o bean
+    configurado pelo MappingEngineConfiguration quando a aplicação Spring sobe).
+     */
+
+    private static volatile MappingEngine defaultEngine = ReflectiveMappingEngine.builder().name("default").build();
+
+    /**
+     * @return Motor para o qual os métodos estáticos delegam.
+     */
+    public static MappingEngine getDefaultEngine() {
+        return defaultEngine;
+    }
+
+    /**
+     * Troca o motor usado pelos métodos estáticos (ex.: pelo bean configurado ou por outra implementação num benchmark).
      */
+    public static void setDefaultEngine(MappingEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentEngineException("Motor de mapeamento não pode ser nulo");
+        }
+        defaultEngine = engine;
+    }
+
     /**
      * Executa o mapeamento de leitura de um objeto, filtrando os seus campos com base na anotação annotationClass.
      * <p>
@@ -25,7 +47,26 @@ public class Mapper {
      * @return Mapa contendo apenas os campos anotados com @Read.
      */
     public static Object mapToMapForX(Object source, Class<? extends Annotation> annotationClass) {
-        return ReflectionMapperEngine.map(source, source.getClass(), annotationClass, true);
+        return mapToMapForX(source, annotationClass, null);
+    }
+
+    /**
+     * Executa o mapeamento de leitura de um objeto para Map, restrito aos campos selecionados pela expressão de máscara.
+     * <p>
+     * A expressão segue o formato do parâmetro {@code ?fields=} (ex.: {@code id,customerName,items.productCode}) e é
+     * compilada uma única vez por classe/contexto/expressão. Campos fora da máscara e as suas subárvores não são
+     * mapeados nem serializados.
+     * <p>
+     * Se a classe de origem estiver anotada com @CacheableProjection, a projeção é memoizada por
+     * (@Id, @Version, contexto, máscara) e reaproveitada sem nova reflexão enquanto a versão não mudar.
+     *
+     * @param source Objeto de origem completo (ex.: entidade carregada do banco de dados).
+     * @param annotationClass classe da annotation a ser mapeada (ex.: Read.class).
+     * @param fields expressão de máscara; se nula ou vazia, equivale a {@link #mapToMapForX(Object, Class)}.
+     * @return Mapa contendo apenas os campos anotados e selecionados pela máscara.
+     */
+    public static Object mapToMapForX(Object source, Class<? extends Annotation> annotationClass, String fields) {
+        return defaultEngine.mapToMap(source, annotationClass, fields);
     }
 
     /**
@@ -40,7 +81,7 @@ public class Mapper {
      * @return Mapa contendo apenas os campos anotados com @Read.
      */
     public static Object mapToObjectForX(Object source, Class<? extends Annotation> annotationClass) {
-        return ReflectionMapperEngine.map(source, source.getClass(), annotationClass, false);
+        return defaultEngine.mapToObject(source, annotationClass);
     }
 
     /**
@@ -51,6 +92,7 @@ public class Mapper {
      * - Campos com @Update que possuem valor null em `update` mantém o valor existente em `base`.
      * - Campos não anotados com @Update são ignorados e permanecem inalterados.
      * - Suporta mapeamento recursivo para atributos aninhados (nested POJOs).
+     * - As projeções cacheadas de `base` (ver @CacheableProjection) são invalidadas, pois o merge produz uma nova versão.
      *
      * @param base Objeto de origem original (ex.: carregado do banco de dados).
      * @param update Objeto de atualização (ex.: recebido no request PUT).
@@ -58,7 +100,23 @@ public class Mapper {
      * @return Novo objeto resultante com o merge aplicado.
      */
     public static <T> T mergeForX(T base, T update, Class<? extends Annotation> context) {
-        return ReflectionMapperEngine.mergeWithAnnotation(base, update, context);
+        return defaultEngine.merge(base, update, context);
+    }
+
+    /**
+     * Aplica um JSON Merge Patch (RFC 7396) sobre o objeto base, tocando somente os campos presentes no patch.
+     * <p>
+     * Diferente de {@link #mergeForX}, um {@code null} explícito limpa o campo e não é preciso desserializar um
+     * objeto completo: o documento é interpretado em streaming. Listas com @MergeId são mescladas por id.
+     * O base não é alterado.
+     *
+     * @param base    Objeto existente.
+     * @param patch   Documento recebido (ex.: corpo de uma requisição PATCH).
+     * @param context Annotation dos campos que podem ser alterados (ex.: Update.class).
+     * @return Novo objeto com o patch aplicado.
+     */
+    public static <T> T patchForX(T base, JsonMergePatch patch, Class<? extends Annotation> context) {
+        return defaultEngine.patch(base, patch, context);
     }
 
 
@@ -90,6 +148,6 @@ public class Mapper {
      *                              </ul>
      */
     public static <A, B, R> R complexMerge(A obj1, B obj2, Class<R> resultClass) {
-        return mergeIntoThirdObject(obj1, obj2, resultClass); // Utilizar para juntar headers complementares.
+        return defaultEngine.complexMerge(obj1, obj2, resultClass); // Utilizar para juntar headers complementares.
     }
 }
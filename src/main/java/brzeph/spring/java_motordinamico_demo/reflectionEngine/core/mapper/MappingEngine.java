@@ -0,0 +1,47 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Operações do motor de mapeamento por contexto.
+ * <p>
+ * A implementação padrão é o {@link ReflectiveMappingEngine}; o {@link Mapper} estático delega para a instância
+ * definida em {@link Mapper#setDefaultEngine(MappingEngine)}. Implementações diferentes (ex.: uma com acessores
+ * gerados) podem ser instanciadas lado a lado e comparadas com as mesmas entradas.
+ * <p>
+ * Implementações devem ser thread-safe.
+ */
+public interface MappingEngine {
+
+    /**
+     * @return Nome da instância, usado em logs, métricas e benchmarks.
+     */
+    String name();
+
+    /**
+     * Projeta o objeto em Map com os campos anotados com {@code annotationClass}, restritos à máscara.
+     *
+     * @param fields Expressão de máscara no formato do parâmetro {@code ?fields=}; nula ou vazia para a projeção completa.
+     */
+    Object mapToMap(Object source, Class<? extends Annotation> annotationClass, String fields);
+
+    /**
+     * Copia o objeto para uma nova instância contendo apenas os campos anotados com {@code annotationClass}.
+     */
+    Object mapToObject(Object source, Class<? extends Annotation> annotationClass);
+
+    /**
+     * Merge campo a campo em que {@code null} no update mantém o valor do base.
+     */
+    <T> T merge(T base, T update, Class<? extends Annotation> annotationClass);
+
+    /**
+     * Aplica um JSON Merge Patch (RFC 7396) sobre o base.
+     */
+    <T> T patch(T base, JsonMergePatch patch, Class<? extends Annotation> annotationClass);
+
+    /**
+     * Junta dois objetos complementares numa instância de {@code resultClass}, com validação total dos campos.
+     */
+    <A, B, R> R complexMerge(A obj1, B obj2, Class<R> resultClass);
+}
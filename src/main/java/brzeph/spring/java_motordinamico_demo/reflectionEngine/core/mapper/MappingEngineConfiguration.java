@@ -0,0 +1,40 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.MappingOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Expõe o {@link MappingEngine} da aplicação como bean, configurado por propriedades:
+ * <ul>
+ *     <li>{@code reflection-engine.identity-tracking} (padrão true)</li>
+ *     <li>{@code reflection-engine.max-depth} (padrão {@value MappingOptions#DEFAULT_MAX_DEPTH})</li>
+ *     <li>{@code reflection-engine.projection-cache} (padrão true)</li>
+ * </ul>
+ * O bean também passa a ser o motor padrão do {@link Mapper} estático, para que os pontos que ainda usam a API
+ * estática sigam a mesma configuração. As opções de travessia também são expostas como bean e injetadas no
+ * AnnotationBasedMapper, para que o caminho da requisição (conversor, mapForContext e validateBody) siga os mesmos
+ * limites.
+ */
+@Configuration
+public class MappingEngineConfiguration {
+
+    @Bean
+    public MappingOptions mappingOptions(@Value("${reflection-engine.identity-tracking:true}") boolean identityTracking,
+                                         @Value("${reflection-engine.max-depth:" + MappingOptions.DEFAULT_MAX_DEPTH + "}") int maxDepth) {
+        return new MappingOptions(identityTracking, maxDepth);
+    }
+
+    @Bean
+    public MappingEngine mappingEngine(MappingOptions mappingOptions,
+                                       @Value("${reflection-engine.projection-cache:true}") boolean projectionCache) {
+        MappingEngine engine = ReflectiveMappingEngine.builder()
+                .name("application")
+                .options(mappingOptions)
+                .projectionCache(projectionCache)
+                .build();
+        Mapper.setDefaultEngine(engine);
+        return engine;
+    }
+}
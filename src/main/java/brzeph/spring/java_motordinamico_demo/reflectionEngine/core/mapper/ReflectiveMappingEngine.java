@@ -0,0 +1,158 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache.ProjectionCache;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.MappingOptions;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.MergePatchEngine;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.ReflectionMapperEngine;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection.CompiledFieldMask;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection.FieldMaskCompiler;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Implementação reflexiva do {@link MappingEngine}, construída por {@link #builder()}.
+ * <p>
+ * Cada instância tem as suas próprias opções de travessia e decide se usa o cache de projeções e se emite eventos JFR;
+ * os caches de metadados por classe (campos, máscaras compiladas) continuam compartilhados, pois não dependem da
+ * configuração. Execução assíncrona fica fora do motor: ver AsyncMapper, que recebe o executor.
+ */
+public final class ReflectiveMappingEngine implements MappingEngine {
+
+    private final String name;
+    private final MappingOptions options;
+    private final boolean projectionCache;
+    private final boolean events;
+
+    private ReflectiveMappingEngine(Builder builder) {
+        this.name = builder.name;
+        this.options = builder.options != null && !builder.events ? builder.options.withEvents(false) : builder.options;
+        this.projectionCache = builder.projectionCache;
+        this.events = builder.events;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Opções de travessia desta instância (as globais, se o builder não definiu opções próprias).
+     */
+    public MappingOptions getOptions() {
+        if (options != null) return options;
+        MappingOptions global = ReflectionMapperEngine.getOptions();
+        return events ? global : global.withEvents(false);
+    }
+
+    public boolean isProjectionCacheEnabled() {
+        return projectionCache;
+    }
+
+    @Override
+    public Object mapToMap(Object source, Class<? extends Annotation> annotationClass, String fields) {
+        if (source == null) return null;
+        if (projectionCache && ProjectionCache.isCacheable(source.getClass())) {
+            return ProjectionCache.getOrMap(source, annotationClass, fields, () -> project(source, annotationClass, fields));
+        }
+        return project(source, annotationClass, fields);
+    }
+
+    private Object project(Object source, Class<? extends Annotation> annotationClass, String fields) {
+        CompiledFieldMask mask = FieldMaskCompiler.compile(source.getClass(), annotationClass, fields);
+        return ReflectionMapperEngine.map(source, source.getClass(), annotationClass, mask, getOptions());
+    }
+
+    @Override
+    public Object mapToObject(Object source, Class<? extends Annotation> annotationClass) {
+        if (source == null) return null;
+        return ReflectionMapperEngine.map(source, source.getClass(), annotationClass, false, getOptions());
+    }
+
+    @Override
+    public <T> T merge(T base, T update, Class<? extends Annotation> annotationClass) {
+        T merged = ReflectionMapperEngine.mergeWithAnnotation(base, update, annotationClass, getOptions());
+        ProjectionCache.invalidate(base);
+        return merged;
+    }
+
+    @Override
+    public <T> T patch(T base, JsonMergePatch patch, Class<? extends Annotation> annotationClass) {
+        if (patch == null) {
+            throw new IllegalArgumentEngineException("Objetos não podem ser nulos");
+        }
+        T patched = MergePatchEngine.apply(base, patch.getDocument(), annotationClass, getOptions(), patch.getReader());
+        ProjectionCache.invalidate(base);
+        return patched;
+    }
+
+    @Override
+    public <A, B, R> R complexMerge(A obj1, B obj2, Class<R> resultClass) {
+        return ReflectionMapperEngine.mergeIntoThirdObject(obj1, obj2, resultClass);
+    }
+
+    @Override
+    public String toString() {
+        return "ReflectiveMappingEngine{" +
+                "name='" + name + '\'' +
+                ", options=" + getOptions() +
+                ", projectionCache=" + projectionCache +
+                ", events=" + events +
+                '}';
+    }
+
+    public static final class Builder {
+        private String name = "reflective";
+        private MappingOptions options;
+        private boolean projectionCache = true;
+        private boolean events = true;
+
+        private Builder() {
+        }
+
+        public Builder name(String name) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentEngineException("Nome do motor não pode ser vazio");
+            }
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Opções de travessia (rastreamento de identidade e profundidade máxima). Sem esta chamada, a instância segue
+         * as opções globais de {@link ReflectionMapperEngine#configure(MappingOptions)}.
+         */
+        public Builder options(MappingOptions options) {
+            if (options == null) {
+                throw new IllegalArgumentEngineException("Opções de mapeamento não podem ser nulas");
+            }
+            this.options = options;
+            return this;
+        }
+
+        /**
+         * Se true (padrão), classes com @CacheableProjection reaproveitam projeções memoizadas no ProjectionCache.
+         */
+        public Builder projectionCache(boolean projectionCache) {
+            this.projectionCache = projectionCache;
+            return this;
+        }
+
+        /**
+         * Se false, as operações desta instância não emitem eventos JFR (ex.: um motor usado em benchmarks ou em
+         * tarefas internas que não devem aparecer nas gravações). Padrão: true.
+         */
+        public Builder events(boolean events) {
+            this.events = events;
+            return this;
+        }
+
+        public ReflectiveMappingEngine build() {
+            return new ReflectiveMappingEngine(this);
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
-import java.lang.reflect.ParameterizedType;
 import java.util.Collection;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 
@@ -12,82 +13,232 @@ import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.Op
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.ValidationRule;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ContextMappingEngineError;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ValidationEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.DirtyFields;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.FieldParticipation;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.FieldPlan;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.KeyDispatchTable;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.CollectionFactory;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.MappingOptions;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.MappingSession;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring.MappingEvent;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring.MappingEvents;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.ReflectionMapperEngine;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AnnotationBasedMapper {
 
+    // Thread-safe depois de configurado; criar um por conversão custava dezenas de KB por campo mapeado.
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final UnknownKeyPolicy unknownKeyPolicy;
+    private final MappingOptions options;
+
+    public AnnotationBasedMapper() {
+        this(UnknownKeyPolicy.IGNORE);
+    }
+
+    /**
+     * Mapper que segue as opções globais de {@link ReflectionMapperEngine#configure(MappingOptions)}.
+     */
+    public AnnotationBasedMapper(UnknownKeyPolicy unknownKeyPolicy) {
+        this(unknownKeyPolicy, null);
+    }
+
+    /**
+     * @param unknownKeyPolicy O que fazer com chaves do body que não correspondem a nenhum campo da classe
+     *                         ({@code reflection-engine.unknown-keys}, padrão IGNORE).
+     * @param options          Opções de travessia do mapeamento e da validação (as do MappingEngineConfiguration);
+     *                         null para seguir as globais.
+     */
+    @Autowired
+    public AnnotationBasedMapper(@Value("${reflection-engine.unknown-keys:IGNORE}") UnknownKeyPolicy unknownKeyPolicy,
+                                 MappingOptions options) {
+        this.unknownKeyPolicy = unknownKeyPolicy;
+        this.options = options;
+    }
+
+    /**
+     * @return Opções de travessia deste mapper (as globais, se nenhuma foi injetada).
+     */
+    public MappingOptions getOptions() {
+        return options != null ? options : ReflectionMapperEngine.getOptions();
+    }
+
     public <T> T mapForContext(Map<String, Object> jsonMap, Class<T> targetClass, OperationContext context) {
-        try {
-            T target = targetClass.getDeclaredConstructor().newInstance();
+        return mapForContext(jsonMap, targetClass, context.getAnnotationClass());
+    }
 
-            for (Field field : targetClass.getDeclaredFields()) {
-                field.setAccessible(true);
-                if (field.isAnnotationPresent(context.getAnnotationClass()) && jsonMap.containsKey(field.getName())) {
+    /**
+     * Mapeia o body para um contexto qualquer: um dos nativos (@Create, @Update...) ou um registrado pela aplicação
+     * no ContextRegistry.
+     *
+     * @param context Annotation de campo que define o contexto.
+     */
+    public <T> T mapForContext(Map<String, Object> jsonMap, Class<T> targetClass, Class<? extends Annotation> context) {
+        MappingOptions options = getOptions();
+        MappingSession session = new MappingSession(options);
+        MappingEvent event = MappingEvents.beginMapping(options);
+        try {
+            T target = mapForContext(jsonMap, targetClass, context, session);
+            // O grafo inteiro é validado uma única vez, na mesma sessão (e no mesmo evento JFR) do mapeamento.
+            validateBody(target, context, session);
+            return target;
+        } catch (ValidationEngineException e) {
+            throw new ContextMappingEngineError("Erro no mapeamento de contexto: " + e.getMessage());
+        } finally {
+            MappingEvents.mapping("mapForContext", targetClass, context, session, event);
+        }
+    }
 
-                    Object rawValue = jsonMap.get(field.getName());
+    private <T> T mapForContext(Map<String, Object> jsonMap, Class<T> targetClass, Class<? extends Annotation> context,
+                                MappingSession session) {
+        session.enter(targetClass);
+        try {
+            T target = targetClass.getDeclaredConstructor().newInstance();
 
-                    Object value = convertValue(rawValue, field.getType());
+            FieldParticipation participation = FieldParticipation.of(targetClass);
+            KeyDispatchTable dispatch = participation.dispatch(context);
+            // Classes com @DirtyTracking registram as chaves presentes, para que o merge visite apenas esses campos.
+            BitSet present = participation.dirtyTracked() ? new BitSet(participation.fields().length) : null;
+            // Percorre as chaves do payload (e não os campos da classe): o custo acompanha o tamanho do body.
+            for (Map.Entry<String, Object> entry : jsonMap.entrySet()) {
+                int index = dispatch.indexOf(entry.getKey());
+                if (index < 0) {
+                    rejectIfUnknown(entry.getKey(), targetClass);
+                    continue;
+                }
+                if (present != null) present.set(index);
+                Field field = participation.fields()[index];
+                Class<?> fieldType = field.getType();
+                Object rawValue = entry.getValue();
 
-                    // Nested object recursion
-                    if (isCustomClass(field.getType()) && value instanceof Map) {
-                        Object nested = mapForContext((Map<String, Object>) value, field.getType(), context);
-                        field.set(target, nested);
+                // Nested object recursion
+                if (isCustomClass(fieldType) && rawValue instanceof Map) {
+                    Object nested = mapForContext((Map<String, Object>) rawValue, fieldType, context, session);
+                    field.set(target, nested);
+                }
+                // Collection recursion: a coleção mantém o tipo declarado (Set, Deque...) e nasce no tamanho do payload.
+                else if (Collection.class.isAssignableFrom(fieldType) && rawValue instanceof List<?> items) {
+                    Class<?> itemType = CollectionFactory.typeArgument(field, 0);
+                    Collection<Object> targetCollection = CollectionFactory.newCollection(fieldType, itemType, items.size());
+                    session.recordCollection(items.size());
+                    for (Object item : items) {
+                        CollectionFactory.add(targetCollection, mapItem(item, itemType, context, session), field);
                     }
-                    // Collection recursion
-                    else if (Collection.class.isAssignableFrom(field.getType()) && value instanceof List) {
-                        ParameterizedType listType = (ParameterizedType) field.getGenericType();
-                        Class<?> itemType = (Class<?>) listType.getActualTypeArguments()[0];
-
-                        List<Object> targetList = new ArrayList<>();
-                        for (Object item : (List<?>) value) {
-                            if (isCustomClass(itemType) && item instanceof Map) {
-                                Object nested = mapForContext((Map<String, Object>) item, itemType, context);
-                                targetList.add(nested);
-                            } else {
-                                targetList.add(convertValue(item, itemType));
-                            }
-                        }
-                        field.set(target, targetList);
+                    field.set(target, targetCollection);
+                }
+                else if (fieldType.isArray() && !fieldType.getComponentType().isPrimitive() && rawValue instanceof List<?> items) {
+                    Class<?> itemType = fieldType.getComponentType();
+                    Object[] targetArray = (Object[]) Array.newInstance(itemType, items.size());
+                    session.recordCollection(items.size());
+                    for (int i = 0; i < targetArray.length; i++) {
+                        targetArray[i] = mapItem(items.get(i), itemType, context, session);
                     }
-                    else {
-                        field.set(target, value);
+                    field.set(target, targetArray);
+                }
+                // Map<K, POJO>: cada valor é mapeado com o mesmo contexto.
+                else if (Map.class.isAssignableFrom(fieldType) && rawValue instanceof Map<?, ?> entries && hasCustomValues(field)) {
+                    Class<?> keyType = CollectionFactory.typeArgument(field, 0);
+                    Class<?> valueType = CollectionFactory.typeArgument(field, 1);
+                    Map<Object, Object> targetMap = CollectionFactory.newMap(fieldType, keyType, entries.size());
+                    session.recordCollection(entries.size());
+                    for (Map.Entry<?, ?> item : entries.entrySet()) {
+                        targetMap.put(keyType != null ? convertValue(item.getKey(), keyType) : item.getKey(),
+                                mapItem(item.getValue(), valueType, context, session));
                     }
+                    field.set(target, targetMap);
+                }
+                else {
+                    field.set(target, convertValue(rawValue, fieldType));
                 }
             }
 
-            validateBody(target, context);
+            if (present != null) DirtyFields.mark(target, present);
             return target;
 
         } catch (Exception e) {
             throw new ContextMappingEngineError("Erro no mapeamento de contexto: " + e.getMessage());
+        } finally {
+            session.exit();
         }
     }
 
+    private Object mapItem(Object item, Class<?> itemType, Class<? extends Annotation> context, MappingSession session) {
+        if (itemType == null) return item;
+        if (isCustomClass(itemType) && item instanceof Map) {
+            return mapForContext((Map<String, Object>) item, itemType, context, session);
+        }
+        return convertValue(item, itemType);
+    }
+
     public void validateBody(Object requestBody, OperationContext context) {
+        validateBody(requestBody, context.getAnnotationClass());
+    }
+
+    /**
+     * Valida o body com as regras dos campos que participam do contexto (nativo ou registrado no ContextRegistry).
+     */
+    public void validateBody(Object requestBody, Class<? extends Annotation> context) {
+        MappingOptions options = getOptions();
+        MappingSession session = new MappingSession(options);
+        MappingEvent event = MappingEvents.beginMapping(options);
+        try {
+            validateBody(requestBody, context, session);
+        } finally {
+            MappingEvents.mapping("validate", requestBody != null ? requestBody.getClass() : null,
+                    context, session, event);
+        }
+    }
+
+    /*
+    Cada instância é validada uma única vez por chamada (rastreamento de identidade), o que evita
+    recursão infinita em grafos cíclicos e revalidação de subobjetos compartilhados.
+     */
+    private void validateBody(Object requestBody, Class<? extends Annotation> context, MappingSession session) {
         if (requestBody == null) return;
-        for (Field field : requestBody.getClass().getDeclaredFields()) {
-            field.setAccessible(true);
+        if (session.visitOf(requestBody) != null) return;
+        session.register(requestBody, null, requestBody);
+
+        session.enter(requestBody.getClass());
+        try {
+            validateFields(requestBody, context, session);
+        } finally {
+            session.exit();
+        }
+    }
+
+    private void validateFields(Object requestBody, Class<? extends Annotation> context, MappingSession session) {
+        FieldParticipation participation = FieldParticipation.of(requestBody.getClass());
+        Field[] fields = participation.fields();
+        BitSet participating = participation.bitmap(context);
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
             try {
                 Object value = field.get(requestBody);
-                if (field.isAnnotationPresent(context.getAnnotationClass())) {
-                    for (Annotation annotation : field.getDeclaredAnnotations()) {
-                        ValidationRule.fromAnnotation(annotation)
-                                .ifPresent(rule -> rule.validate(field, value));
+                if (participating.get(i)) {
+                    for (ValidationRule rule : participation.validationRules(i)) {
+                        rule.validate(field, value);
                     }
                 }
 
                 if (value != null) {
                     if (isCustomClass(field.getType())) {
-                        validateBody(value, context);
-                    } else if (value instanceof Collection<?>) {
-                        for (Object item : (Collection<?>) value) {
-                            if (item != null && isCustomClass(item.getClass())) {
-                                validateBody(item, context);
-                            }
-                        }
+                        validateBody(value, context, session);
+                    } else if (value instanceof Collection<?> collection) {
+                        session.recordCollection(collection.size());
+                        validateItems(collection, context, session);
+                    } else if (value instanceof Object[] array) {
+                        session.recordCollection(array.length);
+                        validateItems(Arrays.asList(array), context, session);
+                    } else if (value instanceof Map<?, ?> map) {
+                        // Map<K, POJO>: os valores são mapeados com o contexto e validados da mesma forma.
+                        session.recordCollection(map.size());
+                        validateItems(map.values(), context, session);
                     }
                 }
 
@@ -97,11 +248,44 @@ public class AnnotationBasedMapper {
         }
     }
 
+    private void validateItems(Collection<?> items, Class<? extends Annotation> context, MappingSession session) {
+        for (Object item : items) {
+            if (item != null && isCustomClass(item.getClass())) {
+                validateBody(item, context, session);
+            }
+        }
+    }
+
+    /*
+    Chaves fora do contexto mas que existem na classe (ex.: id num POST) são sempre ignoradas: é o filtro de contexto.
+    A política só decide sobre chaves que não correspondem a nenhum campo da classe.
+     */
+    private void rejectIfUnknown(String key, Class<?> targetClass) {
+        if (unknownKeyPolicy == UnknownKeyPolicy.REJECT && FieldPlan.of(targetClass).indexOf(key) < 0) {
+            throw new ValidationEngineException("Campo desconhecido em " + targetClass.getSimpleName() + ": " + key);
+        }
+    }
+
     private Object convertValue(Object rawValue, Class<?> targetType) {
         if (rawValue == null) return null;
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        return mapper.convertValue(rawValue, targetType);
+        // Valor já no tipo do campo (String, Boolean, Long...): nada a converter.
+        if (targetType.isInstance(rawValue)) return rawValue;
+        return OBJECT_MAPPER.convertValue(rawValue, targetType);
+    }
+
+    /**
+     * Política para chaves do body sem campo correspondente na classe de destino.
+     */
+    public enum UnknownKeyPolicy {
+        /** Chaves desconhecidas são descartadas (comportamento histórico). */
+        IGNORE,
+        /** Chaves desconhecidas abortam o mapeamento. */
+        REJECT
+    }
+
+    private boolean hasCustomValues(Field mapField) {
+        Class<?> valueType = CollectionFactory.typeArgument(mapField, 1);
+        return valueType != null && isCustomClass(valueType);
     }
 
     private boolean isCustomClass(Class<?> clazz) {
@@ -0,0 +1,38 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+
+/**
+ * Mensagem de entrada que carrega o contexto de mapeamento escolhido pelo parâmetro do controller (@MappingContext).
+ * Criada pelo GlobalRequestMapper antes da leitura e consultada pelo CustomContextualMessageConverter, que assim
+ * não depende do método HTTP nem do estado da thread para conhecer o contexto.
+ */
+final class ContextualInputMessage implements HttpInputMessage {
+
+    private final HttpInputMessage delegate;
+    private final Class<? extends Annotation> context;
+
+    ContextualInputMessage(HttpInputMessage delegate, Class<? extends Annotation> context) {
+        this.delegate = delegate;
+        this.context = context;
+    }
+
+    Class<? extends Annotation> context() {
+        return context;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        return delegate.getBody();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+}
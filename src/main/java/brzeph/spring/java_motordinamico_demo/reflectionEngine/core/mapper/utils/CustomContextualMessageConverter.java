@@ -1,69 +1,215 @@
 package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils;
 
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.HttpMessageConversionEngineException;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalStateEngineException;
-import com.fasterxml.jackson.core.type.TypeReference;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.JsonMergePatch;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.buffers.BufferPool;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.buffers.PooledBuffer;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.limits.LimitedPayloadReader;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.limits.PayloadLimits;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring.MappingEvents;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring.PayloadEvent;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpRequest;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.io.BufferedReader;
+import java.io.FilterOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Component
 public class CustomContextualMessageConverter implements HttpMessageConverter<Object> {
+    /*
+    Além de JSON, lê e escreve os formatos binários do Jackson (Smile e CBOR), usados nas chamadas entre serviços.
+    A filtragem por contexto é a mesma em todos os formatos: na leitura, mapForContext com o contexto do parâmetro
+    (@MappingContext) ou, na falta dele, o do método HTTP; na escrita, a projeção @Read.
 
-    @Autowired
-    private AnnotationBasedMapper mapper;
+    A escrita de JSON continua com o conversor padrão do Jackson (canWrite só aceita os formatos binários).
+     */
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType APPLICATION_CBOR = MediaType.APPLICATION_CBOR;
+
+    private static final MediaType MERGE_PATCH_JSON = MediaType.parseMediaType(JsonMergePatch.MEDIA_TYPE_VALUE);
+
+    private final AnnotationBasedMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+    private final LimitedPayloadReader payloadReader;
+    private final BufferPool bufferPool;
+
+    public CustomContextualMessageConverter(AnnotationBasedMapper mapper, ObjectMapper objectMapper) {
+        this(mapper, objectMapper, PayloadLimits.defaults());
+    }
+
+    public CustomContextualMessageConverter(AnnotationBasedMapper mapper, ObjectMapper objectMapper, PayloadLimits limits) {
+        this(mapper, objectMapper, limits, BufferPool.defaults());
+    }
 
     @Autowired
-    private ObjectMapper objectMapper;
+    public CustomContextualMessageConverter(AnnotationBasedMapper mapper, ObjectMapper objectMapper, PayloadLimits limits,
+                                            BufferPool bufferPool) {
+        this.mapper = mapper;
+        this.bufferPool = bufferPool;
+        this.payloadReader = new LimitedPayloadReader(limits);
+        this.objectMapper = payloadReader.constrained(objectMapper);
+        this.smileMapper = payloadReader.constrained(Jackson2ObjectMapperBuilder.smile().build());
+        this.cborMapper = payloadReader.constrained(Jackson2ObjectMapperBuilder.cbor().build());
+    }
 
     @Override
     public boolean canRead(Class<?> clazz, MediaType mediaType) {
-        return MediaType.APPLICATION_JSON.includes(mediaType);
+        if (clazz == JsonMergePatch.class) return mediaType == null || MERGE_PATCH_JSON.includes(mediaType);
+        return MediaType.APPLICATION_JSON.includes(mediaType) || isBinary(mediaType);
     }
 
     @Override
     public boolean canWrite(Class<?> clazz, MediaType mediaType) {
-        return false; // Não estamos escrevendo aqui
+        return isBinary(mediaType);
     }
 
     @Override
     public List<MediaType> getSupportedMediaTypes() {
-        return List.of(MediaType.APPLICATION_JSON);
+        return List.of(MediaType.APPLICATION_JSON, MERGE_PATCH_JSON, APPLICATION_SMILE, APPLICATION_CBOR);
     }
 
     @Override
     public Object read(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
-        String json = new BufferedReader(new InputStreamReader(inputMessage.getBody()))
-                .lines().collect(Collectors.joining("\n"));
+        // Merge patch não é desserializado aqui: o documento é aplicado em streaming sobre a entidade existente.
+        if (clazz == JsonMergePatch.class) {
+            byte[] document = payloadReader.limitedBody(inputMessage.getHeaders(), inputMessage.getBody()).readAllBytes();
+            return new JsonMergePatch(document, payloadReader);
+        }
+
+        return read(clazz, inputMessage, resolveContext(inputMessage));
+    }
 
-        Map<String, Object> rawMap = objectMapper.readValue(json, new TypeReference<>() {});
+    /**
+     * Lê o corpo e mapeia para a classe alvo com um contexto explícito, sem consultar o estado da thread.
+     * Usado quando a conversão acontece fora da thread da requisição (ex.: em virtual threads ou tarefas assíncronas).
+     * <p>
+     * O corpo é lido em streaming com os {@link PayloadLimits}: corpos grandes demais ou com coleções, aninhamento
+     * ou strings acima dos limites são rejeitados (PayloadLimitEngineException) antes de serem lidos por inteiro.
+     * <p>
+     * Corpos com Content-Length que cabe no {@link BufferPool} são lidos para um buffer emprestado do pool e
+     * interpretados a partir dele, sem alocar os buffers internos do parser a cada requisição; os demais (chunked
+     * ou maiores que o pool) seguem em streaming.
+     */
+    public <T> T read(Class<T> clazz, HttpInputMessage inputMessage, OperationContext context) throws IOException {
+        return read(clazz, inputMessage, context.getAnnotationClass());
+    }
 
-        // Inferir o method HTTP
+    /**
+     * Igual a {@link #read(Class, HttpInputMessage, OperationContext)}, para qualquer contexto registrado no
+     * ContextRegistry (ex.: um @AdminRead da aplicação).
+     */
+    public <T> T read(Class<T> clazz, HttpInputMessage inputMessage, Class<? extends Annotation> context) throws IOException {
+        MediaType contentType = inputMessage.getHeaders().getContentType();
+        PayloadEvent event = MappingEvents.beginPayload();
+        long bytes = 0;
+        InputStream body = payloadReader.limitedBody(inputMessage.getHeaders(), inputMessage.getBody());
+        long contentLength = inputMessage.getHeaders().getContentLength();
+        PooledBuffer buffer = contentLength >= 0 && contentLength <= bufferPool.maxBufferSize()
+                ? bufferPool.acquire((int) contentLength) : null;
+        // Um corpo mais curto que o Content-Length declarado é interpretado até onde chegou.
+        try (buffer; JsonParser parser = buffer != null
+                ? codecFor(contentType).createParser(buffer.array(), 0, body.readNBytes(buffer.array(), 0, (int) contentLength))
+                : codecFor(contentType).createParser(body)) {
+            Map<String, Object> rawMap = payloadReader.readObject(parser);
+            bytes = parser.currentLocation().getByteOffset();
+            return mapper.mapForContext(rawMap, clazz, context);
+        } finally {
+            MappingEvents.payload("read", String.valueOf(contentType), clazz, context, bytes, event);
+        }
+    }
+
+    /*
+    Um contexto declarado no parâmetro (@MappingContext, repassado pelo GlobalRequestMapper) tem precedência.
+    Sem ele, o contexto vem do method HTTP: se a própria mensagem é a requisição (HttpRequest), o method é lido dela;
+    o RequestContextHolder é apenas o fallback para mensagens que o Spring MVC embrulha.
+     */
+    private Class<? extends Annotation> resolveContext(HttpInputMessage inputMessage) {
+        if (inputMessage instanceof ContextualInputMessage contextual) {
+            return contextual.context();
+        }
+        if (inputMessage instanceof HttpRequest request) {
+            return OperationContext.valueOf(request.getMethod().name()).getAnnotationClass();
+        }
         ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
         if (attrs == null) throw new IllegalStateEngineException("No request context");
 
-        String method = attrs.getRequest().getMethod();
-        OperationContext context = OperationContext.valueOf(method);
-
-        return mapper.mapForContext(rawMap, clazz, context);
+        return OperationContext.valueOf(attrs.getRequest().getMethod()).getAnnotationClass();
     }
 
     @Override
     public void write(Object o, MediaType mediaType, HttpOutputMessage outputMessage) throws IOException {
-        throw new HttpMessageConversionEngineException("Somente leitura suportada.");
+        if (!isBinary(mediaType)) {
+            throw new HttpMessageConversionEngineException("Formato de escrita não suportado: " + mediaType);
+        }
+        outputMessage.getHeaders().setContentType(mediaType);
+
+        /*
+        Respostas de @RestController já chegam projetadas pelo GlobalResponseMapper (Map ou lista de Maps) e não são
+        mapeadas de novo; os demais objetos recebem aqui a projeção @Read.
+         */
+        PayloadEvent event = MappingEvents.beginPayload();
+        CountingOutputStream output = new CountingOutputStream(StreamUtils.nonClosing(outputMessage.getBody()));
+        try {
+            Object body = o instanceof Map<?, ?> || o instanceof Collection<?> ? o : Mapper.mapToMapForX(o, Read.class);
+            codecFor(mediaType).writeValue(output, body);
+        } finally {
+            MappingEvents.payload("write", mediaType.toString(), o != null ? o.getClass() : null, Read.class,
+                    output.count, event);
+        }
+    }
+
+    // Conta os bytes escritos, para o evento JFR de payload.
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private ObjectMapper codecFor(MediaType mediaType) {
+        if (mediaType != null && APPLICATION_SMILE.includes(mediaType)) return smileMapper;
+        if (mediaType != null && APPLICATION_CBOR.includes(mediaType)) return cborMapper;
+        return objectMapper;
+    }
+
+    private static boolean isBinary(MediaType mediaType) {
+        return mediaType != null && (APPLICATION_SMILE.includes(mediaType) || APPLICATION_CBOR.includes(mediaType));
     }
 }
@@ -1,5 +1,7 @@
 package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils;
 
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.MappingContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.ContextRegistry;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -25,6 +27,20 @@ public class GlobalRequestMapper extends RequestBodyAdviceAdapter {
         return true;
     }
 
+    /*
+    Parâmetros com @MappingContext("nome") são lidos com o contexto registrado sob esse nome no ContextRegistry,
+    em vez do contexto do método HTTP. O nome é resolvido aqui, antes da leitura, e segue junto com a mensagem.
+     */
+    @Override @NonNull
+    public HttpInputMessage beforeBodyRead(@NonNull HttpInputMessage inputMessage,
+                                           @NonNull MethodParameter parameter,
+                                           @NonNull Type targetType,
+                                           @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        MappingContext mappingContext = parameter.getParameterAnnotation(MappingContext.class);
+        if (mappingContext == null) return inputMessage;
+        return new ContextualInputMessage(inputMessage, ContextRegistry.resolve(mappingContext.value()));
+    }
+
     @Override @NonNull
     public Object afterBodyRead(@NonNull Object body,
                                 @NonNull HttpInputMessage inputMessage,
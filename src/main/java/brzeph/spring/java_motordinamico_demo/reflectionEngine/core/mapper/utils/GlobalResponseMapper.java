@@ -1,7 +1,15 @@
 package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils;
 
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
-import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.MappingEngine;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache.ProjectionCache;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection.FieldMaskCompiler;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection.ProjectionHasher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
@@ -11,9 +19,17 @@ import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 
+import java.util.List;
+
 @ControllerAdvice
 public class GlobalResponseMapper implements ResponseBodyAdvice<Object> {
 
+    private final MappingEngine engine;
+
+    public GlobalResponseMapper(MappingEngine engine) {
+        this.engine = engine;
+    }
+
     @Override
     public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
         /*
@@ -27,6 +43,54 @@ public class GlobalResponseMapper implements ResponseBodyAdvice<Object> {
                                   Class<? extends HttpMessageConverter<?>> selectedConverterType,
                                   ServerHttpRequest request, ServerHttpResponse response) {
         if (body == null) return null;
-        return Mapper.mapToMapForX(body, Read.class);
+        Object projection = engine.mapToMap(body, Read.class, resolveFieldMask(request));
+
+        if (!isConditionalCandidate(request, response)) return projection;
+
+        /*
+        O ETag é derivado da projeção já mapeada, sem serializar o corpo. Se o cliente já possui a mesma
+        versão (If-None-Match), responde 304 e o corpo nunca é escrito.
+        O hash é uma passada separada sobre a projeção pronta (em acertos do ProjectionCache, o hash armazenado é
+        reaproveitado) e inclui o tipo de mídia: JSON, Smile e CBOR são representações distintas, daí o Vary: Accept.
+         */
+        long hash = ProjectionCache.storedHash(projection).orElseGet(() -> ProjectionHasher.hash(projection));
+        String etag = ProjectionHasher.etag(hash, selectedContentType.getType() + "/" + selectedContentType.getSubtype());
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(etag);
+        if (!headers.getVary().contains(HttpHeaders.ACCEPT)) headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (matchesIfNoneMatch(request.getHeaders().getIfNoneMatch(), etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return null;
+        }
+        return projection;
+    }
+
+    // Apenas respostas 200 de GET participam de requisições condicionais.
+    private boolean isConditionalCandidate(ServerHttpRequest request, ServerHttpResponse response) {
+        if (!HttpMethod.GET.equals(request.getMethod())) return false;
+        if (response instanceof ServletServerHttpResponse servletResponse) {
+            return servletResponse.getServletResponse().getStatus() == HttpStatus.OK.value();
+        }
+        return true;
+    }
+
+    // Comparação fraca (RFC 9110): ignora o prefixo W/ dos valores enviados pelo cliente.
+    private boolean matchesIfNoneMatch(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate)) return true;
+            String value = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (value.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /*
+    Lê o parâmetro ?fields= da requisição. Sem o parâmetro, a projeção @Read completa é devolvida.
+     */
+    private String resolveFieldMask(ServerHttpRequest request) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            return servletRequest.getServletRequest().getParameter(FieldMaskCompiler.FIELDS_PARAMETER);
+        }
+        return null;
     }
 }
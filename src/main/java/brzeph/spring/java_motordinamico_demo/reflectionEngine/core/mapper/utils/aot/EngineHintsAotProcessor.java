@@ -0,0 +1,55 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.aot;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Etapa do Spring AOT (registrada em META-INF/spring/aot.factories) que gera os hints de reflexão do motor
+ * durante {@code spring-boot:process-aot}, varrendo os pacotes da aplicação (os de @SpringBootApplication).
+ * <p>
+ * Os contextos declarados em {@code reflection-engine.contexts.*} também entram na varredura, para que classes
+ * anotadas apenas com um contexto da aplicação sejam incluídas.
+ */
+class EngineHintsAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        if (!AutoConfigurationPackages.has(beanFactory)) return null;
+        List<String> packages = AutoConfigurationPackages.get(beanFactory);
+        ClassLoader classLoader = beanFactory.getBeanClassLoader();
+        List<Class<? extends Annotation>> customContexts = customContexts(beanFactory, classLoader);
+
+        return (generationContext, code) ->
+                EngineReflectionHints.register(generationContext.getRuntimeHints(), classLoader, packages, customContexts);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Class<? extends Annotation>> customContexts(ConfigurableListableBeanFactory beanFactory,
+                                                                    ClassLoader classLoader) {
+        Map<String, String> contexts = Binder.get(beanFactory.getBean(Environment.class))
+                .bind("reflection-engine.contexts", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        List<Class<? extends Annotation>> annotations = new ArrayList<>();
+        contexts.forEach((name, className) -> {
+            try {
+                Class<?> type = ClassUtils.forName(className, classLoader);
+                if (type.isAnnotation()) annotations.add((Class<? extends Annotation>) type);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentEngineException("Annotation do contexto '" + name + "' não encontrada: " + className);
+            }
+        });
+        return annotations;
+    }
+}
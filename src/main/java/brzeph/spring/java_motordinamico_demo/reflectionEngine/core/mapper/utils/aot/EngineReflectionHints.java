@@ -0,0 +1,157 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.aot;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Create;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.cache.CacheableProjection;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Id;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.MergeId;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Version;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.persistence.Column;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.persistence.Table;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.validations.NotBlank;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.validations.NotNull;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.validations.Required;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalStateEngineException;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * Hints de reflexão para o GraalVM native-image, calculados a partir das classes que usam as annotations do motor.
+ * <p>
+ * O motor lê e escreve campos ({@code getDeclaredFields}/{@code setAccessible}) e instancia classes pelo construtor
+ * sem argumentos, o que o native-image só mantém para tipos registrados. Uma classe é registrada quando algum campo
+ * (próprio ou herdado) carrega uma annotation de contexto, identidade, validação ou persistência, ou quando a classe
+ * é anotada com @Table/@CacheableProjection. Também são registradas as superclasses (o FieldPlan achata a hierarquia)
+ * e os tipos POJO alcançáveis pelos campos (objetos aninhados e itens de coleções), que o merge e o patch instanciam.
+ * <p>
+ * Os mesmos tipos recebem os hints de binding do Jackson, usados pelo converter e pelo merge patch.
+ */
+public final class EngineReflectionHints {
+
+    private static final Set<Class<? extends Annotation>> FIELD_ANNOTATIONS = Set.of(
+            Read.class, Create.class, Update.class,
+            Id.class, MergeId.class, Version.class,
+            Required.class, NotNull.class, NotBlank.class,
+            Column.class);
+
+    private static final Set<Class<? extends Annotation>> TYPE_ANNOTATIONS = Set.of(Table.class, CacheableProjection.class);
+
+    private EngineReflectionHints() {}
+
+    /**
+     * Procura nos pacotes as classes que usam o motor e registra os hints de reflexão necessários.
+     *
+     * @param hints          Hints da geração AOT.
+     * @param classLoader    Classloader da aplicação.
+     * @param basePackages   Pacotes varridos (em geral, os pacotes de auto-configuração da aplicação).
+     * @param customContexts Annotations de contextos definidos pela aplicação (ver ContextRegistry).
+     * @return Classes registradas, em ordem de nome.
+     */
+    public static Set<Class<?>> register(RuntimeHints hints, ClassLoader classLoader, Collection<String> basePackages,
+                                         Collection<Class<? extends Annotation>> customContexts) {
+        Set<Class<? extends Annotation>> fieldAnnotations = new HashSet<>(FIELD_ANNOTATIONS);
+        fieldAnnotations.addAll(customContexts);
+
+        Set<Class<?>> roots = new LinkedHashSet<>();
+        for (String basePackage : basePackages) {
+            for (BeanDefinition candidate : scanner(classLoader).findCandidateComponents(basePackage)) {
+                Class<?> type = load(candidate.getBeanClassName(), classLoader);
+                if (usesEngine(type, fieldAnnotations)) roots.add(type);
+            }
+        }
+
+        Set<Class<?>> reachable = new TreeSet<>(Comparator.comparing(Class::getName));
+        roots.forEach(root -> collect(root, reachable));
+
+        BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+        for (Class<?> type : reachable) {
+            hints.reflection().registerType(type,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            binding.registerReflectionHints(hints.reflection(), type);
+        }
+        // Carregadas por nome a partir de reflection-engine.contexts.* (ContextRegistryInitializer).
+        customContexts.forEach(context -> hints.reflection().registerType(context));
+        return reachable;
+    }
+
+    private static boolean usesEngine(Class<?> type, Set<Class<? extends Annotation>> fieldAnnotations) {
+        for (Class<? extends Annotation> annotation : TYPE_ANNOTATIONS) {
+            if (type.isAnnotationPresent(annotation)) return true;
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                for (Annotation annotation : field.getDeclaredAnnotations()) {
+                    if (fieldAnnotations.contains(annotation.annotationType())) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void collect(Class<?> type, Set<Class<?>> reachable) {
+        if (!isPojo(type) || !reachable.add(type)) return;
+        Class<?> superclass = type.getSuperclass();
+        if (superclass != null) collect(superclass, reachable);
+        for (Field field : type.getDeclaredFields()) {
+            collectGeneric(field.getGenericType(), reachable);
+        }
+    }
+
+    private static void collectGeneric(Type type, Set<Class<?>> reachable) {
+        if (type instanceof Class<?> clazz) {
+            collect(clazz.isArray() ? clazz.getComponentType() : clazz, reachable);
+        } else if (type instanceof ParameterizedType parameterized) {
+            collectGeneric(parameterized.getRawType(), reachable);
+            for (Type argument : parameterized.getActualTypeArguments()) collectGeneric(argument, reachable);
+        } else if (type instanceof GenericArrayType array) {
+            collectGeneric(array.getGenericComponentType(), reachable);
+        }
+    }
+
+    private static boolean isPojo(Class<?> type) {
+        return !type.isPrimitive()
+                && !type.isEnum()
+                && !type.isAnnotation()
+                && !type.isInterface()
+                && !type.getPackageName().startsWith("java.");
+    }
+
+    private static ClassPathScanningCandidateComponentProvider scanner(ClassLoader classLoader) {
+        // Todas as classes independentes do pacote são candidatas; o filtro real é feito por reflexão em usesEngine,
+        // já que os metadados ASM do scanner não expõem as annotations de campo.
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isIndependent() && !beanDefinition.getMetadata().isAnnotation();
+            }
+        };
+        TypeFilter anyClass = (reader, factory) -> true;
+        scanner.addIncludeFilter(anyClass);
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        return scanner;
+    }
+
+    private static Class<?> load(String className, ClassLoader classLoader) {
+        try {
+            return ClassUtils.forName(className, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalStateEngineException("Classe não carregável na geração de hints AOT: " + className);
+        }
+    }
+}
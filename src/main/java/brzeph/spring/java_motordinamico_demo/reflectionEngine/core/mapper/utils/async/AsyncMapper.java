@@ -0,0 +1,76 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.async;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.JsonMergePatch;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Component
+public class AsyncMapper {
+    /*
+    Versões assíncronas das operações do motor, executadas no mappingExecutor (virtual threads quando disponíveis).
+    Controllers podem devolver o CompletableFuture diretamente: o Spring MVC libera a thread do servlet e escreve a
+    resposta quando o future completa. Exceções do motor chegam ao EngineGlobalExceptionHandler normalmente
+    (o Spring desembrulha a CompletionException).
+
+    Todo o contexto (OperationContext, annotation, máscara) é passado como argumento e capturado antes da troca de
+    thread; nenhuma operação depende de thread-locals da requisição. Por isso o executor não copia o
+    RequestContextHolder: uma tarefa pode terminar depois da requisição, quando o request já foi concluído ou
+    reciclado pelo container. Código que precise de algum valor da requisição deve lê-lo antes e passá-lo adiante.
+     */
+
+    private final AnnotationBasedMapper mapper;
+    private final Executor executor;
+
+    public AsyncMapper(AnnotationBasedMapper mapper,
+                       @Qualifier(MappingExecutorConfiguration.MAPPING_EXECUTOR) Executor executor) {
+        this.mapper = mapper;
+        this.executor = executor;
+    }
+
+    /**
+     * Versão assíncrona de {@link AnnotationBasedMapper#mapForContext(Map, Class, OperationContext)}.
+     */
+    public <T> CompletableFuture<T> mapForContext(Map<String, Object> jsonMap, Class<T> targetClass, OperationContext context) {
+        return CompletableFuture.supplyAsync(() -> mapper.mapForContext(jsonMap, targetClass, context), executor);
+    }
+
+    /**
+     * Versão assíncrona de {@link Mapper#mapToMapForX(Object, Class, String)}.
+     */
+    public CompletableFuture<Object> mapToMapForX(Object source, Class<? extends Annotation> annotationClass, String fields) {
+        return CompletableFuture.supplyAsync(() -> Mapper.mapToMapForX(source, annotationClass, fields), executor);
+    }
+
+    /**
+     * Versão assíncrona de {@link Mapper#mergeForX(Object, Object, Class)}.
+     */
+    public <T> CompletableFuture<T> mergeForX(T base, T update, Class<? extends Annotation> context) {
+        return CompletableFuture.supplyAsync(() -> Mapper.mergeForX(base, update, context), executor);
+    }
+
+    /**
+     * Versão assíncrona de {@link Mapper#patchForX(Object, JsonMergePatch, Class)}.
+     */
+    public <T> CompletableFuture<T> patchForX(T base, JsonMergePatch patch, Class<? extends Annotation> context) {
+        return CompletableFuture.supplyAsync(() -> Mapper.patchForX(base, patch, context), executor);
+    }
+
+    /**
+     * Versão assíncrona de {@link AnnotationBasedMapper#validateBody(Object, OperationContext)}.
+     * O future completa com o próprio objeto validado.
+     */
+    public <T> CompletableFuture<T> validateBody(T body, OperationContext context) {
+        return CompletableFuture.supplyAsync(() -> {
+            mapper.validateBody(body, context);
+            return body;
+        }, executor);
+    }
+}
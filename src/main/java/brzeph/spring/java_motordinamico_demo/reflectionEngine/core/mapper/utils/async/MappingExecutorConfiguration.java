@@ -0,0 +1,63 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.async;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor usado pelo {@link AsyncMapper}.
+ * <p>
+ * Propriedades:
+ * <ul>
+ *     <li>{@code reflection-engine.async.virtual-threads} (padrão true): uma virtual thread por tarefa, quando o
+ *     runtime oferece (Java 21+). Em runtimes anteriores, cai no pool fixo.</li>
+ *     <li>{@code reflection-engine.async.pool-size} (padrão: número de processadores): tamanho do pool fixo de
+ *     threads de plataforma.</li>
+ * </ul>
+ */
+@Configuration
+public class MappingExecutorConfiguration {
+
+    public static final String MAPPING_EXECUTOR = "mappingExecutor";
+
+    private static final Logger log = LoggerFactory.getLogger(MappingExecutorConfiguration.class);
+
+    @Bean(name = MAPPING_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService mappingExecutor(@Value("${reflection-engine.async.virtual-threads:true}") boolean virtualThreads,
+                                           @Value("${reflection-engine.async.pool-size:0}") int poolSize) {
+        if (virtualThreads) {
+            ExecutorService virtual = newVirtualThreadExecutor();
+            if (virtual != null) return virtual;
+            log.info("Virtual threads indisponíveis neste runtime; usando pool fixo para o mapeamento assíncrono");
+        }
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(size, new MappingThreadFactory());
+    }
+
+    // Resolvido por reflexão para que o projeto continue compilando e rodando em Java 17.
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static final class MappingThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "mapping-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
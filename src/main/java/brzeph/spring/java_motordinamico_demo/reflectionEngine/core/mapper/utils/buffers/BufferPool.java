@@ -0,0 +1,174 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.buffers;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool limitado de buffers de bytes reutilizáveis, organizado em classes de tamanho (potências de dois entre
+ * {@link #MIN_BUFFER_SIZE} e {@code maxBufferSize}).
+ * <p>
+ * Cada classe retém no máximo {@code maxBuffersPerClass} buffers livres, e o pool inteiro no máximo
+ * {@code maxRetainedBytes}; devoluções além disso são descartadas para o GC, e pedidos maiores que a maior classe não
+ * são atendidos ({@link #acquire} devolve {@code null}). A memória retida em buffers livres nunca passa do menor entre
+ * {@code maxRetainedBytes} e {@code maxBuffersPerClass} vezes a soma das classes. Aquisição e devolução não adquirem
+ * locks.
+ * <p>
+ * Os buffers são arrays de heap: os parsers do Jackson consomem {@code byte[]} diretamente, e um buffer direto
+ * exigiria uma cópia para a heap a cada leitura.
+ */
+public final class BufferPool {
+
+    public static final int MIN_BUFFER_SIZE = 4 * 1024;
+    public static final int DEFAULT_MAX_BUFFER_SIZE = 1024 * 1024;
+    public static final int DEFAULT_MAX_BUFFERS_PER_CLASS = 64;
+    public static final long DEFAULT_MAX_RETAINED_BYTES = 16L * 1024 * 1024;
+
+    private final SizeClass[] classes;
+    private final int maxBuffersPerClass;
+    private final long maxRetainedBytes;
+    private final AtomicLong retained = new AtomicLong();
+    private final LongAdder oversized = new LongAdder();
+
+    /**
+     * Pool com o limite total padrão de {@value #DEFAULT_MAX_RETAINED_BYTES} bytes retidos.
+     */
+    public BufferPool(int maxBufferSize, int maxBuffersPerClass) {
+        this(maxBufferSize, maxBuffersPerClass, DEFAULT_MAX_RETAINED_BYTES);
+    }
+
+    public BufferPool(int maxBufferSize, int maxBuffersPerClass, long maxRetainedBytes) {
+        if (maxBufferSize < MIN_BUFFER_SIZE || Integer.bitCount(maxBufferSize) != 1 || maxBuffersPerClass < 0
+                || maxRetainedBytes < 0) {
+            throw new IllegalArgumentEngineException("Configuração inválida do pool de buffers: maxBufferSize="
+                    + maxBufferSize + " (potência de dois >= " + MIN_BUFFER_SIZE + "), maxBuffersPerClass=" + maxBuffersPerClass
+                    + ", maxRetainedBytes=" + maxRetainedBytes);
+        }
+        int count = Integer.numberOfTrailingZeros(maxBufferSize) - Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE) + 1;
+        this.classes = new SizeClass[count];
+        for (int i = 0; i < count; i++) {
+            classes[i] = new SizeClass(MIN_BUFFER_SIZE << i);
+        }
+        this.maxBuffersPerClass = maxBuffersPerClass;
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    /**
+     * @return Pool com buffers de até {@value #DEFAULT_MAX_BUFFER_SIZE} bytes,
+     * {@value #DEFAULT_MAX_BUFFERS_PER_CLASS} buffers livres por classe e {@value #DEFAULT_MAX_RETAINED_BYTES} bytes
+     * retidos no total.
+     */
+    public static BufferPool defaults() {
+        return new BufferPool(DEFAULT_MAX_BUFFER_SIZE, DEFAULT_MAX_BUFFERS_PER_CLASS);
+    }
+
+    /**
+     * @return Maior tamanho de buffer atendido pelo pool.
+     */
+    public int maxBufferSize() {
+        return classes[classes.length - 1].size;
+    }
+
+    /**
+     * Obtém um buffer com pelo menos {@code minSize} bytes; deve ser devolvido com {@link PooledBuffer#close()}.
+     *
+     * @return Buffer do pool (ou recém-alocado, se a classe estiver vazia), ou {@code null} se {@code minSize}
+     * exceder o maior tamanho do pool.
+     */
+    public PooledBuffer acquire(int minSize) {
+        if (minSize > maxBufferSize()) {
+            oversized.increment();
+            return null;
+        }
+        SizeClass sizeClass = classes[classIndex(minSize)];
+        byte[] buffer = sizeClass.take();
+        if (buffer != null) {
+            retained.addAndGet(-sizeClass.size);
+        } else {
+            buffer = new byte[sizeClass.size];
+        }
+        return new PooledBuffer(this, sizeClass, buffer);
+    }
+
+    /**
+     * @return Estatísticas por classe de tamanho, da menor para a maior.
+     */
+    public List<BufferPoolStats> stats() {
+        List<BufferPoolStats> stats = new ArrayList<>(classes.length);
+        for (SizeClass sizeClass : classes) {
+            stats.add(new BufferPoolStats(sizeClass.size, sizeClass.hits.sum(), sizeClass.misses.sum(),
+                    sizeClass.discarded.sum(), sizeClass.free.get(), sizeClass.inUse.get()));
+        }
+        return stats;
+    }
+
+    /**
+     * @return Pedidos recusados por excederem o maior tamanho do pool.
+     */
+    public long oversizedRequests() {
+        return oversized.sum();
+    }
+
+    /**
+     * @return Bytes retidos em buffers livres.
+     */
+    public long retainedBytes() {
+        return retained.get();
+    }
+
+    void release(SizeClass sizeClass, byte[] buffer) {
+        sizeClass.inUse.decrementAndGet();
+        if (sizeClass.free.incrementAndGet() > maxBuffersPerClass) {
+            sizeClass.free.decrementAndGet();
+            sizeClass.discarded.increment();
+            return;
+        }
+        if (retained.addAndGet(sizeClass.size) > maxRetainedBytes) {
+            retained.addAndGet(-sizeClass.size);
+            sizeClass.free.decrementAndGet();
+            sizeClass.discarded.increment();
+            return;
+        }
+        sizeClass.buffers.offer(buffer);
+    }
+
+    private static int classIndex(int minSize) {
+        if (minSize <= MIN_BUFFER_SIZE) return 0;
+        int ceilPowerOfTwo = 32 - Integer.numberOfLeadingZeros(minSize - 1);
+        return ceilPowerOfTwo - Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+    }
+
+    static final class SizeClass {
+        private final int size;
+        private final Queue<byte[]> buffers = new ConcurrentLinkedQueue<>();
+        // Contador separado da fila: ConcurrentLinkedQueue.size() é O(n).
+        private final AtomicInteger free = new AtomicInteger();
+        private final AtomicInteger inUse = new AtomicInteger();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder discarded = new LongAdder();
+
+        private SizeClass(int size) {
+            this.size = size;
+        }
+
+        // Devolve um buffer livre ou null; a alocação (e o ajuste dos bytes retidos) fica com o BufferPool.
+        private byte[] take() {
+            inUse.incrementAndGet();
+            byte[] buffer = buffers.poll();
+            if (buffer != null) {
+                free.decrementAndGet();
+                hits.increment();
+                return buffer;
+            }
+            misses.increment();
+            return null;
+        }
+    }
+}
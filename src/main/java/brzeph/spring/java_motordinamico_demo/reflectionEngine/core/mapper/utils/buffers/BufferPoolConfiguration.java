@@ -0,0 +1,30 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.buffers;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Expõe o {@link BufferPool} usado na leitura dos corpos de requisição, configurado por propriedades:
+ * <ul>
+ *     <li>{@code reflection-engine.buffers.max-buffer-size} (padrão 1MB; potência de dois)</li>
+ *     <li>{@code reflection-engine.buffers.max-buffers-per-class} (padrão {@value BufferPool#DEFAULT_MAX_BUFFERS_PER_CLASS})</li>
+ *     <li>{@code reflection-engine.buffers.max-retained-bytes} (padrão 16MB)</li>
+ * </ul>
+ * Pior caso de memória ociosa: o menor entre {@code max-retained-bytes} e {@code max-buffers-per-class} vezes a soma
+ * das classes (4KB, 8KB, ... até {@code max-buffer-size}, quase 2 × {@code max-buffer-size}). Com os padrões, a conta
+ * por classe chegaria a 64 × ~2MB ≈ 128MB; o limite total mantém o pool em 16MB. Buffers emprestados não entram na
+ * conta: cada leitura em andamento segura um buffer de até {@code max-buffer-size} enquanto dura.
+ */
+@Configuration
+public class BufferPoolConfiguration {
+
+    @Bean
+    public BufferPool requestBufferPool(
+            @Value("${reflection-engine.buffers.max-buffer-size:1MB}") DataSize maxBufferSize,
+            @Value("${reflection-engine.buffers.max-buffers-per-class:" + BufferPool.DEFAULT_MAX_BUFFERS_PER_CLASS + "}") int maxBuffersPerClass,
+            @Value("${reflection-engine.buffers.max-retained-bytes:16MB}") DataSize maxRetainedBytes) {
+        return new BufferPool(Math.toIntExact(maxBufferSize.toBytes()), maxBuffersPerClass, maxRetainedBytes.toBytes());
+    }
+}
@@ -0,0 +1,22 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.buffers;
+
+/**
+ * Estatísticas de uma classe de tamanho do {@link BufferPool}.
+ *
+ * @param bufferSize Tamanho dos buffers da classe, em bytes.
+ * @param hits       Aquisições atendidas por um buffer livre.
+ * @param misses     Aquisições que alocaram um buffer novo.
+ * @param discarded  Devoluções descartadas porque a classe já estava cheia.
+ * @param free       Buffers livres retidos no momento.
+ * @param inUse      Buffers emprestados no momento.
+ */
+public record BufferPoolStats(int bufferSize, long hits, long misses, long discarded, int free, int inUse) {
+
+    /**
+     * @return Fração de aquisições atendidas sem alocar, entre 0 e 1.
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
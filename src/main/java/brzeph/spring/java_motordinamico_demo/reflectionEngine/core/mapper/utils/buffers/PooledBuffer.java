@@ -0,0 +1,36 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.buffers;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalStateEngineException;
+
+/**
+ * Buffer emprestado de um {@link BufferPool}. O array pode ser maior que o tamanho pedido e conter dados de usos
+ * anteriores; depois do {@link #close()} não deve mais ser acessado.
+ */
+public final class PooledBuffer implements AutoCloseable {
+
+    private final BufferPool pool;
+    private final BufferPool.SizeClass sizeClass;
+    private byte[] array;
+
+    PooledBuffer(BufferPool pool, BufferPool.SizeClass sizeClass, byte[] array) {
+        this.pool = pool;
+        this.sizeClass = sizeClass;
+        this.array = array;
+    }
+
+    public byte[] array() {
+        if (array == null) throw new IllegalStateEngineException("Buffer já devolvido ao pool");
+        return array;
+    }
+
+    /**
+     * Devolve o buffer ao pool. Chamadas repetidas não têm efeito.
+     */
+    @Override
+    public void close() {
+        if (array == null) return;
+        byte[] released = array;
+        array = null;
+        pool.release(sizeClass, released);
+    }
+}
@@ -0,0 +1,22 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache;
+
+/**
+ * Estatísticas de um {@link EngineCache}.
+ *
+ * @param name      Nome do cache.
+ * @param hits      Consultas atendidas pelo cache.
+ * @param misses    Consultas que exigiram cálculo.
+ * @param evictions Entradas descartadas por limite de tamanho.
+ * @param size      Ocupação atual, na unidade do cache (entradas ou peso).
+ * @param capacity  Ocupação máxima, na mesma unidade de {@code size}.
+ */
+public record CacheStats(String name, long hits, long misses, long evictions, long size, long capacity) {
+
+    /**
+     * @return Fração de consultas atendidas pelo cache, entre 0 e 1.
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
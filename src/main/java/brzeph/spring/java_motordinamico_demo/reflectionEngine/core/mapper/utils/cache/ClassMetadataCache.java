@@ -0,0 +1,160 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+
+import java.lang.ref.WeakReference;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache de metadados por classe, seguro para classloaders descartáveis.
+ * <p>
+ * Os valores ficam armazenados via {@link ClassValue}, ou seja, dentro da própria classe chave: o cache
+ * nunca impede que uma classe (e o seu classloader) seja descarregada, mesmo que o valor referencie a classe
+ * (ex.: objetos {@code Field}). A ordem de inserção é mantida apenas com referências fracas, usada para
+ * descartar as entradas mais antigas quando o limite de tamanho é excedido. Cada nó da fila pertence a uma única
+ * entrada: depois de um invalidate ou de uma recarga, o nó antigo fica obsoleto e é ignorado no descarte, em vez de
+ * remover a entrada nova da mesma classe.
+ * <p>
+ * Leituras com acerto não adquirem locks. O carregador pode ser executado mais de uma vez para a mesma
+ * classe sob concorrência; ele deve ser puro (o mesmo resultado para a mesma classe).
+ *
+ * @param <V> Tipo do metadado armazenado.
+ */
+public final class ClassMetadataCache<V> implements EngineCache {
+
+    private final String name;
+    private final int maxSize;
+    private final Function<Class<?>, V> loader;
+
+    private final ClassValue<AtomicReference<Entry<V>>> slots = new ClassValue<>() {
+        @Override
+        protected AtomicReference<Entry<V>> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+    private final Queue<Node> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Incrementada a cada clear(): entradas de gerações anteriores são tratadas como ausentes.
+    private volatile int generation;
+
+    /**
+     * Cria o cache e o registra em {@link EngineCaches}.
+     *
+     * @param name    Nome do cache, usado nas estatísticas.
+     * @param maxSize Número máximo de classes mantidas.
+     * @param loader  Função que calcula o metadado de uma classe.
+     */
+    public ClassMetadataCache(String name, int maxSize, Function<Class<?>, V> loader) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentEngineException("Tamanho máximo do cache '" + name + "' deve ser positivo: " + maxSize);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.loader = loader;
+        EngineCaches.register(this);
+    }
+
+    /**
+     * @return Metadado da classe, calculado pelo carregador na primeira consulta.
+     */
+    public V get(Class<?> type) {
+        AtomicReference<Entry<V>> slot = slots.get(type);
+        int currentGeneration = generation;
+        Entry<V> entry = slot.get();
+        if (entry != null && entry.generation() == currentGeneration) {
+            hits.increment();
+            return entry.value();
+        }
+
+        misses.increment();
+        V value = loader.apply(type);
+        Node node = new Node(type);
+        if (slot.compareAndSet(entry, new Entry<>(value, currentGeneration, node))) {
+            // Uma entrada de geração anterior substituída aqui já saiu da contagem no clear().
+            if (entry != null) entry.node().release();
+            insertionOrder.add(node);
+            if (size.incrementAndGet() > maxSize) evictEldest();
+        }
+        return value;
+    }
+
+    /**
+     * Remove o metadado de uma classe específica.
+     */
+    public void invalidate(Class<?> type) {
+        Entry<V> removed = slots.get(type).getAndSet(null);
+        if (removed != null && removed.node().release()) {
+            size.decrementAndGet();
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(name, hits.sum(), misses.sum(), evictions.sum(), size.get(), maxSize);
+    }
+
+    @Override
+    public void clear() {
+        generation++;
+        Node node;
+        while ((node = insertionOrder.poll()) != null) {
+            node.release();
+            Class<?> type = node.get();
+            // Esvazia o slot sem removê-lo do ClassValue: recriar o slot sincroniza no mapa interno da classe e,
+            // com limpezas frequentes, todas as threads que consultam a mesma classe disputariam esse lock.
+            if (type != null) slots.get(type).set(null);
+        }
+        size.set(0);
+    }
+
+    private void evictEldest() {
+        Node node;
+        while (size.get() > maxSize && (node = insertionOrder.poll()) != null) {
+            Class<?> type = node.get();
+            if (type != null) {
+                // Só remove a entrada dona deste nó; se a classe foi invalidada e recarregada, a entrada atual é outra.
+                AtomicReference<Entry<V>> slot = slots.get(type);
+                Entry<V> current = slot.get();
+                if (current != null && current.node() == node) slot.compareAndSet(current, null);
+            }
+            // Nó obsoleto (entrada já invalidada ou substituída): não conta como descarte.
+            if (!node.release()) continue;
+            size.decrementAndGet();
+            // Classe já descarregada: a entrada foi coletada junto com ela e não conta como descarte.
+            if (type != null) evictions.increment();
+        }
+    }
+
+    private record Entry<V>(V value, int generation, Node node) {}
+
+    /*
+    Nó da fila de inserção: referência fraca à classe e o estado da entrada que o criou. A entrada sai da contagem
+    de tamanho apenas uma vez, por quem conseguir liberar o nó (invalidate, descarte, clear ou recarga).
+     */
+    private static final class Node extends WeakReference<Class<?>> {
+        private final AtomicBoolean live = new AtomicBoolean(true);
+
+        private Node(Class<?> type) {
+            super(type);
+        }
+
+        boolean release() {
+            return live.compareAndSet(true, false);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache;
+
+/**
+ * Contrato comum dos caches mantidos pelo motor de mapeamento.
+ * <p>
+ * Todo cache do motor é registrado em {@link EngineCaches}, o que permite consultar estatísticas
+ * de todos eles e esvaziá-los de uma vez (ex.: no reinício do contexto pelo Spring DevTools).
+ */
+public interface EngineCache {
+
+    /**
+     * @return Nome do cache, usado em estatísticas e logs.
+     */
+    String name();
+
+    /**
+     * @return Fotografia das estatísticas atuais do cache.
+     */
+    CacheStats stats();
+
+    /**
+     * Remove todas as entradas do cache, liberando as referências mantidas por ele.
+     */
+    void clear();
+}
@@ -0,0 +1,20 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache;
+
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Esvazia os caches do motor quando o contexto Spring é encerrado.
+ * <p>
+ * Reinícios do Spring DevTools e descarregamento de classloaders de plugins fecham o contexto antigo;
+ * sem esta limpeza, entradas cujo valor referencia classes do classloader antigo o manteriam vivo.
+ */
+@Component
+public class EngineCacheLifecycle {
+
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        EngineCaches.clearAll();
+    }
+}
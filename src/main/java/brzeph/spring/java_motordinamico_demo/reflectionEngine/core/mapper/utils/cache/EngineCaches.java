@@ -0,0 +1,43 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registro de todos os caches do motor.
+ * <p>
+ * {@link #clearAll()} é o gancho explícito para liberar metadados de classes, chamado automaticamente
+ * pelo {@link EngineCacheLifecycle} quando o contexto Spring é encerrado.
+ */
+public final class EngineCaches {
+
+    private static final List<EngineCache> CACHES = new CopyOnWriteArrayList<>();
+
+    private EngineCaches() {}
+
+    /**
+     * Registra um cache para estatísticas e limpeza global.
+     *
+     * @return O próprio cache, para permitir o registro na declaração.
+     */
+    public static <C extends EngineCache> C register(C cache) {
+        CACHES.add(cache);
+        return cache;
+    }
+
+    /**
+     * Esvazia todos os caches registrados.
+     */
+    public static void clearAll() {
+        for (EngineCache cache : CACHES) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * @return Estatísticas de todos os caches registrados.
+     */
+    public static List<CacheStats> stats() {
+        return CACHES.stream().map(EngineCache::stats).toList();
+    }
+}
@@ -0,0 +1,300 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.cache.CacheableProjection;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Id;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Version;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalStateEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.FieldPlan;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection.CompiledFieldMask;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection.FieldMaskCompiler;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection.ProjectionHasher;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache opt-in das projeções em Map produzidas pelo Mapper.
+ * <p>
+ * Somente classes anotadas com {@link CacheableProjection} participam. A chave é composta por
+ * (classe, valor do @Id, valor do @Version, annotation de contexto, máscara compilada), de forma que uma
+ * nova versão da entidade nunca reaproveita a projeção antiga. A máscara entra na chave na forma canônica de
+ * {@link CompiledFieldMask#key()}: {@code id,name}, {@code name,id} e {@code id, name} compartilham a mesma entrada. Em caso de acerto, nenhum campo além
+ * do @Id e do @Version é lido por reflexão.
+ * <p>
+ * O cache é limitado por peso (número de nós da projeção: entradas de Map e elementos de lista) e
+ * descarta as entradas menos usadas recentemente. As projeções armazenadas são imutáveis, já que a
+ * mesma instância é devolvida a várias requisições, e guardam o seu hash estrutural ({@link ProjectionHasher}),
+ * de forma que o ETag de um acerto não exige percorrer a projeção de novo (ver {@link #storedHash(Object)}).
+ * <p>
+ * As chaves não referenciam a classe da entidade (usam um identificador numérico por classe, guardado num
+ * {@link ClassValue} e fixo durante a vida da classe) e os metadados de identidade ficam num
+ * {@link ClassMetadataCache}, portanto o cache não impede o descarregamento de classes. Como o identificador não
+ * depende desse cache, {@link #invalidate} encontra as entradas mesmo depois de os metadados serem recalculados.
+ * O cache é registrado em {@link EngineCaches} e esvaziado junto com os demais caches do motor.
+ */
+public final class ProjectionCache {
+
+    private static final long DEFAULT_MAX_WEIGHT = 100_000;
+
+    private static final Object LOCK = new Object();
+    private static final LinkedHashMap<ProjectionKey, CachedProjection> ENTRIES = new LinkedHashMap<>(64, 0.75f, true);
+    private static final Map<EntityKey, Set<ProjectionKey>> KEYS_BY_ENTITY = new HashMap<>();
+    private static final Map<Object, CachedProjection> BY_PROJECTION = new IdentityHashMap<>();
+    private static final AtomicLong TYPE_TOKENS = new AtomicLong();
+    private static final ClassValue<Long> TYPE_TOKEN = new ClassValue<>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            return TYPE_TOKENS.incrementAndGet();
+        }
+    };
+    private static final ClassMetadataCache<Optional<EntityIdentity>> IDENTITIES =
+            new ClassMetadataCache<>("projectionIdentities", 1024, ProjectionCache::resolveIdentity);
+
+    static {
+        EngineCaches.register(new EngineCache() {
+            @Override
+            public String name() {
+                return "projections";
+            }
+
+            @Override
+            public CacheStats stats() {
+                return ProjectionCache.stats();
+            }
+
+            @Override
+            public void clear() {
+                ProjectionCache.clear();
+            }
+        });
+    }
+
+    // Escrito sob LOCK, mas lido fora dele em getOrMap para descartar projeções que nunca caberiam no cache.
+    private static volatile long maxWeight = DEFAULT_MAX_WEIGHT;
+    private static long currentWeight;
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+
+    private ProjectionCache() {}
+
+    /**
+     * Define o peso máximo total do cache. Entradas excedentes são descartadas imediatamente.
+     *
+     * @param newMaxWeight peso máximo (número de nós de projeção); deve ser positivo.
+     */
+    public static void configure(long newMaxWeight) {
+        if (newMaxWeight <= 0) {
+            throw new IllegalArgumentEngineException("Peso máximo do cache de projeções deve ser positivo: " + newMaxWeight);
+        }
+        synchronized (LOCK) {
+            maxWeight = newMaxWeight;
+            evictToFit();
+        }
+    }
+
+    /**
+     * @return {@code true} se a classe optou pelo cache de projeções.
+     */
+    public static boolean isCacheable(Class<?> clazz) {
+        return identityOf(clazz).isPresent();
+    }
+
+    /**
+     * Devolve a projeção cacheada para a entidade ou a calcula com {@code mapping} e a armazena.
+     * <p>
+     * Entidades com @Id ou @Version nulos não são cacheadas.
+     *
+     * @param source          Entidade de origem.
+     * @param annotationClass Annotation de contexto da projeção (ex.: Read.class).
+     * @param maskExpression  Expressão de máscara aplicada à projeção (pode ser nula); normalizada pelo FieldMaskCompiler.
+     * @param mapping         Mapeamento executado em caso de falta no cache.
+     * @return Projeção (imutável, quando vinda do cache ou armazenada nele).
+     */
+    public static Object getOrMap(Object source, Class<? extends Annotation> annotationClass, String maskExpression,
+                                  Supplier<Object> mapping) {
+        Optional<EntityIdentity> identity = identityOf(source.getClass());
+        if (identity.isEmpty()) return mapping.get();
+
+        Object id = identity.get().read(identity.get().idField(), source);
+        Object version = identity.get().read(identity.get().versionField(), source);
+        if (id == null || version == null) return mapping.get();
+
+        CompiledFieldMask mask = FieldMaskCompiler.compile(source.getClass(), annotationClass, maskExpression);
+        ProjectionKey key = new ProjectionKey(TYPE_TOKEN.get(source.getClass()), id, version, annotationClass.getName(),
+                mask == null ? "" : mask.key());
+        synchronized (LOCK) {
+            CachedProjection cached = ENTRIES.get(key);
+            if (cached != null) {
+                hits++;
+                return cached.projection();
+            }
+            misses++;
+        }
+
+        // O mapeamento acontece fora do lock; duas threads podem calcular a mesma projeção, o que é inofensivo.
+        Object mapped = mapping.get();
+        long[] weight = new long[1];
+        Object frozen = freeze(mapped, weight, new IdentityHashMap<>());
+        if (weight[0] > maxWeight) return frozen;
+        CachedProjection cached = new CachedProjection(frozen, weight[0], ProjectionHasher.hash(frozen));
+
+        synchronized (LOCK) {
+            CachedProjection previous = ENTRIES.put(key, cached);
+            if (previous != null) forget(previous);
+            BY_PROJECTION.put(frozen, cached);
+            currentWeight += weight[0];
+            KEYS_BY_ENTITY.computeIfAbsent(new EntityKey(key.typeToken(), id), k -> new HashSet<>()).add(key);
+            evictToFit();
+        }
+        return frozen;
+    }
+
+    /**
+     * @param projection Projeção devolvida por {@link #getOrMap}.
+     * @return Hash estrutural calculado quando a projeção foi armazenada, ou vazio se ela não estiver no cache.
+     */
+    public static OptionalLong storedHash(Object projection) {
+        synchronized (LOCK) {
+            CachedProjection cached = BY_PROJECTION.get(projection);
+            return cached != null ? OptionalLong.of(cached.hash()) : OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Remove todas as projeções (de qualquer versão e contexto) da entidade informada.
+     * Chamado pelo Mapper sempre que um merge produz uma nova versão da entidade.
+     *
+     * @param entity Entidade cuja projeção deve ser invalidada.
+     */
+    public static void invalidate(Object entity) {
+        if (entity == null) return;
+        Optional<EntityIdentity> identity = identityOf(entity.getClass());
+        if (identity.isEmpty()) return;
+
+        Object id = identity.get().read(identity.get().idField(), entity);
+        if (id == null) return;
+
+        synchronized (LOCK) {
+            Set<ProjectionKey> keys = KEYS_BY_ENTITY.remove(new EntityKey(TYPE_TOKEN.get(entity.getClass()), id));
+            if (keys == null) return;
+            for (ProjectionKey key : keys) {
+                CachedProjection removed = ENTRIES.remove(key);
+                if (removed != null) forget(removed);
+            }
+        }
+    }
+
+    /**
+     * Remove todas as projeções cacheadas.
+     */
+    public static void clear() {
+        synchronized (LOCK) {
+            ENTRIES.clear();
+            KEYS_BY_ENTITY.clear();
+            BY_PROJECTION.clear();
+            currentWeight = 0;
+        }
+    }
+
+    /**
+     * @return Fotografia das estatísticas atuais do cache; ocupação e capacidade são expressas em peso.
+     */
+    public static CacheStats stats() {
+        synchronized (LOCK) {
+            return new CacheStats("projections", hits, misses, evictions, currentWeight, maxWeight);
+        }
+    }
+
+    // Deve ser chamado com LOCK adquirido.
+    private static void evictToFit() {
+        Iterator<Map.Entry<ProjectionKey, CachedProjection>> iterator = ENTRIES.entrySet().iterator();
+        while (currentWeight > maxWeight && iterator.hasNext()) {
+            Map.Entry<ProjectionKey, CachedProjection> eldest = iterator.next();
+            iterator.remove();
+            forget(eldest.getValue());
+            evictions++;
+
+            ProjectionKey key = eldest.getKey();
+            EntityKey entityKey = new EntityKey(key.typeToken(), key.id());
+            Set<ProjectionKey> siblings = KEYS_BY_ENTITY.get(entityKey);
+            if (siblings != null) {
+                siblings.remove(key);
+                if (siblings.isEmpty()) KEYS_BY_ENTITY.remove(entityKey);
+            }
+        }
+    }
+
+    // Deve ser chamado com LOCK adquirido, depois de remover a entrada de ENTRIES.
+    private static void forget(CachedProjection removed) {
+        currentWeight -= removed.weight();
+        BY_PROJECTION.remove(removed.projection(), removed);
+    }
+
+    /*
+    Torna a projeção imutável (Maps e listas em todos os níveis) e acumula o seu peso em weight[0].
+    Com o rastreamento de identidade, um subobjeto compartilhado chega como a mesma instância de Map em vários pontos
+    da projeção: cada nó é congelado (e pesado) uma única vez, e as demais ocorrências recebem a mesma visão imutável.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object freeze(Object value, long[] weight, Map<Object, Object> frozen) {
+        if (!(value instanceof Map<?, ?>) && !(value instanceof List<?>)) return value;
+        Object done = frozen.get(value);
+        if (done != null) return done;
+
+        Object result;
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> mutable = (Map<Object, Object>) map;
+            weight[0] += mutable.size();
+            mutable.replaceAll((k, v) -> freeze(v, weight, frozen));
+            result = Collections.unmodifiableMap(mutable);
+        } else {
+            List<Object> mutable = (List<Object>) value;
+            weight[0] += mutable.size();
+            mutable.replaceAll(v -> freeze(v, weight, frozen));
+            result = Collections.unmodifiableList(mutable);
+        }
+        frozen.put(value, result);
+        return result;
+    }
+
+    private static Optional<EntityIdentity> identityOf(Class<?> clazz) {
+        return IDENTITIES.get(clazz);
+    }
+
+    private static Optional<EntityIdentity> resolveIdentity(Class<?> clazz) {
+        if (!clazz.isAnnotationPresent(CacheableProjection.class)) return Optional.empty();
+
+        Field idField = null;
+        Field versionField = null;
+        for (Field field : FieldPlan.of(clazz).fields()) {
+            if (idField == null && field.isAnnotationPresent(Id.class)) idField = field;
+            if (versionField == null && field.isAnnotationPresent(Version.class)) versionField = field;
+        }
+        if (idField == null || versionField == null) {
+            throw new IllegalStateEngineException("@CacheableProjection exige campos com @Id e @Version em "
+                    + clazz.getSimpleName());
+        }
+        return Optional.of(new EntityIdentity(idField, versionField));
+    }
+
+    private record EntityIdentity(Field idField, Field versionField) {
+        Object read(Field field, Object source) {
+            try {
+                return field.get(source);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateEngineException("Erro ao ler campo de identidade: " + field.getName() + ", " + e.getMessage());
+            }
+        }
+    }
+
+    private record ProjectionKey(long typeToken, Object id, Object version, String context, String mask) {}
+
+    private record EntityKey(long typeToken, Object id) {}
+
+    private record CachedProjection(Object projection, long weight, long hash) {}
+}
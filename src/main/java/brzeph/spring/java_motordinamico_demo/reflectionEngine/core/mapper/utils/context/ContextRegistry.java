@@ -0,0 +1,128 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Create;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalStateEngineException;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ContextRegistry {
+    /*
+    Contextos de mapeamento são annotations de campo (@Read, @Create, @Update e as definidas pela aplicação, como
+    @AdminRead ou @InternalSync). Cada contexto registrado recebe um índice denso, usado pelo FieldParticipation
+    para guardar um bitmap de campos por (classe, contexto).
+
+    Os três contextos nativos são registrados na carga da classe. Contextos da aplicação são registrados na subida
+    (ver ContextRegistryInitializer e a propriedade reflection-engine.contexts.<nome>=<classe da annotation>).
+    Uma annotation usada pelo motor sem registro prévio é registrada no primeiro uso, com o nome simples da classe.
+     */
+
+    private static final Object LOCK = new Object();
+    private static final Map<Class<? extends Annotation>, Integer> INDEXES = new ConcurrentHashMap<>();
+    private static final Map<String, Class<? extends Annotation>> BY_NAME = new ConcurrentHashMap<>();
+    // Cópia ordenada e imutável de BY_NAME, refeita a cada registro: contexts() é lido sem lock em toda compilação de classe.
+    private static volatile Map<String, Class<? extends Annotation>> snapshot = Map.of();
+
+    static {
+        register("read", Read.class);
+        register("create", Create.class);
+        register("update", Update.class);
+    }
+
+    /**
+     * Registra um contexto. Registrar de novo o mesmo par (nome, annotation) não tem efeito.
+     *
+     * @param name            Nome do contexto (ex.: "admin-read").
+     * @param annotationClass Annotation de campo que marca a participação no contexto; deve ter retenção RUNTIME.
+     * @return Índice do contexto.
+     * @throws IllegalStateEngineException Se o nome já estiver associado a outra annotation.
+     */
+    public static int register(String name, Class<? extends Annotation> annotationClass) {
+        if (name == null || name.isBlank() || annotationClass == null) {
+            throw new IllegalArgumentEngineException("Contexto exige nome e annotation");
+        }
+        validate(annotationClass);
+        synchronized (LOCK) {
+            Class<? extends Annotation> current = BY_NAME.get(name);
+            if (current != null && current != annotationClass) {
+                throw new IllegalStateEngineException("Contexto '" + name + "' já registrado para @" + current.getSimpleName());
+            }
+            Integer index = INDEXES.get(annotationClass);
+            if (current != null && index != null) return index;
+            BY_NAME.put(name, annotationClass);
+            index = INDEXES.computeIfAbsent(annotationClass, type -> INDEXES.size());
+            snapshot = ordered();
+            return index;
+        }
+    }
+
+    /**
+     * @return Índice do contexto, registrando a annotation com o seu nome simples se ela ainda não for conhecida.
+     */
+    public static int indexOf(Class<? extends Annotation> annotationClass) {
+        Integer index = INDEXES.get(annotationClass);
+        if (index != null) return index;
+        synchronized (LOCK) {
+            index = INDEXES.get(annotationClass);
+            if (index != null) return index;
+            String name = annotationClass.getSimpleName();
+            return register(BY_NAME.containsKey(name) ? annotationClass.getName() : name, annotationClass);
+        }
+    }
+
+    /**
+     * @return Annotation do contexto com o nome informado.
+     * @throws IllegalArgumentEngineException Se o contexto não estiver registrado.
+     */
+    public static Class<? extends Annotation> resolve(String name) {
+        Class<? extends Annotation> annotationClass = BY_NAME.get(name);
+        if (annotationClass == null) {
+            throw new IllegalArgumentEngineException("Contexto de mapeamento desconhecido: " + name);
+        }
+        return annotationClass;
+    }
+
+    /**
+     * @return Contextos registrados (nome → annotation), na ordem dos índices.
+     */
+    public static Map<String, Class<? extends Annotation>> contexts() {
+        return snapshot;
+    }
+
+    /**
+     * @return Quantidade de contextos (annotations distintas) registrados.
+     */
+    public static int size() {
+        return INDEXES.size();
+    }
+
+    private static Map<String, Class<? extends Annotation>> ordered() {
+        Map<String, Class<? extends Annotation>> ordered = new LinkedHashMap<>();
+        BY_NAME.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue((a, b) -> Integer.compare(INDEXES.get(a), INDEXES.get(b))))
+                .forEach(entry -> ordered.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(ordered);
+    }
+
+    private static void validate(Class<? extends Annotation> annotationClass) {
+        Retention retention = annotationClass.getAnnotation(Retention.class);
+        if (retention == null || retention.value() != RetentionPolicy.RUNTIME) {
+            throw new IllegalArgumentEngineException("Contexto @" + annotationClass.getSimpleName() + " precisa de @Retention(RUNTIME)");
+        }
+        Target target = annotationClass.getAnnotation(Target.class);
+        if (target != null && !Arrays.asList(target.value()).contains(ElementType.FIELD)) {
+            throw new IllegalArgumentEngineException("Contexto @" + annotationClass.getSimpleName() + " precisa aceitar @Target(FIELD)");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+/**
+ * Registra na subida os contextos declarados em propriedades, por exemplo:
+ * <pre>
+ * reflection-engine.contexts.admin-read=com.exemplo.annotation.AdminRead
+ * reflection-engine.contexts.internal-sync=com.exemplo.annotation.InternalSync
+ * </pre>
+ */
+@Component
+public class ContextRegistryInitializer {
+
+    public ContextRegistryInitializer(Environment environment) {
+        Map<String, String> contexts = Binder.get(environment)
+                .bind("reflection-engine.contexts", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        contexts.forEach((name, className) -> ContextRegistry.register(name, load(name, className)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Annotation> load(String name, String className) {
+        try {
+            Class<?> type = ClassUtils.forName(className, ContextRegistryInitializer.class.getClassLoader());
+            if (!type.isAnnotation()) {
+                throw new IllegalArgumentEngineException("Contexto '" + name + "' não é uma annotation: " + className);
+            }
+            return (Class<? extends Annotation>) type;
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentEngineException("Annotation do contexto '" + name + "' não encontrada: " + className);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabela lateral com os campos presentes na requisição de cada instância de classe com @DirtyTracking.
+ * <p>
+ * O bit {@code i} indica que {@code FieldParticipation.of(classe).fields()[i]} veio no body. As instâncias são
+ * chaves fracas comparadas por identidade (nunca por equals/hashCode do DTO): a entrada some quando o DTO é
+ * coletado, sem exigir campos extras nem subclasses geradas. Os bitsets registrados não devem ser alterados.
+ */
+public final class DirtyFields {
+
+    private static final Map<IdentityKey, BitSet> PRESENT = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Object> COLLECTED = new ReferenceQueue<>();
+
+    private DirtyFields() {}
+
+    /**
+     * Registra os campos presentes na requisição que originou {@code instance}.
+     */
+    public static void mark(Object instance, BitSet present) {
+        expungeCollected();
+        PRESENT.put(new IdentityKey(instance, COLLECTED), present);
+    }
+
+    /**
+     * @return Campos presentes registrados para a instância, ou {@code null} se ela não for rastreada.
+     */
+    public static BitSet of(Object instance) {
+        if (PRESENT.isEmpty()) return null;
+        return PRESENT.get(new IdentityKey(instance, null));
+    }
+
+    /**
+     * Remove o registro da instância (ex.: depois de alterá-la fora do mapeamento).
+     */
+    public static void forget(Object instance) {
+        PRESENT.remove(new IdentityKey(instance, null));
+    }
+
+    /**
+     * @return Instâncias registradas (inclui as já coletadas e ainda não removidas).
+     */
+    public static int size() {
+        expungeCollected();
+        return PRESENT.size();
+    }
+
+    private static void expungeCollected() {
+        Reference<?> collected;
+        while ((collected = COLLECTED.poll()) != null) {
+            PRESENT.remove(collected);
+        }
+    }
+
+    private static final class IdentityKey extends WeakReference<Object> {
+        private final int hash;
+
+        private IdentityKey(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof IdentityKey key)) return false;
+            Object referent = get();
+            return referent != null && referent == key.get();
+        }
+    }
+}
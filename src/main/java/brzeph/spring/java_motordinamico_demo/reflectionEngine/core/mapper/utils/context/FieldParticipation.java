@@ -0,0 +1,139 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.ValidationRule;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.tracking.DirtyTracking;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache.ClassMetadataCache;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Participação dos campos de uma classe em cada contexto registrado no {@link ContextRegistry}.
+ * <p>
+ * Para cada (classe, contexto) existe um bitmap em que o bit {@code i} indica que {@code fields()[i]} carrega a
+ * annotation do contexto. Os bitmaps dos contextos já registrados são compilados junto com a classe; contextos
+ * registrados depois são compilados no primeiro uso. Verificar a participação de um campo é um teste de bit, e
+ * percorrer os campos de um contexto visita apenas os bits ligados.
+ * <p>
+ * Junto com cada bitmap é compilada a {@link KeyDispatchTable} do contexto, usada para despachar as chaves de
+ * um payload direto para os campos. As regras de validação de cada campo também são resolvidas na compilação da classe.
+ * <p>
+ * Os arrays e bitmaps devolvidos são compartilhados e não devem ser alterados.
+ */
+public final class FieldParticipation {
+
+    private static final ClassMetadataCache<FieldParticipation> CACHE =
+            new ClassMetadataCache<>("fieldParticipation", 2048, FieldParticipation::compile);
+
+    private final Field[] fields;
+    private final ValidationRule[][] validationRules;
+    private final boolean dirtyTracked;
+    private volatile BitSet[] bitmaps;
+    private volatile KeyDispatchTable[] dispatchTables;
+
+    private FieldParticipation(Field[] fields, ValidationRule[][] validationRules, boolean dirtyTracked,
+                               BitSet[] bitmaps, KeyDispatchTable[] dispatchTables) {
+        this.fields = fields;
+        this.validationRules = validationRules;
+        this.dirtyTracked = dirtyTracked;
+        this.bitmaps = bitmaps;
+        this.dispatchTables = dispatchTables;
+    }
+
+    public static FieldParticipation of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * @return Campos do {@link FieldPlan} da classe (incluindo os herdados), na ordem usada pelos bitmaps.
+     */
+    public Field[] fields() {
+        return fields;
+    }
+
+    /**
+     * @return Regras de validação declaradas no campo na posição indicada (array vazio se nenhuma).
+     */
+    public ValidationRule[] validationRules(int fieldIndex) {
+        return validationRules[fieldIndex];
+    }
+
+    /**
+     * @return Se a classe é anotada com @DirtyTracking (campos presentes registrados no {@link DirtyFields}).
+     */
+    public boolean dirtyTracked() {
+        return dirtyTracked;
+    }
+
+    /**
+     * @return Bitmap dos campos que participam do contexto.
+     */
+    public BitSet bitmap(Class<? extends Annotation> annotationClass) {
+        int index = ContextRegistry.indexOf(annotationClass);
+        BitSet[] current = bitmaps;
+        if (index < current.length && current[index] != null) return current[index];
+        return compileContext(index, annotationClass);
+    }
+
+    /**
+     * @return Tabela de despacho (nome → índice do campo) dos campos que participam do contexto.
+     */
+    public KeyDispatchTable dispatch(Class<? extends Annotation> annotationClass) {
+        int index = ContextRegistry.indexOf(annotationClass);
+        KeyDispatchTable[] current = dispatchTables;
+        if (index < current.length && current[index] != null) return current[index];
+        compileContext(index, annotationClass);
+        return dispatchTables[index];
+    }
+
+    /**
+     * @return Se o campo na posição indicada participa do contexto.
+     */
+    public boolean participates(int fieldIndex, Class<? extends Annotation> annotationClass) {
+        return bitmap(annotationClass).get(fieldIndex);
+    }
+
+    private synchronized BitSet compileContext(int index, Class<? extends Annotation> annotationClass) {
+        BitSet[] current = bitmaps;
+        if (index < current.length && current[index] != null) return current[index];
+        BitSet[] grown = Arrays.copyOf(current, Math.max(current.length, index + 1));
+        grown[index] = bitmapOf(fields, annotationClass);
+        KeyDispatchTable[] grownTables = Arrays.copyOf(dispatchTables, grown.length);
+        grownTables[index] = KeyDispatchTable.of(fields, grown[index]);
+        // Tabelas publicadas antes dos bitmaps: quem encontra o bitmap também encontra a tabela.
+        dispatchTables = grownTables;
+        bitmaps = grown;
+        return grown[index];
+    }
+
+    private static FieldParticipation compile(Class<?> clazz) {
+        Field[] fields = FieldPlan.of(clazz).fields();
+        BitSet[] bitmaps = new BitSet[0];
+        KeyDispatchTable[] dispatchTables = new KeyDispatchTable[0];
+        for (Class<? extends Annotation> annotationClass : ContextRegistry.contexts().values()) {
+            int index = ContextRegistry.indexOf(annotationClass);
+            if (index >= bitmaps.length) {
+                bitmaps = Arrays.copyOf(bitmaps, index + 1);
+                dispatchTables = Arrays.copyOf(dispatchTables, index + 1);
+            }
+            bitmaps[index] = bitmapOf(fields, annotationClass);
+            dispatchTables[index] = KeyDispatchTable.of(fields, bitmaps[index]);
+        }
+        ValidationRule[][] validationRules = new ValidationRule[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            validationRules[i] = ValidationRule.rulesFor(fields[i]);
+        }
+        return new FieldParticipation(fields, validationRules, clazz.isAnnotationPresent(DirtyTracking.class),
+                bitmaps, dispatchTables);
+    }
+
+    private static BitSet bitmapOf(Field[] fields, Class<? extends Annotation> annotationClass) {
+        BitSet bitmap = new BitSet(fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].isAnnotationPresent(annotationClass)) bitmap.set(i);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,96 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache.ClassMetadataCache;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Plano de campos de uma classe, incluindo os herdados, achatado uma única vez num array ordenado.
+ * <p>
+ * Regras:
+ * <ul>
+ *     <li>A hierarquia é percorrida da superclasse mais alta até a própria classe; superclasses do JDK
+ *     ({@code java.*}) e {@code Object} não contribuem campos.</li>
+ *     <li>Campos de superclasses vêm antes dos campos da subclasse, cada nível na ordem de declaração.</li>
+ *     <li>Sombreamento: um campo da subclasse com o mesmo nome de um campo herdado substitui o herdado, na posição
+ *     do herdado. Vale a declaração (tipo e annotations) da subclasse; o campo escondido é ignorado pelo motor.</li>
+ *     <li>Campos estáticos e sintéticos não fazem parte do plano.</li>
+ * </ul>
+ * Os nomes no plano são, portanto, únicos, e o caminho por requisição é um laço simples sobre o array,
+ * independentemente da profundidade da hierarquia. O array devolvido é compartilhado e não deve ser alterado.
+ */
+public final class FieldPlan {
+
+    private static final ClassMetadataCache<FieldPlan> CACHE =
+            new ClassMetadataCache<>("fieldPlans", 2048, FieldPlan::compile);
+
+    private final Field[] fields;
+    private final Map<String, Integer> indexByName;
+
+    private FieldPlan(Field[] fields, Map<String, Integer> indexByName) {
+        this.fields = fields;
+        this.indexByName = indexByName;
+    }
+
+    public static FieldPlan of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * @return Campos de instância da classe e das superclasses (já acessíveis), na ordem do plano.
+     */
+    public Field[] fields() {
+        return fields;
+    }
+
+    /**
+     * @return Posição do campo com o nome informado, ou {@code -1} se a classe não tiver esse campo.
+     */
+    public int indexOf(String name) {
+        Integer index = indexByName.get(name);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * @return Campo com o nome informado, ou {@code null} se a classe não tiver esse campo.
+     */
+    public Field field(String name) {
+        int index = indexOf(name);
+        return index >= 0 ? fields[index] : null;
+    }
+
+    /**
+     * @return Nomes dos campos, na ordem do plano.
+     */
+    public Set<String> names() {
+        return indexByName.keySet();
+    }
+
+    private static FieldPlan compile(Class<?> clazz) {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            if (current != clazz && current.getPackageName().startsWith("java.")) break;
+            hierarchy.push(current);
+        }
+
+        List<Field> ordered = new ArrayList<>();
+        Map<String, Integer> indexByName = new LinkedHashMap<>();
+        for (Class<?> level : hierarchy) {
+            for (Field field : level.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+                // Campos de classes em módulos fechados continuam inacessíveis; o erro surge só se forem lidos.
+                field.trySetAccessible();
+                Integer shadowed = indexByName.get(field.getName());
+                if (shadowed != null) {
+                    ordered.set(shadowed, field);
+                } else {
+                    indexByName.put(field.getName(), ordered.size());
+                    ordered.add(field);
+                }
+            }
+        }
+        return new FieldPlan(ordered.toArray(Field[]::new), Collections.unmodifiableMap(indexByName));
+    }
+}
@@ -0,0 +1,74 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context;
+
+import java.lang.reflect.Field;
+import java.util.BitSet;
+
+/**
+ * Tabela de despacho chave JSON → índice do campo, pré-calculada por (classe, contexto) com os nomes dos campos
+ * que participam do contexto.
+ * <p>
+ * Endereçamento aberto com sondagem linear sobre arrays paralelos (nomes e índices), com capacidade potência de
+ * dois e fator de carga máximo de 1/2: uma consulta usa o hash já cacheado na String da chave e, em média,
+ * menos de duas comparações. O custo do mapeamento passa a depender das chaves presentes no payload, e não da
+ * largura da classe. Imutável depois de construída.
+ */
+public final class KeyDispatchTable {
+
+    private final String[] keys;
+    private final int[] indexes;
+    private final int mask;
+    private final int size;
+
+    private KeyDispatchTable(String[] keys, int[] indexes, int size) {
+        this.keys = keys;
+        this.indexes = indexes;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * @param fields        Campos da classe (ordem do FieldPlan).
+     * @param participating Bitmap dos campos que participam do contexto.
+     */
+    static KeyDispatchTable of(Field[] fields, BitSet participating) {
+        int size = participating.cardinality();
+        int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+        String[] keys = new String[capacity];
+        int[] indexes = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = participating.nextSetBit(0); i >= 0; i = participating.nextSetBit(i + 1)) {
+            String name = fields[i].getName();
+            int slot = spread(name.hashCode()) & mask;
+            while (keys[slot] != null) slot = (slot + 1) & mask;
+            keys[slot] = name;
+            indexes[slot] = i;
+        }
+        return new KeyDispatchTable(keys, indexes, size);
+    }
+
+    /**
+     * @return Índice do campo (em {@code FieldParticipation.fields()}) com esse nome, ou -1 se nenhum campo do
+     * contexto tiver esse nome.
+     */
+    public int indexOf(String key) {
+        if (key == null) return -1;
+        int slot = spread(key.hashCode()) & mask;
+        String candidate;
+        while ((candidate = keys[slot]) != null) {
+            if (candidate.equals(key)) return indexes[slot];
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @return Quantidade de campos do contexto na tabela.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,139 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ValidationEngineException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cria as coleções e mapas de destino do mapeamento e do merge a partir do tipo declarado no campo.
+ * <p>
+ * A implementação escolhida é a mais barata compatível com o tipo declarado, já dimensionada para o tamanho da origem
+ * (sem realocações durante o preenchimento):
+ * <ul>
+ *     <li>{@code List}/{@code Collection}/{@code Iterable} → {@code ArrayList}; {@code Queue}/{@code Deque} → {@code ArrayDeque}</li>
+ *     <li>{@code Set} → {@code LinkedHashSet} (preserva a ordem da origem), ou {@code EnumSet} se o elemento for enum</li>
+ *     <li>{@code SortedSet}/{@code NavigableSet} → {@code TreeSet}</li>
+ *     <li>{@code Map} → {@code LinkedHashMap}, {@code EnumMap} se a chave for enum, {@code TreeMap} se ordenado e
+ *     {@code ConcurrentHashMap} se concorrente</li>
+ *     <li>Classes concretas são instanciadas como declaradas (com capacidade inicial quando o JDK oferece).</li>
+ * </ul>
+ * {@code ArrayDeque}, {@code EnumSet} e {@code TreeSet} não aceitam elementos nulos: coleções preenchidas com
+ * {@link #add} rejeitam um elemento nulo (ex.: {@code null} num array JSON) com uma ValidationEngineException que
+ * aponta o campo, em vez de um NullPointerException. {@code TreeSet} também exige elementos Comparable.
+ */
+public final class CollectionFactory {
+
+    private CollectionFactory() {}
+
+    /**
+     * @param declaredType Tipo declarado no campo (interface ou classe concreta).
+     * @param elementType  Tipo dos elementos, se conhecido (usado para EnumSet); pode ser {@code null}.
+     * @param size         Quantidade de elementos que serão inseridos.
+     * @return Coleção vazia atribuível a {@code declaredType}.
+     * @throws IllegalArgumentEngineException se o tipo não puder ser instanciado, ou se for ordenado e o elemento
+     *                                        não for Comparable.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Collection<Object> newCollection(Class<?> declaredType, Class<?> elementType, int size) {
+        if (declaredType == List.class || declaredType == Collection.class || declaredType == Iterable.class
+                || declaredType == ArrayList.class || declaredType == AbstractList.class) {
+            return new ArrayList<>(size);
+        }
+        if (declaredType == Set.class || declaredType == EnumSet.class) {
+            if (elementType != null && elementType.isEnum()) return (Collection) EnumSet.noneOf((Class<Enum>) elementType);
+            if (declaredType == Set.class) return new LinkedHashSet<>(hashCapacity(size));
+        }
+        if (declaredType == LinkedHashSet.class) return new LinkedHashSet<>(hashCapacity(size));
+        if (declaredType == HashSet.class) return new HashSet<>(hashCapacity(size));
+        if (declaredType == SortedSet.class || declaredType == NavigableSet.class || declaredType == TreeSet.class) {
+            if (elementType != null && !Comparable.class.isAssignableFrom(elementType)) {
+                throw new IllegalArgumentEngineException(declaredType.getSimpleName() + " exige elementos Comparable: "
+                        + elementType.getName());
+            }
+            return new TreeSet<>();
+        }
+        if (declaredType == Queue.class || declaredType == Deque.class || declaredType == ArrayDeque.class) {
+            return new ArrayDeque<>(size);
+        }
+        if (declaredType == LinkedList.class) return new LinkedList<>();
+        return (Collection<Object>) instantiate(declaredType, Collection.class);
+    }
+
+    /**
+     * Adiciona um elemento a uma coleção criada por {@link #newCollection}.
+     *
+     * @param field Campo de destino, citado na mensagem de erro.
+     * @throws ValidationEngineException se o elemento for nulo e a coleção não aceitar nulos.
+     */
+    public static void add(Collection<Object> collection, Object element, Field field) {
+        if (element == null && !acceptsNull(collection)) {
+            throw new ValidationEngineException("Elemento nulo não permitido em " + field.getName() + " ("
+                    + field.getType().getSimpleName() + ")");
+        }
+        collection.add(element);
+    }
+
+    /**
+     * @param declaredType Tipo declarado no campo (interface ou classe concreta).
+     * @param keyType      Tipo das chaves, se conhecido (usado para EnumMap); pode ser {@code null}.
+     * @param size         Quantidade de entradas que serão inseridas.
+     * @return Mapa vazio atribuível a {@code declaredType}.
+     * @throws IllegalArgumentEngineException se o tipo não puder ser instanciado.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Map<Object, Object> newMap(Class<?> declaredType, Class<?> keyType, int size) {
+        if (declaredType == Map.class || declaredType == EnumMap.class) {
+            if (keyType != null && keyType.isEnum()) return new EnumMap(keyType);
+            if (declaredType == Map.class) return new LinkedHashMap<>(hashCapacity(size));
+        }
+        if (declaredType == LinkedHashMap.class) return new LinkedHashMap<>(hashCapacity(size));
+        if (declaredType == HashMap.class) return new HashMap<>(hashCapacity(size));
+        if (declaredType == SortedMap.class || declaredType == NavigableMap.class || declaredType == TreeMap.class) {
+            return new TreeMap<>();
+        }
+        if (declaredType == ConcurrentMap.class || declaredType == ConcurrentHashMap.class) {
+            return new ConcurrentHashMap<>(hashCapacity(size));
+        }
+        return (Map<Object, Object>) instantiate(declaredType, Map.class);
+    }
+
+    /**
+     * @return Tipo do argumento genérico na posição indicada do campo (ex.: 0 para o elemento de uma lista,
+     * 1 para o valor de um mapa), ou {@code null} se não for uma classe concreta.
+     */
+    public static Class<?> typeArgument(Field field, int index) {
+        if (field.getGenericType() instanceof ParameterizedType parameterizedType) {
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            if (index < arguments.length && arguments[index] instanceof Class<?> clazz) return clazz;
+        }
+        return null;
+    }
+
+    private static boolean acceptsNull(Collection<?> collection) {
+        return !(collection instanceof ArrayDeque<?> || collection instanceof EnumSet<?> || collection instanceof TreeSet<?>);
+    }
+
+    // Capacidade de tabela hash que comporta size entradas sem rehash (fator de carga padrão de 0,75).
+    private static int hashCapacity(int size) {
+        return size < 3 ? size + 1 : (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(size / 0.75));
+    }
+
+    private static Object instantiate(Class<?> declaredType, Class<?> expected) {
+        if (!expected.isAssignableFrom(declaredType) || declaredType.isInterface()
+                || Modifier.isAbstract(declaredType.getModifiers())) {
+            throw new IllegalArgumentEngineException("Collection não suportada: " + declaredType);
+        }
+        try {
+            return declaredType.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentEngineException("Collection não suportada: " + declaredType + ", " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+
+/**
+ * Opções de travessia do grafo de objetos usadas pelo motor de mapeamento.
+ *
+ * @param identityTracking Se true, cada instância de origem é mapeada uma única vez por operação: referências
+ *                         compartilhadas reaproveitam o resultado e ciclos são resolvidos (marcador {@code $ref}
+ *                         na saída em Map; a própria instância em mapeamento na saída em objeto/merge).
+ *                         Se false, o grafo é tratado como árvore e apenas o limite de profundidade protege contra ciclos.
+ * @param maxDepth         Profundidade máxima de aninhamento aceita antes de abortar a operação.
+ * @param events           Se false, as operações com estas opções nunca emitem eventos JFR (ver MappingEvents), mesmo
+ *                         com a gravação ligada.
+ */
+public record MappingOptions(boolean identityTracking, int maxDepth, boolean events) {
+
+    public static final int DEFAULT_MAX_DEPTH = 64;
+
+    public MappingOptions {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentEngineException("Profundidade máxima de mapeamento deve ser positiva: " + maxDepth);
+        }
+    }
+
+    public MappingOptions(boolean identityTracking, int maxDepth) {
+        this(identityTracking, maxDepth, true);
+    }
+
+    /**
+     * @return Cópia destas opções com a emissão de eventos JFR ligada ou desligada.
+     */
+    public MappingOptions withEvents(boolean enabled) {
+        return enabled == events ? this : new MappingOptions(identityTracking, maxDepth, enabled);
+    }
+
+    /**
+     * @return Opções padrão: rastreamento de identidade ativo e profundidade máxima {@value #DEFAULT_MAX_DEPTH}.
+     */
+    public static MappingOptions defaults() {
+        return new MappingOptions(true, DEFAULT_MAX_DEPTH);
+    }
+}
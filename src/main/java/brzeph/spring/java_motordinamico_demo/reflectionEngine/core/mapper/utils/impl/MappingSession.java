@@ -0,0 +1,138 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ContextMappingEngineError;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Estado de uma única operação de mapeamento, merge ou validação: profundidade atual e, no modo
+ * de rastreamento de identidade, as instâncias de origem já visitadas (comparadas por identidade, nunca por equals).
+ * <p>
+ * Não é thread-safe; cada chamada pública do motor cria a sua própria sessão.
+ */
+public final class MappingSession {
+
+    private final MappingOptions options;
+    private final Map<Object, Visit> visits;
+    private int depth;
+
+    // Estatísticas da operação, usadas nos eventos JFR (ver MappingEvents).
+    private int objectCount;
+    private int deepestLevel;
+    private int largestCollection;
+    private long collectionElements;
+
+    public MappingSession(MappingOptions options) {
+        this.options = options;
+        this.visits = options.identityTracking() ? new IdentityHashMap<>() : null;
+    }
+
+    /**
+     * Entra num novo nível de aninhamento.
+     *
+     * @throws ContextMappingEngineError se a profundidade máxima configurada for excedida.
+     */
+    public void enter(Class<?> clazz) {
+        objectCount++;
+        if (depth + 1 > deepestLevel) deepestLevel = depth + 1;
+        if (++depth > options.maxDepth()) {
+            throw new ContextMappingEngineError("Profundidade máxima de mapeamento excedida (" + options.maxDepth()
+                    + ") em " + clazz.getSimpleName());
+        }
+    }
+
+    public void exit() {
+        depth--;
+    }
+
+    /**
+     * Registra o tamanho de uma coleção percorrida pela operação.
+     */
+    public void recordCollection(int size) {
+        if (size > largestCollection) largestCollection = size;
+        collectionElements += size;
+    }
+
+    /**
+     * @return Objetos (níveis de aninhamento) visitados pela operação.
+     */
+    public int objectCount() {
+        return objectCount;
+    }
+
+    /**
+     * @return Maior profundidade de aninhamento alcançada.
+     */
+    public int deepestLevel() {
+        return deepestLevel;
+    }
+
+    /**
+     * @return Tamanho da maior coleção percorrida.
+     */
+    public int largestCollection() {
+        return largestCollection;
+    }
+
+    /**
+     * @return Soma dos tamanhos de todas as coleções percorridas.
+     */
+    public long collectionElements() {
+        return collectionElements;
+    }
+
+    /**
+     * @return Visita registrada para a instância de origem, ou {@code null} se ainda não visitada
+     * (ou se o rastreamento de identidade estiver desligado).
+     */
+    public Visit visitOf(Object source) {
+        return visits == null ? null : visits.get(source);
+    }
+
+    /**
+     * Registra o resultado (possivelmente ainda incompleto) do mapeamento de {@code source}.
+     *
+     * @param source  Instância de origem.
+     * @param variant Discriminador do resultado (ex.: máscara aplicada ou objeto override do merge);
+     *                um resultado só é reaproveitado para o mesmo discriminador.
+     * @param result  Resultado do mapeamento.
+     */
+    public Visit register(Object source, Object variant, Object result) {
+        if (visits == null) return null;
+        Visit visit = new Visit(variant, result);
+        visits.put(source, visit);
+        return visit;
+    }
+
+    /**
+     * Resultado do mapeamento de uma instância. Enquanto {@code complete} for false, a instância está
+     * na pilha de recursão e uma nova visita indica um ciclo.
+     */
+    public static final class Visit {
+        private final Object variant;
+        private final Object result;
+        private boolean complete;
+
+        private Visit(Object variant, Object result) {
+            this.variant = variant;
+            this.result = result;
+        }
+
+        public boolean matches(Object candidateVariant) {
+            return variant == candidateVariant;
+        }
+
+        public Object result() {
+            return result;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public void complete() {
+            this.complete = true;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalStateEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.MergeEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.PayloadLimitEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.FieldParticipation;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.FieldPlan;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.limits.LimitedPayloadReader;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring.MappingEvent;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring.MappingEvents;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.*;
+
+public class MergePatchEngine {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    /**
+     * Aplica um documento JSON Merge Patch (RFC 7396) sobre o objeto base, interpretando o documento em streaming.
+     * <p>
+     * Regras:
+     * <ul>
+     *     <li>Somente as chaves presentes no patch são tocadas; campos ausentes mantêm o valor do base.</li>
+     *     <li>Somente campos anotados com {@code annotationClass} são alterados; as demais chaves são ignoradas.</li>
+     *     <li>{@code null} explícito limpa o campo (diferente do mergeWithAnnotation, em que null mantém o base).</li>
+     *     <li>Objetos aninhados são mesclados recursivamente; se o campo do base for nulo, parte-se de uma nova instância.</li>
+     *     <li>Listas de POJOs com @MergeId (ou @Id) são mescladas por identificador: cada elemento do patch é
+     *     aplicado sobre o elemento de mesmo id, na posição que ele ocupa no base; elementos não citados são mantidos
+     *     e elementos com ids novos são acrescentados ao fim, na ordem do patch.</li>
+     *     <li>Listas de POJOs sem identificador são substituídas, com cada elemento construído a partir do patch
+     *     (respeitando a annotation); demais arrays e valores simples são substituídos.</li>
+     * </ul>
+     * O base nunca é alterado: cada objeto tocado é copiado antes de receber o patch. O documento é interpretado com
+     * os {@link LimitedPayloadReader#defaults() limites de payload padrão}.
+     *
+     * @param base            Objeto base (ex.: entidade carregada do banco de dados).
+     * @param document        Documento JSON Merge Patch; deve ser um objeto JSON.
+     * @param annotationClass Annotation dos campos que podem ser alterados (ex.: Update.class).
+     * @return Novo objeto com o patch aplicado.
+     */
+    public static <T> T apply(T base, byte[] document, Class<? extends Annotation> annotationClass) {
+        return apply(base, document, annotationClass, ReflectionMapperEngine.getOptions());
+    }
+
+    /**
+     * Igual a {@link #apply(Object, byte[], Class)}, com opções de travessia explícitas em vez das globais.
+     */
+    public static <T> T apply(T base, byte[] document, Class<? extends Annotation> annotationClass,
+                              MappingOptions mappingOptions) {
+        return apply(base, document, annotationClass, mappingOptions, LimitedPayloadReader.defaults());
+    }
+
+    /**
+     * Igual a {@link #apply(Object, byte[], Class, MappingOptions)}, com os limites de payload do leitor informado
+     * (ex.: os do conversor que leu o corpo da requisição): o parser recusa strings, nomes e aninhamento acima dos
+     * limites, e arrays e valores lidos do patch têm o número de elementos conferido.
+     *
+     * @throws PayloadLimitEngineException Se algum limite for excedido.
+     */
+    public static <T> T apply(T base, byte[] document, Class<? extends Annotation> annotationClass,
+                              MappingOptions mappingOptions, LimitedPayloadReader limits) {
+        if (base == null || document == null || limits == null) {
+            throw new IllegalArgumentEngineException("Objetos não podem ser nulos");
+        }
+        try (JsonParser parser = limits.createParser(document)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MergeEngineException("Documento de merge patch deve ser um objeto JSON");
+            }
+            MappingSession session = new MappingSession(mappingOptions);
+            MappingEvent event = MappingEvents.beginMapping(mappingOptions);
+            try {
+                return applyObject(base, parser, annotationClass, session, limits);
+            } finally {
+                MappingEvents.mapping("patch", base.getClass(), annotationClass, session, event);
+            }
+        } catch (StreamConstraintsException e) {
+            throw LimitedPayloadReader.limitExceeded(e);
+        } catch (IOException e) {
+            throw new MergeEngineException("Documento de merge patch inválido: " + e.getMessage());
+        }
+    }
+
+    // O parser está posicionado no START_OBJECT; ao retornar, está no END_OBJECT correspondente.
+    private static <T> T applyObject(T base, JsonParser parser, Class<? extends Annotation> annotationClass,
+                                     MappingSession session, LimitedPayloadReader limits) throws IOException {
+        Class<?> clazz = base.getClass();
+        session.enter(clazz);
+        try {
+            T patched = shallowCopy(base);
+            FieldParticipation participation = FieldParticipation.of(clazz);
+            BitSet participating = participation.bitmap(annotationClass);
+            FieldPlan plan = FieldPlan.of(clazz);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                int index = plan.indexOf(parser.currentName());
+                JsonToken token = parser.nextToken();
+
+                if (index < 0 || !participating.get(index)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                Field field = plan.fields()[index];
+
+                if (token == JsonToken.VALUE_NULL) {
+                    if (!field.getType().isPrimitive()) field.set(patched, null);
+                } else if (token == JsonToken.START_OBJECT && ReflectionMapperEngine.isPojo(field.getType())) {
+                    Object current = field.get(patched);
+                    Object nestedBase = current != null ? current : newInstance(field.getType());
+                    field.set(patched, applyObject(nestedBase, parser, annotationClass, session, limits));
+                } else if (token == JsonToken.START_ARRAY && Collection.class.isAssignableFrom(field.getType())
+                        && isPojoCollection(field)) {
+                    field.set(patched, applyPojoList(field, field.get(patched), parser, annotationClass, session, limits));
+                } else if (token == JsonToken.START_ARRAY || token == JsonToken.START_OBJECT) {
+                    // Lido primeiro para Map/List com os limites de coleção, e só então convertido para o tipo do campo.
+                    Object value = limits.readValue(parser);
+                    field.set(patched, OBJECT_MAPPER.convertValue(value, OBJECT_MAPPER.constructType(field.getGenericType())));
+                } else {
+                    field.set(patched, OBJECT_MAPPER.readValue(parser, OBJECT_MAPPER.constructType(field.getGenericType())));
+                }
+            }
+            return patched;
+        } catch (IllegalAccessException e) {
+            throw new MergeEngineException("Erro ao aplicar merge patch em " + clazz.getSimpleName() + ": " + e.getMessage());
+        } finally {
+            session.exit();
+        }
+    }
+
+    private static Collection<Object> applyPojoList(Field field, Object currentValue, JsonParser parser,
+                                              Class<? extends Annotation> annotationClass, MappingSession session,
+                                              LimitedPayloadReader limits)
+            throws IOException, IllegalAccessException {
+        Class<?> itemType = ReflectionMapperEngine.getGenericType(field);
+        Field idField = ReflectionMapperEngine.getMergeIdField(itemType);
+        // O tamanho do patch só é conhecido no fim do array: a coleção nasce no tamanho do valor atual.
+        int currentSize = currentValue != null ? ((Collection<?>) currentValue).size() : 0;
+
+        // Sem identificador, não há como casar elementos: a lista é substituída.
+        if (idField == null) {
+            Collection<Object> replaced = CollectionFactory.newCollection(field.getType(), itemType, currentSize);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                limits.checkCollection(replaced.size(), parser);
+                CollectionFactory.add(replaced, readPatchedElement(itemType, null, parser, annotationClass, session, limits),
+                        field);
+            }
+            session.recordCollection(replaced.size());
+            return replaced;
+        }
+
+        Map<Object, Object> baseById = CollectionFactory.newMap(LinkedHashMap.class, null, currentSize);
+        if (currentValue != null) {
+            for (Object baseItem : (Collection<?>) currentValue) {
+                Object id = idField.get(baseItem);
+                if (id == null) {
+                    throw new IllegalStateEngineException("Item do base collection com id nulo: " + field);
+                }
+                baseById.put(id, baseItem);
+            }
+        }
+
+        /*
+        A ordem do resultado é a do base: os elementos do patch são separados entre os que casam com um id do base
+        (aplicados depois, na posição do elemento casado) e os novos, acrescentados ao fim na ordem do patch.
+        O id pode aparecer em qualquer posição do elemento, por isso cada elemento (pequeno) é lido como árvore,
+        passando pelo leitor limitado para que coleções internas também sejam conferidas.
+         */
+        Map<Object, ObjectNode> matched = new HashMap<>();
+        List<ObjectNode> added = new ArrayList<>();
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            limits.checkCollection(count++, parser);
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            ObjectNode element = OBJECT_MAPPER.valueToTree(limits.readValue(parser));
+            JsonNode idNode = element.get(idField.getName());
+            Object id = idNode == null || idNode.isNull() ? null : OBJECT_MAPPER.treeToValue(idNode, idField.getType());
+            if (id != null && baseById.containsKey(id) && !matched.containsKey(id)) {
+                matched.put(id, element);
+            } else {
+                added.add(element);
+            }
+        }
+
+        Collection<Object> merged = CollectionFactory.newCollection(field.getType(), itemType, currentSize + added.size());
+        for (Map.Entry<Object, Object> base : baseById.entrySet()) {
+            ObjectNode element = matched.get(base.getKey());
+            merged.add(element == null ? base.getValue()
+                    : readPatchedElement(itemType, base.getValue(), element, annotationClass, session, limits));
+        }
+        for (ObjectNode element : added) {
+            merged.add(readPatchedElement(itemType, null, element, annotationClass, session, limits));
+        }
+        session.recordCollection(merged.size());
+        return merged;
+    }
+
+    private static Object readPatchedElement(Class<?> itemType, Object baseItem, ObjectNode element,
+                                             Class<? extends Annotation> annotationClass, MappingSession session,
+                                             LimitedPayloadReader limits) throws IOException {
+        try (JsonParser elementParser = element.traverse(OBJECT_MAPPER)) {
+            elementParser.nextToken();
+            return readPatchedElement(itemType, baseItem, elementParser, annotationClass, session, limits);
+        }
+    }
+
+    private static Object readPatchedElement(Class<?> itemType, Object baseItem, JsonParser parser,
+                                             Class<? extends Annotation> annotationClass, MappingSession session,
+                                             LimitedPayloadReader limits) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) return null;
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new MergeEngineException("Elemento de lista deve ser um objeto JSON: " + itemType.getSimpleName());
+        }
+        return applyObject(baseItem != null ? baseItem : newInstance(itemType), parser, annotationClass, session, limits);
+    }
+
+    private static boolean isPojoCollection(Field field) {
+        Class<?> itemType = ReflectionMapperEngine.getGenericType(field);
+        return itemType != null && ReflectionMapperEngine.isPojo(itemType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T shallowCopy(T source) throws IllegalAccessException {
+        Class<?> clazz = source.getClass();
+        T copy = (T) newInstance(clazz);
+        for (Field field : FieldPlan.of(clazz).fields()) {
+            field.set(copy, field.get(source));
+        }
+        return copy;
+    }
+
+    private static Object newInstance(Class<?> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new MergeEngineException("Erro ao instanciar " + clazz.getSimpleName() + ": " + e.getMessage());
+        }
+    }
+}
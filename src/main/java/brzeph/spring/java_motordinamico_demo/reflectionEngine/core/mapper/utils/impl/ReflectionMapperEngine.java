@@ -7,16 +7,53 @@ import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.Il
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.MergeEngineException;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Id;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.MergeId;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache.ClassMetadataCache;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.DirtyFields;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.FieldParticipation;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.FieldPlan;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring.MappingEvent;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring.MappingEvents;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection.CompiledFieldMask;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class ReflectionMapperEngine {
 
+    /**
+     * Chave do marcador emitido na saída em Map quando um ciclo é detectado (ex.: {@code {"$ref": "OrderItem#3"}}).
+     */
+    public static final String REFERENCE_MARKER = "$ref";
+
+    private static volatile MappingOptions options = MappingOptions.defaults();
+
+    // Campo identificador (@MergeId, ou @Id na falta dele) de cada classe, usado no merge de coleções e nos marcadores $ref.
+    private static final ClassMetadataCache<Optional<Field>> MERGE_ID_FIELDS =
+            new ClassMetadataCache<>("mergeIdFields", 1024, ReflectionMapperEngine::resolveMergeIdField);
+
+    /**
+     * Define as opções de travessia (rastreamento de identidade e profundidade máxima) usadas pelas próximas operações.
+     *
+     * @param newOptions Novas opções; não pode ser {@code null}.
+     */
+    public static void configure(MappingOptions newOptions) {
+        if (newOptions == null) {
+            throw new IllegalArgumentEngineException("Opções de mapeamento não podem ser nulas");
+        }
+        options = newOptions;
+    }
+
+    /**
+     * @return Opções de travessia atualmente em uso.
+     */
+    public static MappingOptions getOptions() {
+        return options;
+    }
+
     /**
      * Executa o mapeamento reflexivo de um objeto baseado em uma anotação, podendo retornar
      * um novo objeto ou um Map.
@@ -28,9 +65,53 @@ public class ReflectionMapperEngine {
      * @return Objeto mapeado (ou Map) com os campos filtrados.
      */
     public static Object map(Object source, Class<?> clazz, Class<? extends Annotation> annotationClass, boolean outputAsMap) {
+        return map(source, clazz, annotationClass, outputAsMap, options);
+    }
+
+    /**
+     * Igual a {@link #map(Object, Class, Class, boolean)}, com opções de travessia explícitas em vez das globais.
+     */
+    public static Object map(Object source, Class<?> clazz, Class<? extends Annotation> annotationClass, boolean outputAsMap,
+                             MappingOptions mappingOptions) {
         if (source == null) return null;
-        if (outputAsMap) return mapToMap(source, clazz, annotationClass);
-        return mapToObject(source, clazz, annotationClass);
+        MappingSession session = new MappingSession(mappingOptions);
+        MappingEvent event = MappingEvents.beginMapping(mappingOptions);
+        try {
+            if (outputAsMap) return mapToMap(source, clazz, annotationClass, null, session);
+            return mapToObject(source, clazz, annotationClass, session);
+        } finally {
+            MappingEvents.mapping(outputAsMap ? "mapToMap" : "mapToObject", clazz, annotationClass, session, event);
+        }
+    }
+
+    /**
+     * Executa o mapeamento reflexivo de um objeto para Map, projetando apenas os campos selecionados pela máscara.
+     * <p>
+     * Campos com bit desligado na máscara, assim como toda a sua subárvore, não são lidos nem incluídos no resultado.
+     *
+     * @param source Objeto de origem a ser mapeado.
+     * @param clazz Classe do objeto de origem.
+     * @param annotationClass Anotação a ser considerada para filtragem (ex.: Read.class).
+     * @param mask Máscara compilada para {@code clazz}; se {@code null}, equivale à projeção completa.
+     * @return Map com os campos filtrados pela anotação e pela máscara.
+     */
+    public static Object map(Object source, Class<?> clazz, Class<? extends Annotation> annotationClass, CompiledFieldMask mask) {
+        return map(source, clazz, annotationClass, mask, options);
+    }
+
+    /**
+     * Igual a {@link #map(Object, Class, Class, CompiledFieldMask)}, com opções de travessia explícitas em vez das globais.
+     */
+    public static Object map(Object source, Class<?> clazz, Class<? extends Annotation> annotationClass, CompiledFieldMask mask,
+                             MappingOptions mappingOptions) {
+        if (source == null) return null;
+        MappingSession session = new MappingSession(mappingOptions);
+        MappingEvent event = MappingEvents.beginMapping(mappingOptions);
+        try {
+            return mapToMap(source, clazz, annotationClass, mask, session);
+        } finally {
+            MappingEvents.mapping("mapToMap", clazz, annotationClass, session, event);
+        }
     }
 
     /**
@@ -48,14 +129,21 @@ public class ReflectionMapperEngine {
      *     </ul>
      *     <li>Para campos do tipo {@code Collection}:</li>
      *     <ul>
-     *         <li>Se o valor no override não for nulo, sobrescreve a lista inteira.</li>
-     *         <li>Não há merge incremental de listas neste método.</li>
+     *         <li>Coleções de POJOs são mescladas por @MergeId (ou @Id); as demais são sobrescritas pelo override.</li>
+     *         <li>O resultado mantém o tipo declarado no campo (ex.: Set, Deque), ver {@link CollectionFactory}.</li>
      *     </ul>
+     *     <li>Para campos {@code Map} com valores POJO, as entradas de mesma chave são mescladas recursivamente e as
+     *     demais são mantidas (base) ou acrescentadas (override). Arrays são sempre sobrescritos.</li>
      *     <li>Para campos de tipos compostos (POJOs customizados):</li>
      *     <ul>
      *         <li>O merge é aplicado recursivamente, aplicando a mesma lógica de annotation em todos os níveis.</li>
      *     </ul>
      * </ul>
+     * Com o rastreamento de identidade ativo (ver {@link MappingOptions}), cada objeto base é mesclado uma única vez:
+     * referências compartilhadas e ciclos apontam para a mesma instância mesclada.
+     * <p>
+     * Se o override veio do mapForContext de uma classe com @DirtyTracking, apenas os campos presentes na requisição
+     * são visitados (as mesmas regras acima); os demais são copiados do base sem percorrer as suas subárvores.
      *
      * @param base            Objeto base a ser usado como referência inicial.
      * @param override        Objeto contendo os valores novos que podem sobrescrever o base.
@@ -66,6 +154,26 @@ public class ReflectionMapperEngine {
      * @throws RuntimeException         Se ocorrer qualquer erro de reflexão durante o merge.
      */
     public static <T> T mergeWithAnnotation(T base, T override, Class<? extends Annotation> annotationClass) {
+        return mergeWithAnnotation(base, override, annotationClass, options);
+    }
+
+    /**
+     * Igual a {@link #mergeWithAnnotation(Object, Object, Class)}, com opções de travessia explícitas em vez das globais.
+     */
+    public static <T> T mergeWithAnnotation(T base, T override, Class<? extends Annotation> annotationClass,
+                                            MappingOptions mappingOptions) {
+        MappingSession session = new MappingSession(mappingOptions);
+        MappingEvent event = MappingEvents.beginMapping(mappingOptions);
+        try {
+            return mergeWithAnnotation(base, override, annotationClass, session);
+        } finally {
+            MappingEvents.mapping("merge", base != null ? base.getClass() : null, annotationClass, session, event);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T mergeWithAnnotation(T base, T override, Class<? extends Annotation> annotationClass,
+                                             MappingSession session) {
         if (base == null || override == null) {
             throw new IllegalArgumentEngineException("Objetos não podem ser nulos");
         }
@@ -75,47 +183,69 @@ public class ReflectionMapperEngine {
                     + base.getClass().getSimpleName() + " ≠ " + override.getClass().getSimpleName());
         }
 
+        MappingSession.Visit visit = session.visitOf(base);
+        if (visit != null && visit.matches(override)) {
+            return (T) visit.result();
+        }
+
+        Class<?> clazz = base.getClass();
+        session.enter(clazz);
         try {
-            Class<?> clazz = base.getClass();
-            @SuppressWarnings("unchecked")
             T merged = (T) clazz.getDeclaredConstructor().newInstance();
-
-            for (Field field : clazz.getDeclaredFields()) {
-                field.setAccessible(true);
-                Object baseValue = field.get(base);
-                Object overrideValue = field.get(override);
-                Object finalValue;
-
-                boolean hasAnnotation = (annotationClass == null) || field.isAnnotationPresent(annotationClass);
-
-                if (hasAnnotation) {
-                    if (overrideValue != null) {
-                        if (Collection.class.isAssignableFrom(field.getType())) {
-                            finalValue = mergeCollections(baseValue, overrideValue, annotationClass, field);
-                        } else if (isPojo(field.getType())) {
-                            if (baseValue == null) {
-                                finalValue = overrideValue;
-                            } else {
-                                finalValue = mergeWithAnnotation(baseValue, overrideValue, annotationClass);
-                            }
-                        } else {
-                            finalValue = overrideValue;
-                        }
+            visit = session.register(base, override, merged);
+
+            FieldParticipation participation = FieldParticipation.of(clazz);
+            Field[] fields = participation.fields();
+            BitSet participating = annotationClass != null ? participation.bitmap(annotationClass) : null;
+            BitSet present = DirtyFields.of(override);
+            if (present != null) {
+                for (Field field : fields) {
+                    field.set(merged, field.get(base));
+                }
+                for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+                    if (participating == null || participating.get(i)) {
+                        mergeField(fields[i], base, override, merged, annotationClass, session);
+                    }
+                }
+            } else {
+                for (int i = 0; i < fields.length; i++) {
+                    if (participating == null || participating.get(i)) {
+                        mergeField(fields[i], base, override, merged, annotationClass, session);
                     } else {
-                        finalValue = baseValue;
+                        fields[i].set(merged, fields[i].get(base));
                     }
-                } else {
-                    finalValue = baseValue;
                 }
-
-                field.set(merged, finalValue);
             }
+            if (visit != null) visit.complete();
             return merged;
 
         } catch (Exception e) {
             throw new MergeEngineException("Erro ao fazer merge com annotation: "
                     + (annotationClass != null ? annotationClass.getSimpleName() : "ALL FIELDS") + e.getMessage());
+        } finally {
+            session.exit();
+        }
+    }
+
+    private static void mergeField(Field field, Object base, Object override, Object merged,
+                                   Class<? extends Annotation> annotationClass, MappingSession session) throws Exception {
+        Object baseValue = field.get(base);
+        Object overrideValue = field.get(override);
+        Object finalValue;
+
+        if (overrideValue == null) {
+            finalValue = baseValue;
+        } else if (Collection.class.isAssignableFrom(field.getType())) {
+            finalValue = mergeCollections(baseValue, overrideValue, annotationClass, field, session);
+        } else if (Map.class.isAssignableFrom(field.getType())) {
+            finalValue = mergeMaps(baseValue, overrideValue, annotationClass, field, session);
+        } else if (isPojo(field.getType()) && baseValue != null) {
+            finalValue = mergeWithAnnotation(baseValue, overrideValue, annotationClass, session);
+        } else {
+            finalValue = overrideValue;
         }
+
+        field.set(merged, finalValue);
     }
 
     /**
@@ -153,31 +283,20 @@ public class ReflectionMapperEngine {
         try {
             R result = resultClass.getDeclaredConstructor().newInstance();
 
-            // Campos dos objetos de origem
-            Set<String> obj1Fields = Arrays.stream(obj1.getClass().getDeclaredFields())
-                    .peek(f -> f.setAccessible(true))
-                    .map(Field::getName)
-                    .collect(Collectors.toSet());
-
-            Set<String> obj2Fields = Arrays.stream(obj2.getClass().getDeclaredFields())
-                    .peek(f -> f.setAccessible(true))
-                    .map(Field::getName)
-                    .collect(Collectors.toSet());
+            // Campos dos objetos de origem (incluindo os herdados)
+            FieldPlan obj1Plan = FieldPlan.of(obj1.getClass());
+            FieldPlan obj2Plan = FieldPlan.of(obj2.getClass());
+            FieldPlan resultPlan = FieldPlan.of(resultClass);
 
             // Preenche os campos do objeto resultado
-            for (Field targetField : resultClass.getDeclaredFields()) {
-                targetField.setAccessible(true);
+            for (Field targetField : resultPlan.fields()) {
                 String name = targetField.getName();
-                Field sourceField = null;
-                Object sourceValue = null;
+                Object sourceValue;
 
-                if (obj1Fields.contains(name)) {
-                    sourceField = obj1.getClass().getDeclaredField(name);
-                    sourceField.setAccessible(true);
+                Field sourceField = obj1Plan.field(name);
+                if (sourceField != null) {
                     sourceValue = sourceField.get(obj1);
-                } else if (obj2Fields.contains(name)) {
-                    sourceField = obj2.getClass().getDeclaredField(name);
-                    sourceField.setAccessible(true);
+                } else if ((sourceField = obj2Plan.field(name)) != null) {
                     sourceValue = sourceField.get(obj2);
                 } else {
                     throw new MergeEngineException("Campo '" + name + "' do resultado não existe em nenhum dos objetos de origem");
@@ -187,17 +306,13 @@ public class ReflectionMapperEngine {
             }
 
             // Validação de cobertura completa
-            Set<String> resultFields = Arrays.stream(resultClass.getDeclaredFields())
-                    .map(Field::getName)
-                    .collect(Collectors.toSet());
-
-            for (String field : obj1Fields) {
-                if (!resultFields.contains(field)) {
+            for (String field : obj1Plan.names()) {
+                if (resultPlan.indexOf(field) < 0) {
                     throw new MergeEngineException("Campo '" + field + "' de obj1 não está presente na classe de resultado");
                 }
             }
-            for (String field : obj2Fields) {
-                if (!resultFields.contains(field)) {
+            for (String field : obj2Plan.names()) {
+                if (resultPlan.indexOf(field) < 0) {
                     throw new MergeEngineException("Campo '" + field + "' de obj2 não está presente na classe de resultado");
                 }
             }
@@ -209,7 +324,8 @@ public class ReflectionMapperEngine {
     }
 
     private static Object mergeCollections(Object baseValue, Object overrideValue,
-                                           Class<? extends Annotation> annotationClass, Field field)
+                                           Class<? extends Annotation> annotationClass, Field field,
+                                           MappingSession session)
             throws Exception {
         if (baseValue == null || overrideValue == null) {
             return (overrideValue != null) ? overrideValue : baseValue;
@@ -217,6 +333,7 @@ public class ReflectionMapperEngine {
 
         Collection<?> baseCollection = (Collection<?>) baseValue;
         Collection<?> overrideCollection = (Collection<?>) overrideValue;
+        session.recordCollection(Math.max(baseCollection.size(), overrideCollection.size()));
 
         Class<?> itemType = getCollectionItemType(field);
 
@@ -228,9 +345,8 @@ public class ReflectionMapperEngine {
         if (idField == null) {
             throw new IllegalStateEngineException("Nenhum campo com @MergeId ou @Id encontrado em " + itemType.getSimpleName());
         }
-        idField.setAccessible(true);
 
-        Map<Object, Object> baseMap = new HashMap<>();
+        Map<Object, Object> baseMap = CollectionFactory.newMap(LinkedHashMap.class, null, baseCollection.size());
         for (Object baseItem : baseCollection) {
             Object id = idField.get(baseItem);
             if (id == null) {
@@ -239,7 +355,9 @@ public class ReflectionMapperEngine {
             baseMap.put(id, baseItem);
         }
 
-        List<Object> mergedList = new ArrayList<>();
+        // Mantém o tipo declarado (Set, Deque...), dimensionado para o pior caso: nenhum id em comum.
+        Collection<Object> mergedList = CollectionFactory.newCollection(field.getType(), itemType,
+                baseCollection.size() + overrideCollection.size());
 
         for (Object overrideItem : overrideCollection) {
             Object id = idField.get(overrideItem);
@@ -248,7 +366,7 @@ public class ReflectionMapperEngine {
             }
             Object baseItem = baseMap.get(id);
             if (baseItem != null) {
-                Object mergedItem = mergeWithAnnotation(baseItem, overrideItem, annotationClass);
+                Object mergedItem = mergeWithAnnotation(baseItem, overrideItem, annotationClass, session);
                 mergedList.add(mergedItem);
                 baseMap.remove(id);
             } else {
@@ -261,18 +379,44 @@ public class ReflectionMapperEngine {
         return mergedList;
     }
 
-    private static Field getMergeIdField(Class<?> clazz) {
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(MergeId.class)) {
-                return field;
-            }
+    private static Object mergeMaps(Object baseValue, Object overrideValue, Class<? extends Annotation> annotationClass,
+                                    Field field, MappingSession session) {
+        Class<?> valueType = CollectionFactory.typeArgument(field, 1);
+        if (baseValue == null || valueType == null || !isPojo(valueType)) {
+            return overrideValue;
         }
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Id.class)) {
-                return field;
-            }
+
+        Map<?, ?> baseMap = (Map<?, ?>) baseValue;
+        Map<?, ?> overrideMap = (Map<?, ?>) overrideValue;
+        session.recordCollection(Math.max(baseMap.size(), overrideMap.size()));
+
+        Map<Object, Object> merged = CollectionFactory.newMap(field.getType(), CollectionFactory.typeArgument(field, 0),
+                baseMap.size() + overrideMap.size());
+        merged.putAll(baseMap);
+        for (Map.Entry<?, ?> entry : overrideMap.entrySet()) {
+            Object overrideItem = entry.getValue();
+            if (overrideItem == null) continue;
+            Object baseItem = baseMap.get(entry.getKey());
+            merged.put(entry.getKey(), baseItem != null
+                    ? mergeWithAnnotation(baseItem, overrideItem, annotationClass, session)
+                    : overrideItem);
         }
-        return null;
+        return merged;
+    }
+
+    static Field getMergeIdField(Class<?> clazz) {
+        return MERGE_ID_FIELDS.get(clazz).orElse(null);
+    }
+
+    private static Optional<Field> resolveMergeIdField(Class<?> clazz) {
+        Field[] fields = FieldPlan.of(clazz).fields();
+        for (Field field : fields) {
+            if (field.isAnnotationPresent(MergeId.class)) return Optional.of(field);
+        }
+        for (Field field : fields) {
+            if (field.isAnnotationPresent(Id.class)) return Optional.of(field);
+        }
+        return Optional.empty();
     }
 
     // Recupera o tipo de item da Collection
@@ -281,94 +425,200 @@ public class ReflectionMapperEngine {
         return (Class<?>) listType.getActualTypeArguments()[0];
     }
 
-    private static Object mapToObject(Object source, Class<?> clazz, Class<? extends Annotation> annotationClass) {
+    private static Object mapToObject(Object source, Class<?> clazz, Class<? extends Annotation> annotationClass,
+                                      MappingSession session) {
+        // Instância já mapeada (ou em mapeamento, no caso de ciclo): reaproveita o mesmo objeto de destino.
+        MappingSession.Visit visit = session.visitOf(source);
+        if (visit != null) return visit.result();
+
+        session.enter(clazz);
         try {
             Object target = clazz.getDeclaredConstructor().newInstance();
+            visit = session.register(source, null, target);
+
+            FieldParticipation participation = FieldParticipation.of(clazz);
+            Field[] fields = participation.fields();
+            BitSet participating = participation.bitmap(annotationClass);
+            for (int i = participating.nextSetBit(0); i >= 0; i = participating.nextSetBit(i + 1)) {
+                Field field = fields[i];
+                Object value = field.get(source);
+
+                if (value != null) {
+                    if (Collection.class.isAssignableFrom(field.getType())) {
+                        Collection<?> originalCollection = (Collection<?>) value;
+                        session.recordCollection(originalCollection.size());
+                        Class<?> genericType = getGenericType(field);
 
-            for (Field field : clazz.getDeclaredFields()) {
-                if (field.isAnnotationPresent(annotationClass)) {
-                    field.setAccessible(true);
-                    Object value = field.get(source);
-
-                    if (value != null) {
-                        if (Collection.class.isAssignableFrom(field.getType())) {
-                            Collection<?> originalCollection = (Collection<?>) value;
-                            Collection<Object> targetCollection = createEmptyCollection(field.getType());
-                            Class<?> genericType = getGenericType(field);
-
-                            if (genericType != null && isPojo(genericType)) {
-                                for (Object item : originalCollection) {
-                                    Object mappedItem = mapToObject(item, genericType, annotationClass);
-                                    targetCollection.add(mappedItem);
-                                }
-                                field.set(target, targetCollection);
-                            } else {
-                                field.set(target, value);
+                        if (genericType != null && isPojo(genericType)) {
+                            Collection<Object> targetCollection = CollectionFactory.newCollection(field.getType(),
+                                    genericType, originalCollection.size());
+                            for (Object item : originalCollection) {
+                                Object mappedItem = item == null ? null : mapToObject(item, genericType, annotationClass, session);
+                                CollectionFactory.add(targetCollection, mappedItem, field);
                             }
-                        } else if (isPojo(field.getType())) {
-                            Object nested = mapToObject(value, field.getType(), annotationClass);
-                            field.set(target, nested);
+                            field.set(target, targetCollection);
                         } else {
                             field.set(target, value);
                         }
+                    } else if (field.getType().isArray() && isPojo(field.getType().getComponentType())) {
+                        Object[] originalArray = (Object[]) value;
+                        session.recordCollection(originalArray.length);
+                        Class<?> componentType = field.getType().getComponentType();
+                        Object[] targetArray = (Object[]) Array.newInstance(componentType, originalArray.length);
+                        for (int j = 0; j < originalArray.length; j++) {
+                            Object item = originalArray[j];
+                            targetArray[j] = item == null ? null : mapToObject(item, componentType, annotationClass, session);
+                        }
+                        field.set(target, targetArray);
+                    } else if (Map.class.isAssignableFrom(field.getType()) && hasPojoValues(field)) {
+                        Map<?, ?> originalMap = (Map<?, ?>) value;
+                        session.recordCollection(originalMap.size());
+                        Class<?> valueType = CollectionFactory.typeArgument(field, 1);
+                        Map<Object, Object> targetMap = CollectionFactory.newMap(field.getType(),
+                                CollectionFactory.typeArgument(field, 0), originalMap.size());
+                        for (Map.Entry<?, ?> entry : originalMap.entrySet()) {
+                            Object item = entry.getValue();
+                            targetMap.put(entry.getKey(), item == null ? null : mapToObject(item, valueType, annotationClass, session));
+                        }
+                        field.set(target, targetMap);
+                    } else if (isPojo(field.getType())) {
+                        Object nested = mapToObject(value, field.getType(), annotationClass, session);
+                        field.set(target, nested);
+                    } else {
+                        field.set(target, value);
                     }
                 }
             }
+            if (visit != null) visit.complete();
             return target;
+        } catch (ContextMappingEngineError e) {
+            throw e;
         } catch (Exception e) {
             throw new ContextMappingEngineError("Erro ao mapear objeto: " + clazz.getSimpleName() + e.getMessage());
+        } finally {
+            session.exit();
         }
     }
 
-    private static Map<String, Object> mapToMap(Object source, Class<?> clazz, Class<? extends Annotation> annotationClass) {
+    /*
+    Mapeia para Map. Máscara nula significa projeção completa; com máscara, percorre apenas os bits ligados da
+    máscara compilada, portanto campos e subárvores fora da máscara não são sequer lidos.
+    Uma instância já projetada com a mesma máscara é reaproveitada; se ainda estiver em projeção (ciclo),
+    um marcador $ref é emitido no lugar, evitando recursão infinita tanto aqui quanto na serialização.
+     */
+    private static Map<String, Object> mapToMap(Object source, Class<?> clazz, Class<? extends Annotation> annotationClass,
+                                                CompiledFieldMask mask, MappingSession session) {
+        MappingSession.Visit visit = session.visitOf(source);
+        if (visit != null && visit.matches(mask)) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> reused = visit.isComplete()
+                    ? (Map<String, Object>) visit.result()
+                    : referenceMarker(source, clazz);
+            return reused;
+        }
+
         Map<String, Object> result = new LinkedHashMap<>();
+        visit = session.register(source, mask, result);
+        session.enter(clazz);
         try {
-            for (Field field : clazz.getDeclaredFields()) {
-                if (field.isAnnotationPresent(annotationClass)) {
-                    field.setAccessible(true);
-                    Object value = field.get(source);
-
-                    if (Collection.class.isAssignableFrom(field.getType()) && value != null) {
-                        Collection<?> originalCollection = (Collection<?>) value;
-                        List<Object> mappedCollection = new ArrayList<>();
-                        Class<?> genericType = getGenericType(field);
-
-                        if (genericType != null && isPojo(genericType)) {
-                            for (Object item : originalCollection) {
-                                mappedCollection.add(mapToMap(item, genericType, annotationClass));
-                            }
-                        } else {
-                            mappedCollection.addAll(originalCollection);
-                        }
-                        result.put(field.getName(), mappedCollection);
-                    } else if (isPojo(field.getType()) && value != null) {
-                        result.put(field.getName(), mapToMap(value, field.getType(), annotationClass));
-                    } else {
-                        result.put(field.getName(), value); // Inclui mesmo se null
-                    }
+            if (mask == null) {
+                FieldParticipation participation = FieldParticipation.of(clazz);
+                Field[] fields = participation.fields();
+                BitSet participating = participation.bitmap(annotationClass);
+                for (int i = participating.nextSetBit(0); i >= 0; i = participating.nextSetBit(i + 1)) {
+                    putMappedValue(result, fields[i], fields[i].get(source), annotationClass, null, session);
+                }
+            } else {
+                for (int i = mask.nextSelected(0); i >= 0; i = mask.nextSelected(i + 1)) {
+                    Field field = mask.field(i);
+                    putMappedValue(result, field, field.get(source), annotationClass, mask.nested(i), session);
                 }
             }
+        } catch (ContextMappingEngineError e) {
+            throw e;
         } catch (Exception e) {
             throw new ContextMappingEngineError("Erro ao mapear objeto: " + clazz.getSimpleName() + e.getMessage());
+        } finally {
+            session.exit();
         }
+        if (visit != null) visit.complete();
         return result;
     }
 
-    private static boolean isPojo(Class<?> type) {
+    private static void putMappedValue(Map<String, Object> result, Field field, Object value,
+                                       Class<? extends Annotation> annotationClass, CompiledFieldMask nestedMask,
+                                       MappingSession session) {
+        if (Collection.class.isAssignableFrom(field.getType()) && value != null) {
+            Collection<?> originalCollection = (Collection<?>) value;
+            session.recordCollection(originalCollection.size());
+            Class<?> genericType = getGenericType(field);
+
+            if (genericType != null && isPojo(genericType)) {
+                List<Object> mappedCollection = new ArrayList<>(originalCollection.size());
+                for (Object item : originalCollection) {
+                    mappedCollection.add(item == null ? null : mapToMap(item, genericType, annotationClass, nestedMask, session));
+                }
+                result.put(field.getName(), mappedCollection);
+            } else {
+                // Cópia única (toArray) já no tamanho final.
+                result.put(field.getName(), new ArrayList<>(originalCollection));
+            }
+        } else if (field.getType().isArray() && isPojo(field.getType().getComponentType()) && value != null) {
+            Object[] originalArray = (Object[]) value;
+            session.recordCollection(originalArray.length);
+            Class<?> componentType = field.getType().getComponentType();
+            List<Object> mappedArray = new ArrayList<>(originalArray.length);
+            for (Object item : originalArray) {
+                mappedArray.add(item == null ? null : mapToMap(item, componentType, annotationClass, nestedMask, session));
+            }
+            result.put(field.getName(), mappedArray);
+        } else if (Map.class.isAssignableFrom(field.getType()) && value != null && hasPojoValues(field)) {
+            Map<?, ?> originalMap = (Map<?, ?>) value;
+            session.recordCollection(originalMap.size());
+            Class<?> valueType = CollectionFactory.typeArgument(field, 1);
+            Map<Object, Object> mappedMap = CollectionFactory.newMap(LinkedHashMap.class, null, originalMap.size());
+            for (Map.Entry<?, ?> entry : originalMap.entrySet()) {
+                Object item = entry.getValue();
+                mappedMap.put(entry.getKey(), item == null ? null : mapToMap(item, valueType, annotationClass, nestedMask, session));
+            }
+            result.put(field.getName(), mappedMap);
+        } else if (isPojo(field.getType()) && value != null) {
+            result.put(field.getName(), mapToMap(value, field.getType(), annotationClass, nestedMask, session));
+        } else {
+            result.put(field.getName(), value); // Inclui mesmo se null
+        }
+    }
+
+    // Marcador de ciclo: identifica a instância pelo @MergeId/@Id, quando existir, ou apenas pela classe.
+    private static Map<String, Object> referenceMarker(Object source, Class<?> clazz) {
+        Object id = null;
+        Field idField = getMergeIdField(clazz);
+        if (idField != null) {
+            try {
+                id = idField.get(source);
+            } catch (IllegalAccessException e) {
+                throw new ContextMappingEngineError("Erro ao ler identificador de " + clazz.getSimpleName() + ": " + e.getMessage());
+            }
+        }
+        Map<String, Object> marker = new LinkedHashMap<>();
+        marker.put(REFERENCE_MARKER, id != null ? clazz.getSimpleName() + "#" + id : clazz.getSimpleName());
+        return marker;
+    }
+
+    static boolean isPojo(Class<?> type) {
         return !type.isPrimitive()
                 && !type.isEnum()
+                && !type.isArray()
                 && !type.getPackageName().startsWith("java.")
                 && !Collection.class.isAssignableFrom(type);
     }
 
-    private static Collection<Object> createEmptyCollection(Class<?> collectionType) {
-        if (List.class.isAssignableFrom(collectionType)) {
-            return new ArrayList<>();
-        }
-        throw new IllegalArgumentEngineException("Collection não suportada: " + collectionType);
+    private static boolean hasPojoValues(Field field) {
+        Class<?> valueType = CollectionFactory.typeArgument(field, 1);
+        return valueType != null && isPojo(valueType);
     }
 
-    private static Class<?> getGenericType(Field field) {
+    static Class<?> getGenericType(Field field) {
         Type genericType = field.getGenericType();
         if (genericType instanceof ParameterizedType parameterizedType) {
             Type actualType = parameterizedType.getActualTypeArguments()[0];
@@ -0,0 +1,248 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.limits;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.HttpMessageConversionEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.PayloadLimitEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.PayloadLimitEngineException.Limit;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lê um corpo JSON/Smile/CBOR para a estrutura Map/List usada pelo mapForContext, aplicando os {@link PayloadLimits}
+ * token a token.
+ * <p>
+ * Nenhum limite depende de o documento ser lido por inteiro: o Content-Length declarado é conferido antes da
+ * leitura, os bytes são contados enquanto chegam e coleções, profundidade e strings são verificadas no momento
+ * em que o token correspondente é lido. Strings, nomes de campo e profundidade também são impostos ao próprio
+ * parser (ver {@link #constrained}), que para de bufferizar um token assim que ele passa do limite. Uma requisição
+ * abusiva é rejeitada depois de consumir no máximo o limite violado, sem materializar o restante do corpo.
+ * <p>
+ * Os valores produzidos são os mesmos da leitura padrão do Jackson para {@code Map<String, Object>}
+ * (LinkedHashMap, ArrayList, String, Integer/Long/BigInteger, Double, Boolean e null).
+ */
+public final class LimitedPayloadReader {
+
+    private static final LimitedPayloadReader DEFAULTS = new LimitedPayloadReader(PayloadLimits.defaults());
+
+    private final PayloadLimits limits;
+    private final StreamReadConstraints constraints;
+    private final JsonFactory jsonFactory;
+
+    public LimitedPayloadReader(PayloadLimits limits) {
+        this.limits = limits;
+        this.constraints = StreamReadConstraints.builder()
+                .maxStringLength(limits.maxStringLength())
+                .maxNameLength(limits.maxStringLength())
+                .maxNestingDepth(limits.maxDepth())
+                .build();
+        this.jsonFactory = JsonFactory.builder().streamReadConstraints(constraints).build();
+    }
+
+    /**
+     * @return Leitor compartilhado com os {@link PayloadLimits#defaults()}.
+     */
+    public static LimitedPayloadReader defaults() {
+        return DEFAULTS;
+    }
+
+    public PayloadLimits limits() {
+        return limits;
+    }
+
+    /**
+     * @return Cópia do mapper cujo parser aplica os limites de string, nome de campo e profundidade durante a
+     * tokenização; o mapper recebido (normalmente o compartilhado da aplicação) não é alterado.
+     */
+    public ObjectMapper constrained(ObjectMapper mapper) {
+        ObjectMapper copy = mapper.copy();
+        copy.getFactory().setStreamReadConstraints(constraints);
+        return copy;
+    }
+
+    /**
+     * @return Parser JSON sobre um documento já lido (ex.: um merge patch), com as mesmas restrições de
+     * {@link #constrained}.
+     */
+    public JsonParser createParser(byte[] document) throws IOException {
+        return jsonFactory.createParser(document);
+    }
+
+    /**
+     * @return Corpo limitado a {@code maxBodyBytes}; rejeita de imediato um Content-Length declarado acima do limite.
+     */
+    public InputStream limitedBody(HttpHeaders headers, InputStream body) {
+        long declared = headers.getContentLength();
+        if (declared > limits.maxBodyBytes()) {
+            throw bodyTooLarge();
+        }
+        return new LimitedInputStream(body, limits.maxBodyBytes());
+    }
+
+    /**
+     * Lê o objeto raiz do documento.
+     *
+     * @param parser Parser ainda não iniciado, criado sobre {@link #limitedBody} por um mapper {@link #constrained}.
+     * @throws PayloadLimitEngineException Se algum limite for excedido.
+     */
+    public Map<String, Object> readObject(JsonParser parser) throws IOException {
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new HttpMessageConversionEngineException("Corpo da requisição deve ser um objeto");
+            }
+            return readObject(parser, 1);
+        } catch (StreamConstraintsException e) {
+            throw limitExceeded(e);
+        }
+    }
+
+    /**
+     * Lê o valor em que o parser está posicionado (escalar, objeto ou array) para a estrutura Map/List, aplicando
+     * os limites de coleção, profundidade e string. A profundidade conta a partir da raiz do documento.
+     */
+    public Object readValue(JsonParser parser) throws IOException {
+        return readValue(parser, parser.currentToken(), parser.getParsingContext().getNestingDepth() - 1);
+    }
+
+    /**
+     * Rejeita o elemento de índice {@code size} de uma coleção lida fora deste leitor (ex.: em streaming pelo
+     * MergePatchEngine) se ele passar de {@code maxCollectionLength}.
+     */
+    public void checkCollection(int size, JsonParser parser) {
+        if (size >= limits.maxCollectionLength()) {
+            throw new PayloadLimitEngineException(Limit.COLLECTION_LENGTH, "Coleção com mais de "
+                    + limits.maxCollectionLength() + " elementos em " + location(parser));
+        }
+    }
+
+    /**
+     * @return Violação de uma restrição do parser (ver {@link #constrained}) traduzida para o limite correspondente.
+     */
+    public static PayloadLimitEngineException limitExceeded(StreamConstraintsException e) {
+        return new PayloadLimitEngineException(constraintLimit(e), e.getOriginalMessage());
+    }
+
+    private Map<String, Object> readObject(JsonParser parser, int depth) throws IOException {
+        checkDepth(depth);
+        Map<String, Object> object = new LinkedHashMap<>();
+        String name;
+        while ((name = parser.nextFieldName()) != null) {
+            checkString(name.length(), parser);
+            if (object.size() == limits.maxCollectionLength()) {
+                throw new PayloadLimitEngineException(Limit.COLLECTION_LENGTH, "Objeto com mais de "
+                        + limits.maxCollectionLength() + " campos em " + location(parser));
+            }
+            object.put(name, readValue(parser, parser.nextToken(), depth));
+        }
+        return object;
+    }
+
+    private List<Object> readArray(JsonParser parser, int depth) throws IOException {
+        checkDepth(depth);
+        List<Object> array = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            checkCollection(array.size(), parser);
+            array.add(readValue(parser, token, depth));
+        }
+        return array;
+    }
+
+    private Object readValue(JsonParser parser, JsonToken token, int depth) throws IOException {
+        if (token == null) {
+            throw new HttpMessageConversionEngineException("Corpo da requisição incompleto");
+        }
+        return switch (token) {
+            case START_OBJECT -> readObject(parser, depth + 1);
+            case START_ARRAY -> readArray(parser, depth + 1);
+            case VALUE_STRING -> {
+                checkString(parser.getTextLength(), parser);
+                yield parser.getText();
+            }
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            case VALUE_EMBEDDED_OBJECT -> parser.getEmbeddedObject();
+            default -> throw new HttpMessageConversionEngineException("Token inesperado no corpo da requisição: " + token);
+        };
+    }
+
+    private void checkDepth(int depth) {
+        if (depth > limits.maxDepth()) {
+            throw new PayloadLimitEngineException(Limit.NESTING_DEPTH,
+                    "Profundidade de aninhamento acima de " + limits.maxDepth());
+        }
+    }
+
+    private void checkString(int length, JsonParser parser) {
+        if (length > limits.maxStringLength()) {
+            throw new PayloadLimitEngineException(Limit.STRING_LENGTH, "String com mais de "
+                    + limits.maxStringLength() + " caracteres em " + location(parser));
+        }
+    }
+
+    // StreamConstraintsException não informa qual restrição falhou; a mensagem cita o getter correspondente.
+    private static Limit constraintLimit(StreamConstraintsException e) {
+        return e.getOriginalMessage().contains("getMaxNestingDepth") ? Limit.NESTING_DEPTH : Limit.STRING_LENGTH;
+    }
+
+    private static String location(JsonParser parser) {
+        return parser.getParsingContext().pathAsPointer().toString();
+    }
+
+    private PayloadLimitEngineException bodyTooLarge() {
+        return new PayloadLimitEngineException(Limit.BODY_BYTES, "Corpo da requisição acima de "
+                + limits.maxBodyBytes() + " bytes");
+    }
+
+    // Conta os bytes lidos e interrompe a leitura assim que o limite é ultrapassado.
+    private final class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long count;
+
+        private LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) advance(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            // Nunca pede mais do que um byte além do limite: o excesso é detectado sem ler o resto do corpo.
+            long remaining = maxBytes - count + 1;
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) advance(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, maxBytes - count + 1));
+            advance(skipped);
+            return skipped;
+        }
+
+        private void advance(long n) {
+            count += n;
+            if (count > maxBytes) throw bodyTooLarge();
+        }
+    }
+}
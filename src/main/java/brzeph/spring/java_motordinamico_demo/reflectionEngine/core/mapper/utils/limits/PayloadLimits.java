@@ -0,0 +1,34 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.limits;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+
+/**
+ * Limites aplicados aos corpos de requisição enquanto são lidos pelo CustomContextualMessageConverter.
+ *
+ * @param maxBodyBytes        Tamanho máximo do corpo em bytes (conferido no Content-Length e durante a leitura).
+ * @param maxCollectionLength Máximo de elementos de um array ou de chaves de um objeto.
+ * @param maxDepth            Profundidade máxima de aninhamento de objetos e arrays.
+ * @param maxStringLength     Tamanho máximo (em caracteres) de uma string ou nome de campo.
+ */
+public record PayloadLimits(long maxBodyBytes, int maxCollectionLength, int maxDepth, int maxStringLength) {
+
+    public static final long DEFAULT_MAX_BODY_BYTES = 10L * 1024 * 1024;
+    public static final int DEFAULT_MAX_COLLECTION_LENGTH = 10_000;
+    public static final int DEFAULT_MAX_DEPTH = 32;
+    public static final int DEFAULT_MAX_STRING_LENGTH = 64 * 1024;
+
+    public PayloadLimits {
+        if (maxBodyBytes <= 0 || maxCollectionLength <= 0 || maxDepth <= 0 || maxStringLength <= 0) {
+            throw new IllegalArgumentEngineException("Limites de payload devem ser positivos: bytes=" + maxBodyBytes
+                    + ", collection=" + maxCollectionLength + ", depth=" + maxDepth + ", string=" + maxStringLength);
+        }
+    }
+
+    /**
+     * @return Limites padrão: 10 MB, 10.000 elementos por coleção, profundidade 32 e strings de 64 K caracteres.
+     */
+    public static PayloadLimits defaults() {
+        return new PayloadLimits(DEFAULT_MAX_BODY_BYTES, DEFAULT_MAX_COLLECTION_LENGTH, DEFAULT_MAX_DEPTH,
+                DEFAULT_MAX_STRING_LENGTH);
+    }
+}
@@ -0,0 +1,28 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.limits;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Expõe os {@link PayloadLimits} da aplicação, configurados por propriedades:
+ * <ul>
+ *     <li>{@code reflection-engine.limits.max-body-size} (padrão 10MB)</li>
+ *     <li>{@code reflection-engine.limits.max-collection-length} (padrão {@value PayloadLimits#DEFAULT_MAX_COLLECTION_LENGTH})</li>
+ *     <li>{@code reflection-engine.limits.max-depth} (padrão {@value PayloadLimits#DEFAULT_MAX_DEPTH})</li>
+ *     <li>{@code reflection-engine.limits.max-string-length} (padrão {@value PayloadLimits#DEFAULT_MAX_STRING_LENGTH})</li>
+ * </ul>
+ */
+@Configuration
+public class PayloadLimitsConfiguration {
+
+    @Bean
+    public PayloadLimits payloadLimits(
+            @Value("${reflection-engine.limits.max-body-size:10MB}") DataSize maxBodySize,
+            @Value("${reflection-engine.limits.max-collection-length:" + PayloadLimits.DEFAULT_MAX_COLLECTION_LENGTH + "}") int maxCollectionLength,
+            @Value("${reflection-engine.limits.max-depth:" + PayloadLimits.DEFAULT_MAX_DEPTH + "}") int maxDepth,
+            @Value("${reflection-engine.limits.max-string-length:" + PayloadLimits.DEFAULT_MAX_STRING_LENGTH + "}") int maxStringLength) {
+        return new PayloadLimits(maxBodySize.toBytes(), maxCollectionLength, maxDepth, maxStringLength);
+    }
+}
@@ -0,0 +1,42 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring;
+
+import jdk.jfr.*;
+
+/**
+ * Operação do motor (mapeamento, merge, patch ou validação) que ultrapassou um dos limites de {@link MappingEvents}.
+ */
+@Name("brzeph.reflectionEngine.Mapping")
+@Label("Mapping Operation")
+@Category({"Reflection Engine"})
+@Description("Operação de mapeamento lenta ou com grafo grande")
+@StackTrace(false)
+public class MappingEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Reason")
+    @Description("slow, oversized ou slow+oversized")
+    String reason;
+
+    @Label("Target Class")
+    Class<?> targetClass;
+
+    @Label("Context")
+    String context;
+
+    @Label("Object Count")
+    int objectCount;
+
+    @Label("Nesting Depth")
+    int nestingDepth;
+
+    @Label("Largest Collection")
+    int largestCollection;
+
+    @Label("Collection Elements")
+    long collectionElements;
+
+    // Usado apenas para o limite de lentidão; a duração gravada é a do próprio evento (begin/end).
+    transient long startNanos;
+}
@@ -0,0 +1,135 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.MappingOptions;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.MappingSession;
+import jdk.jfr.EventType;
+
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+
+public class MappingEvents {
+    /*
+    Emissão dos eventos JFR do motor. Cada operação pública abre o evento com beginMapping()/beginPayload() (que
+    chama begin()) e o entrega a mapping()/payload() ao terminar, que chamam end() e só então decidem: o evento só é
+    gravado se a operação foi lenta (duração >= slowThreshold) ou grande (objetos, coleção ou corpo acima do limite).
+    Assim o início e a duração registrados pelo JFR são os da operação, e não os do instante do commit().
+
+    Com a gravação desligada, o custo é uma leitura de EventType.isEnabled() por operação; nenhum evento é
+    instanciado e os métodos recebem null.
+     */
+
+    private static final EventType MAPPING_TYPE = EventType.getEventType(MappingEvent.class);
+    private static final EventType PAYLOAD_TYPE = EventType.getEventType(PayloadEvent.class);
+
+    private static volatile Thresholds thresholds = Thresholds.defaults();
+
+    /**
+     * Limites a partir dos quais uma operação é registrada.
+     *
+     * @param slowThreshold       Duração mínima para uma operação ser considerada lenta.
+     * @param objectCount         Quantidade de objetos visitados a partir da qual a operação é considerada grande.
+     * @param collectionSize      Tamanho de coleção a partir do qual a operação é considerada grande.
+     * @param payloadBytes        Tamanho de corpo a partir do qual a conversão é considerada grande.
+     */
+    public record Thresholds(Duration slowThreshold, int objectCount, int collectionSize, long payloadBytes) {
+        public Thresholds {
+            if (slowThreshold == null || slowThreshold.isNegative() || objectCount <= 0 || collectionSize <= 0 || payloadBytes <= 0) {
+                throw new IllegalArgumentEngineException("Limites de eventos inválidos: slow=" + slowThreshold
+                        + ", objects=" + objectCount + ", collection=" + collectionSize + ", bytes=" + payloadBytes);
+            }
+        }
+
+        public static Thresholds defaults() {
+            return new Thresholds(Duration.ofMillis(20), 10_000, 1_000, 1024 * 1024);
+        }
+    }
+
+    public static void configure(Thresholds newThresholds) {
+        if (newThresholds == null) {
+            throw new IllegalArgumentEngineException("Limites de eventos não podem ser nulos");
+        }
+        thresholds = newThresholds;
+    }
+
+    public static Thresholds getThresholds() {
+        return thresholds;
+    }
+
+    /**
+     * @param options Opções da operação; com {@link MappingOptions#events()} desligado, nenhum evento é emitido.
+     * @return Evento já iniciado, a ser repassado para {@link #mapping}; {@code null} se o evento estiver desabilitado.
+     */
+    public static MappingEvent beginMapping(MappingOptions options) {
+        if (!options.events() || !MAPPING_TYPE.isEnabled()) return null;
+        MappingEvent event = new MappingEvent();
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @return Evento já iniciado, a ser repassado para {@link #payload}; {@code null} se o evento estiver desabilitado.
+     */
+    public static PayloadEvent beginPayload() {
+        if (!PAYLOAD_TYPE.isEnabled()) return null;
+        PayloadEvent event = new PayloadEvent();
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Encerra o evento da operação do motor e o registra, se estiver acima de algum limite.
+     */
+    public static void mapping(String operation, Class<?> targetClass, Class<? extends Annotation> context,
+                               MappingSession session, MappingEvent event) {
+        if (event == null) return;
+        event.end();
+        Thresholds current = thresholds;
+        boolean slow = System.nanoTime() - event.startNanos >= current.slowThreshold().toNanos();
+        boolean oversized = session.objectCount() >= current.objectCount()
+                || session.largestCollection() >= current.collectionSize();
+        if (!slow && !oversized) return;
+
+        event.operation = operation;
+        event.reason = reason(slow, oversized);
+        event.targetClass = targetClass;
+        event.context = contextName(context);
+        event.objectCount = session.objectCount();
+        event.nestingDepth = session.deepestLevel();
+        event.largestCollection = session.largestCollection();
+        event.collectionElements = session.collectionElements();
+        event.commit();
+    }
+
+    /**
+     * Encerra o evento da conversão de um corpo e o registra, se estiver acima de algum limite.
+     */
+    public static void payload(String direction, String mediaType, Class<?> targetClass,
+                               Class<? extends Annotation> context, long bytes, PayloadEvent event) {
+        if (event == null) return;
+        event.end();
+        Thresholds current = thresholds;
+        boolean slow = System.nanoTime() - event.startNanos >= current.slowThreshold().toNanos();
+        boolean oversized = bytes >= current.payloadBytes();
+        if (!slow && !oversized) return;
+
+        event.direction = direction;
+        event.reason = reason(slow, oversized);
+        event.mediaType = mediaType;
+        event.targetClass = targetClass;
+        event.context = contextName(context);
+        event.bytes = bytes;
+        event.commit();
+    }
+
+    private static String reason(boolean slow, boolean oversized) {
+        if (slow && oversized) return "slow+oversized";
+        return slow ? "slow" : "oversized";
+    }
+
+    private static String contextName(Class<? extends Annotation> context) {
+        return context != null ? context.getSimpleName() : "ALL FIELDS";
+    }
+}
@@ -0,0 +1,27 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Aplica os limites dos eventos JFR definidos em propriedades:
+ * <ul>
+ *     <li>{@code reflection-engine.jfr.slow-threshold} (padrão 20ms)</li>
+ *     <li>{@code reflection-engine.jfr.object-count} (padrão 10000)</li>
+ *     <li>{@code reflection-engine.jfr.collection-size} (padrão 1000)</li>
+ *     <li>{@code reflection-engine.jfr.payload-bytes} (padrão 1048576)</li>
+ * </ul>
+ * Os eventos em si são habilitados pela configuração da gravação (ex.: {@code -XX:StartFlightRecording}).
+ */
+@Component
+public class MappingEventsInitializer {
+
+    public MappingEventsInitializer(@Value("${reflection-engine.jfr.slow-threshold:20ms}") Duration slowThreshold,
+                                    @Value("${reflection-engine.jfr.object-count:10000}") int objectCount,
+                                    @Value("${reflection-engine.jfr.collection-size:1000}") int collectionSize,
+                                    @Value("${reflection-engine.jfr.payload-bytes:1048576}") long payloadBytes) {
+        MappingEvents.configure(new MappingEvents.Thresholds(slowThreshold, objectCount, collectionSize, payloadBytes));
+    }
+}
@@ -0,0 +1,37 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring;
+
+import jdk.jfr.*;
+
+/**
+ * Corpo lido ou escrito pelo CustomContextualMessageConverter que ultrapassou um dos limites de {@link MappingEvents}.
+ */
+@Name("brzeph.reflectionEngine.Payload")
+@Label("Payload Conversion")
+@Category({"Reflection Engine"})
+@Description("Corpo de requisição/resposta lento ou grande")
+@StackTrace(false)
+public class PayloadEvent extends Event {
+
+    @Label("Direction")
+    @Description("read ou write")
+    String direction;
+
+    @Label("Reason")
+    String reason;
+
+    @Label("Media Type")
+    String mediaType;
+
+    @Label("Target Class")
+    Class<?> targetClass;
+
+    @Label("Context")
+    String context;
+
+    @Label("Payload Size")
+    @DataAmount
+    long bytes;
+
+    // Usado apenas para o limite de lentidão; a duração gravada é a do próprio evento (begin/end).
+    transient long startNanos;
+}
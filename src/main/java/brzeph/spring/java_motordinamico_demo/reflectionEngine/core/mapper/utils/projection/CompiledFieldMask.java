@@ -0,0 +1,86 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection;
+
+import java.lang.reflect.Field;
+import java.util.BitSet;
+import java.util.StringJoiner;
+
+/**
+ * Máscara de campos já compilada para uma classe específica.
+ * <p>
+ * Cada bit corresponde a uma posição no array de campos da classe. Um bit ligado significa que o campo
+ * deve ser projetado; campos com bit desligado (e toda a sua subárvore) são ignorados pelo mapeamento.
+ * Para campos aninhados (POJOs ou coleções de POJOs) pode existir uma máscara filha; quando ela é
+ * {@code null} a subárvore inteira é projetada.
+ * <p>
+ * Instâncias são imutáveis e compartilhadas entre requisições através do cache do {@link FieldMaskCompiler}.
+ */
+public final class CompiledFieldMask {
+
+    private final Class<?> type;
+    private final Field[] fields;
+    private final BitSet selected;
+    private final CompiledFieldMask[] nested;
+    private final String key;
+
+    CompiledFieldMask(Class<?> type, Field[] fields, BitSet selected, CompiledFieldMask[] nested) {
+        this.type = type;
+        this.fields = fields;
+        this.selected = selected;
+        this.nested = nested;
+        this.key = canonicalKey();
+    }
+
+    /**
+     * @return Classe para a qual a máscara foi compilada.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Retorna o índice do próximo campo selecionado a partir de {@code fromIndex} (inclusive),
+     * ou {@code -1} se não houver mais campos selecionados.
+     */
+    public int nextSelected(int fromIndex) {
+        return selected.nextSetBit(fromIndex);
+    }
+
+    /**
+     * @return Campo (já acessível) na posição indicada.
+     */
+    public Field field(int index) {
+        return fields[index];
+    }
+
+    /**
+     * @return Máscara da subárvore do campo na posição indicada, ou {@code null} se a subárvore inteira for projetada.
+     */
+    public CompiledFieldMask nested(int index) {
+        return nested[index];
+    }
+
+    /**
+     * @return Forma canônica da máscara: os campos efetivamente selecionados, na ordem de declaração, com as
+     * máscaras filhas entre parênteses. Expressões equivalentes (ordem, espaços, nomes fora do contexto) produzem
+     * a mesma chave; usada, por exemplo, na chave do ProjectionCache.
+     */
+    public String key() {
+        return key;
+    }
+
+    private String canonicalKey() {
+        StringJoiner joiner = new StringJoiner(",");
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            joiner.add(nested[i] == null ? fields[i].getName() : fields[i].getName() + "(" + nested[i].key() + ")");
+        }
+        return joiner.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledFieldMask{" +
+                "type=" + type.getSimpleName() +
+                ", selected=" + selected +
+                '}';
+    }
+}
@@ -0,0 +1,161 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache.ClassMetadataCache;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.FieldParticipation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compila expressões de máscara de campos (ex.: {@code ?fields=id,customerName,items.productCode})
+ * em {@link CompiledFieldMask} por classe.
+ * <p>
+ * Regras da expressão:
+ * <ul>
+ *     <li>Caminhos são separados por vírgula; caminhos aninhados usam ponto (ex.: {@code items.payments.amount}).</li>
+ *     <li>Um caminho sem filhos (ex.: {@code items}) projeta a subárvore inteira do campo.</li>
+ *     <li>Somente campos anotados com a annotation de contexto podem ser selecionados; nomes desconhecidos
+ *     ou fora do contexto são ignorados, portanto a máscara nunca expõe campos que a projeção completa não exporia.</li>
+ * </ul>
+ * A ordem dos caminhos não importa: a expressão é normalizada antes de consultar o cache, de forma que
+ * {@code a,b} e {@code b,a} compartilham a mesma máscara compilada. As máscaras ficam num cache por classe
+ * ({@link ClassMetadataCache}, que não impede o descarregamento da classe), cada um deles limitado em tamanho.
+ * Os caches por classe são lidos sem lock; ao exceder o limite, máscaras arbitrárias são descartadas (recompilar uma
+ * máscara é barato, serializar todas as leituras num LRU sincronizado não é).
+ */
+public final class FieldMaskCompiler {
+
+    /**
+     * Nome do parâmetro de requisição lido pelo GlobalResponseMapper.
+     */
+    public static final String FIELDS_PARAMETER = "fields";
+
+    private static final int MAX_CACHED_CLASSES = 512;
+    private static final int MAX_MASKS_PER_CLASS = 64;
+
+    private static final ClassMetadataCache<Map<MaskKey, CompiledFieldMask>> CACHE =
+            new ClassMetadataCache<>("fieldMasks", MAX_CACHED_CLASSES, type -> newMaskCache());
+
+    private FieldMaskCompiler() {}
+
+    /**
+     * Compila (ou recupera do cache) a máscara de campos para a classe e contexto informados.
+     *
+     * @param clazz           Classe raiz da projeção.
+     * @param annotationClass Annotation de contexto (ex.: Read.class).
+     * @param expression      Expressão de máscara recebida do cliente.
+     * @return Máscara compilada, ou {@code null} se a expressão for nula/vazia (projeção completa).
+     */
+    public static CompiledFieldMask compile(Class<?> clazz, Class<? extends Annotation> annotationClass, String expression) {
+        String normalized = normalize(expression);
+        if (normalized == null) return null;
+
+        Map<MaskKey, CompiledFieldMask> masks = CACHE.get(clazz);
+        MaskKey key = new MaskKey(annotationClass, normalized);
+        CompiledFieldMask cached = masks.get(key);
+        if (cached != null) return cached;
+
+        CompiledFieldMask compiled = compile(clazz, annotationClass, parse(normalized));
+        CompiledFieldMask raced = masks.putIfAbsent(key, compiled);
+        if (raced != null) return raced;
+        if (masks.size() > MAX_MASKS_PER_CLASS) evict(masks, key);
+        return compiled;
+    }
+
+    /**
+     * Remove todas as máscaras compiladas do cache.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static String normalize(String expression) {
+        if (expression == null || expression.isBlank()) return null;
+        SortedSet<String> paths = new TreeSet<>();
+        for (String path : expression.split(",")) {
+            String trimmed = path.trim();
+            if (!trimmed.isEmpty()) paths.add(trimmed);
+        }
+        return paths.isEmpty() ? null : String.join(",", paths);
+    }
+
+    private static PathNode parse(String normalized) {
+        PathNode root = new PathNode();
+        for (String path : normalized.split(",")) {
+            PathNode current = root;
+            for (String segment : path.split("\\.")) {
+                if (segment.isEmpty()) break;
+                current = current.children.computeIfAbsent(segment, s -> new PathNode());
+            }
+            current.wholeSubtree = true;
+        }
+        return root;
+    }
+
+    private static CompiledFieldMask compile(Class<?> clazz, Class<? extends Annotation> annotationClass, PathNode node) {
+        FieldParticipation participation = FieldParticipation.of(clazz);
+        Field[] fields = participation.fields();
+        BitSet participating = participation.bitmap(annotationClass);
+        BitSet selected = new BitSet(fields.length);
+        CompiledFieldMask[] nested = new CompiledFieldMask[fields.length];
+
+        for (int i = participating.nextSetBit(0); i >= 0; i = participating.nextSetBit(i + 1)) {
+            Field field = fields[i];
+            PathNode child = node.children.get(field.getName());
+            if (child == null) continue;
+
+            selected.set(i);
+
+            if (!child.wholeSubtree) {
+                Class<?> nestedType = nestedType(field);
+                if (nestedType != null) {
+                    nested[i] = compile(nestedType, annotationClass, child);
+                }
+            }
+        }
+        return new CompiledFieldMask(clazz, fields, selected, nested);
+    }
+
+    // Tipo a ser projetado para o campo aninhado: o próprio tipo para POJOs, o tipo do item para coleções.
+    private static Class<?> nestedType(Field field) {
+        Class<?> type = field.getType();
+        if (Collection.class.isAssignableFrom(type)) {
+            Type genericType = field.getGenericType();
+            if (genericType instanceof ParameterizedType parameterizedType
+                    && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> itemType) {
+                return isPojo(itemType) ? itemType : null;
+            }
+            return null;
+        }
+        return isPojo(type) ? type : null;
+    }
+
+    private static boolean isPojo(Class<?> type) {
+        return !type.isPrimitive()
+                && !type.isEnum()
+                && !type.getPackageName().startsWith("java.")
+                && !Collection.class.isAssignableFrom(type);
+    }
+
+    private static Map<MaskKey, CompiledFieldMask> newMaskCache() {
+        return new ConcurrentHashMap<>(16);
+    }
+
+    private static void evict(Map<MaskKey, CompiledFieldMask> masks, MaskKey keep) {
+        Iterator<MaskKey> keys = masks.keySet().iterator();
+        while (masks.size() > MAX_MASKS_PER_CLASS && keys.hasNext()) {
+            if (!keys.next().equals(keep)) keys.remove();
+        }
+    }
+
+    private record MaskKey(Class<? extends Annotation> annotationClass, String expression) {}
+
+    private static final class PathNode {
+        private final Map<String, PathNode> children = new HashMap<>();
+        private boolean wholeSubtree;
+    }
+}
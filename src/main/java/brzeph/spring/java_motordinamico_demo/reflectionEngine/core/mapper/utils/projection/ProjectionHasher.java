@@ -0,0 +1,110 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Calcula um hash estrutural estável (FNV-1a de 64 bits) sobre uma projeção já mapeada (Maps, listas e valores simples).
+ * <p>
+ * O hash percorre a projeção em memória, sem serializá-la, e depende apenas dos nomes dos campos, da ordem
+ * e dos valores. Por isso é estável entre JVMs e reinícios, podendo ser usado como ETag forte.
+ * Enums entram pelo {@code name()} e demais tipos não numéricos pelo {@code toString()}, nunca por
+ * {@code hashCode()} de identidade.
+ */
+public final class ProjectionHasher {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // Marcadores estruturais, para que {a=[1]} e {a=1} não colidam.
+    private static final int NULL_MARKER = 0;
+    private static final int MAP_MARKER = 1;
+    private static final int LIST_MARKER = 2;
+    private static final int END_MARKER = 3;
+
+    private ProjectionHasher() {}
+
+    /**
+     * @param projection Projeção mapeada (ex.: resultado do Mapper.mapToMapForX).
+     * @return ETag forte, já entre aspas, derivado do hash estrutural.
+     */
+    public static String etag(Object projection) {
+        return "\"" + Long.toHexString(hash(projection)) + "\"";
+    }
+
+    /**
+     * ETag de uma representação específica da projeção: o mesmo conteúdo em JSON, Smile ou CBOR tem bytes diferentes
+     * e, portanto, validadores diferentes.
+     *
+     * @param projectionHash Hash estrutural da projeção ({@link #hash(Object)}).
+     * @param mediaType      Tipo de mídia selecionado para a resposta (ex.: {@code application/json}).
+     * @return ETag forte, já entre aspas.
+     */
+    public static String etag(long projectionHash, String mediaType) {
+        long h = mediaType != null ? mixChars(projectionHash, mediaType) : projectionHash;
+        return "\"" + Long.toHexString(h) + "\"";
+    }
+
+    /**
+     * @param projection Projeção mapeada.
+     * @return Hash estrutural de 64 bits da projeção.
+     */
+    public static long hash(Object projection) {
+        return hash(FNV_OFFSET_BASIS, projection);
+    }
+
+    private static long hash(long h, Object value) {
+        if (value == null) return mixInt(h, NULL_MARKER);
+
+        if (value instanceof Map<?, ?> map) {
+            h = mixInt(h, MAP_MARKER);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                h = mixChars(h, String.valueOf(entry.getKey()));
+                h = hash(h, entry.getValue());
+            }
+            return mixInt(h, END_MARKER);
+        }
+        if (value instanceof Collection<?> collection) {
+            h = mixInt(h, LIST_MARKER);
+            for (Object item : collection) {
+                h = hash(h, item);
+            }
+            return mixInt(h, END_MARKER);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return mixLong(h, ((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return mixLong(h, Double.doubleToLongBits(((Number) value).doubleValue()));
+        }
+        if (value instanceof Boolean bool) {
+            return mixInt(h, bool ? 1 : 0);
+        }
+        if (value instanceof Enum<?> enumValue) {
+            return mixChars(h, enumValue.name());
+        }
+        return mixChars(h, value.toString());
+    }
+
+    private static long mixChars(long h, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= FNV_PRIME;
+        }
+        // Separador, para que ("ab","c") e ("a","bc") não colidam.
+        return mixInt(h, END_MARKER);
+    }
+
+    private static long mixLong(long h, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            h ^= (value >>> shift) & 0xff;
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static long mixInt(long h, int value) {
+        h ^= value;
+        return h * FNV_PRIME;
+    }
+}
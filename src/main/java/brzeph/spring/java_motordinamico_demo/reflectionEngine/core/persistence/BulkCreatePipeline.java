@@ -0,0 +1,259 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Create;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.PersistenceEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pipeline de criação em massa: lê um array JSON em streaming, mapeia e valida os elementos em lotes
+ * (AnnotationBasedMapper.mapForContext com POST) e grava cada lote com um INSERT em batch JDBC contendo as colunas @Create.
+ * <p>
+ * No máximo {@code concurrency} lotes ficam em memória/processamento ao mesmo tempo: a leitura do JSON espera
+ * enquanto todos os lotes estão ocupados, o que limita o consumo de memória independentemente do tamanho do array.
+ * Cada lote usa a sua própria conexão e transação; uma falha de banco desfaz apenas o lote afetado.
+ * <p>
+ * Os lotes rodam no executor recebido (ex.: o mappingExecutor da aplicação), compartilhado entre as chamadas: o
+ * pipeline não cria threads por requisição, e o paralelismo de cada execução é limitado pelo {@code concurrency}.
+ * <p>
+ * Somente as colunas escalares da classe raiz são inseridas; coleções e POJOs aninhados pertencem a outras tabelas.
+ */
+public class BulkCreatePipeline {
+
+    private static final TypeReference<Map<String, Object>> ELEMENT_TYPE = new TypeReference<>() {};
+
+    private final DataSource dataSource;
+    private final AnnotationBasedMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final BulkCreateOptions options;
+    private final Executor executor;
+
+    public BulkCreatePipeline(DataSource dataSource, AnnotationBasedMapper mapper, ObjectMapper objectMapper,
+                              BulkCreateOptions options, Executor executor) {
+        this.dataSource = dataSource;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.options = options;
+        this.executor = executor;
+    }
+
+    /**
+     * Executa a criação em massa dos elementos do array JSON.
+     *
+     * @param jsonArray Corpo da requisição contendo um array JSON de objetos.
+     * @param type      Classe dos elementos (mapeada para a tabela de destino).
+     * @return Relatório com o total recebido, inserido e os erros por elemento (limitados a {@code maxReportedErrors}).
+     */
+    public <T> BulkCreateReport run(InputStream jsonArray, Class<T> type) {
+        String insertSql = insertSql(type);
+        ColumnMapping[] columns = TableMapping.of(type).columnsFor(Create.class);
+
+        Semaphore inFlight = new Semaphore(options.concurrency());
+        // Se a leitura falhar, lotes ainda não iniciados no executor compartilhado são descartados.
+        AtomicBoolean aborted = new AtomicBoolean();
+        List<Future<?>> chunks = new ArrayList<>();
+        ErrorCollector errors = new ErrorCollector(options.maxReportedErrors());
+        AtomicInteger inserted = new AtomicInteger();
+        int received = 0;
+        boolean completed = false;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonArray)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentEngineException("Criação em massa espera um array JSON");
+            }
+            List<Map<String, Object>> chunk = new ArrayList<>(options.batchSize());
+            int chunkStart = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentEngineException("Array JSON incompleto na criação em massa");
+                }
+                if (token == JsonToken.START_OBJECT) {
+                    chunk.add(parser.readValueAs(ELEMENT_TYPE));
+                } else {
+                    // Elemento que não é objeto: reportado como erro do próprio elemento no processamento do lote.
+                    parser.skipChildren();
+                    chunk.add(null);
+                }
+                received++;
+                if (chunk.size() == options.batchSize()) {
+                    chunks.add(submit(inFlight, aborted, chunk, chunkStart, type, insertSql, columns, errors, inserted));
+                    chunkStart = received;
+                    chunk = new ArrayList<>(options.batchSize());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunks.add(submit(inFlight, aborted, chunk, chunkStart, type, insertSql, columns, errors, inserted));
+            }
+            for (Future<?> future : chunks) {
+                future.get();
+            }
+            completed = true;
+        } catch (IOException e) {
+            throw new IllegalArgumentEngineException("JSON inválido na criação em massa: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceEngineException("Criação em massa interrompida");
+        } catch (ExecutionException e) {
+            throw new PersistenceEngineException("Erro na criação em massa: " + e.getCause().getMessage());
+        } finally {
+            if (!completed) aborted.set(true);
+        }
+        return new BulkCreateReport(received, inserted.get(), errors.failed(), errors.snapshot());
+    }
+
+    /**
+     * @return INSERT parametrizado com as colunas @Create da classe.
+     */
+    public static String insertSql(Class<?> type) {
+        TableMapping mapping = TableMapping.of(type);
+        ColumnMapping[] columns = mapping.columnsFor(Create.class);
+        if (columns.length == 0) {
+            throw new PersistenceEngineException("Nenhuma coluna com @Create em " + type.getSimpleName());
+        }
+        StringJoiner names = new StringJoiner(", ", "INSERT INTO " + mapping.getTable() + " (", ")");
+        StringJoiner placeholders = new StringJoiner(", ", " VALUES (", ")");
+        for (ColumnMapping column : columns) {
+            names.add(column.column());
+            placeholders.add("?");
+        }
+        return names + placeholders.toString();
+    }
+
+    private <T> Future<?> submit(Semaphore inFlight, AtomicBoolean aborted, List<Map<String, Object>> chunk,
+                                 int chunkStart, Class<T> type, String insertSql, ColumnMapping[] columns,
+                                 ErrorCollector errors, AtomicInteger inserted) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    if (!aborted.get()) processChunk(chunk, chunkStart, type, insertSql, columns, errors, inserted);
+                } finally {
+                    inFlight.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private <T> void processChunk(List<Map<String, Object>> chunk, int chunkStart, Class<T> type, String insertSql,
+                                  ColumnMapping[] columns, ErrorCollector errors, AtomicInteger inserted) {
+        List<T> valid = new ArrayList<>(chunk.size());
+        List<Integer> validIndexes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (chunk.get(i) == null) {
+                errors.add(chunkStart + i, "Elemento não é um objeto JSON");
+                continue;
+            }
+            try {
+                valid.add(mapper.mapForContext(chunk.get(i), type, OperationContext.POST));
+                validIndexes.add(chunkStart + i);
+            } catch (RuntimeException e) {
+                errors.add(chunkStart + i, e.getMessage());
+            }
+        }
+        if (valid.isEmpty()) return;
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(insertSql)) {
+                for (T element : valid) {
+                    for (int c = 0; c < columns.length; c++) {
+                        columns[c].bind(statement, c + 1, columns[c].get(element));
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+                inserted.addAndGet(valid.size());
+            } catch (SQLException e) {
+                connection.rollback();
+                for (int index : validIndexes) {
+                    errors.add(index, "Erro ao inserir lote: " + e.getMessage());
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new PersistenceEngineException("Erro de conexão na criação em massa: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Configuração do pipeline.
+     *
+     * @param batchSize         Elementos por lote (mapeamento, validação e INSERT em batch).
+     * @param concurrency       Lotes processados em paralelo (e mantidos em memória) no máximo.
+     * @param maxReportedErrors Máximo de erros detalhados no relatório; os demais são apenas contados.
+     */
+    public record BulkCreateOptions(int batchSize, int concurrency, int maxReportedErrors) {
+        public BulkCreateOptions {
+            if (batchSize <= 0 || concurrency <= 0 || maxReportedErrors < 0) {
+                throw new IllegalArgumentEngineException("Opções inválidas para criação em massa: batchSize=" + batchSize
+                        + ", concurrency=" + concurrency + ", maxReportedErrors=" + maxReportedErrors);
+            }
+        }
+    }
+
+    /**
+     * Resultado da criação em massa.
+     *
+     * @param received Elementos lidos do array JSON.
+     * @param inserted Elementos gravados no banco.
+     * @param failed   Elementos rejeitados (validação, mapeamento ou banco).
+     * @param errors   Erros detalhados, ordenados pelo índice do elemento, limitados a {@code maxReportedErrors}.
+     */
+    public record BulkCreateReport(int received, int inserted, int failed, List<ElementError> errors) {}
+
+    /**
+     * Erro de um elemento do array, identificado pela sua posição (a partir de 0).
+     */
+    public record ElementError(int index, String message) {}
+
+    private static final class ErrorCollector {
+        private final int limit;
+        private final List<ElementError> errors = new ArrayList<>();
+        private int failed;
+
+        private ErrorCollector(int limit) {
+            this.limit = limit;
+        }
+
+        synchronized void add(int index, String message) {
+            failed++;
+            if (errors.size() < limit) errors.add(new ElementError(index, message));
+        }
+
+        synchronized int failed() {
+            return failed;
+        }
+
+        synchronized List<ElementError> snapshot() {
+            List<ElementError> sorted = new ArrayList<>(errors);
+            sorted.sort((a, b) -> Integer.compare(a.index(), b.index()));
+            return List.copyOf(sorted);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.PersistenceEngineException;
+
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Associação entre um campo (já acessível) e a sua coluna, com as conversões JDBC de leitura e escrita.
+ * <p>
+ * Enums são persistidos pelo {@code name()}; os demais tipos usam {@code getObject(int, Class)}/{@code setObject},
+ * o que cobre wrappers, String, BigDecimal e java.time (JDBC 4.2).
+ */
+public record ColumnMapping(Field field, String column) {
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = Map.of(
+            boolean.class, Boolean.class,
+            byte.class, Byte.class,
+            short.class, Short.class,
+            int.class, Integer.class,
+            long.class, Long.class,
+            float.class, Float.class,
+            double.class, Double.class,
+            char.class, Character.class);
+
+    /**
+     * Lê a coluna na posição indicada do ResultSet, convertida para o tipo do campo.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Object read(ResultSet resultSet, int index) throws SQLException {
+        Class<?> type = WRAPPERS.getOrDefault(field.getType(), field.getType());
+        if (type.isEnum()) {
+            String name = resultSet.getString(index);
+            return name == null ? null : Enum.valueOf((Class<? extends Enum>) type, name);
+        }
+        return resultSet.getObject(index, type);
+    }
+
+    /**
+     * Associa o valor ao parâmetro na posição indicada do PreparedStatement.
+     */
+    public void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setObject(index, value instanceof Enum<?> enumValue ? enumValue.name() : value);
+    }
+
+    /**
+     * @return Valor atual do campo na entidade.
+     */
+    public Object get(Object entity) {
+        try {
+            return field.get(entity);
+        } catch (IllegalAccessException e) {
+            throw new PersistenceEngineException("Erro ao ler campo '" + field.getName() + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Atribui o valor ao campo da entidade. Valores nulos não são atribuídos a campos primitivos.
+     */
+    public void set(Object entity, Object value) {
+        if (value == null && field.getType().isPrimitive()) return;
+        try {
+            field.set(entity, value);
+        } catch (IllegalAccessException e) {
+            throw new PersistenceEngineException("Erro ao atribuir campo '" + field.getName() + "': " + e.getMessage());
+        }
+    }
+}
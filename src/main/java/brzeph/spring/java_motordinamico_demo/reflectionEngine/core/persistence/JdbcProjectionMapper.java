@@ -0,0 +1,153 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.PersistenceEngineException;
+
+import java.lang.annotation.Annotation;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class JdbcProjectionMapper {
+    /*
+    Em vez de carregar a entidade completa e depois filtrá-la com o ReflectionMapperEngine, o SELECT já
+    contém somente as colunas do contexto, e cada linha vira diretamente o objeto (ou Map) projetado.
+     */
+
+    /**
+     * Monta o SELECT restrito às colunas dos campos escalares anotados com a annotation de contexto.
+     *
+     * @param clazz           Classe mapeada para a tabela.
+     * @param annotationClass Annotation de contexto (ex.: Read.class).
+     * @param whereClause     Cláusula WHERE parametrizada (sem a palavra WHERE), ou {@code null} para todas as linhas.
+     * @return SQL do SELECT (ex.: {@code SELECT id, customer_name FROM purchase_order WHERE id = ?}).
+     */
+    public static String selectSql(Class<?> clazz, Class<? extends Annotation> annotationClass, String whereClause) {
+        TableMapping mapping = TableMapping.of(clazz);
+        ColumnMapping[] columns = mapping.columnsFor(annotationClass);
+        if (columns.length == 0) {
+            throw new PersistenceEngineException("Nenhuma coluna com @" + annotationClass.getSimpleName()
+                    + " em " + clazz.getSimpleName());
+        }
+
+        StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM " + mapping.getTable());
+        for (ColumnMapping column : columns) {
+            select.add(column.column());
+        }
+        String sql = select.toString();
+        return whereClause == null || whereClause.isBlank() ? sql : sql + " WHERE " + whereClause;
+    }
+
+    /**
+     * Executa o SELECT projetado e transmite cada linha como uma nova instância de {@code clazz}, na qual somente os
+     * campos do contexto são preenchidos.
+     * <p>
+     * As linhas são lidas sob demanda; o Stream deve ser fechado (try-with-resources) para liberar o ResultSet e o
+     * PreparedStatement. A conexão continua sob responsabilidade do chamador.
+     *
+     * @param connection      Conexão JDBC aberta.
+     * @param clazz           Classe mapeada para a tabela.
+     * @param annotationClass Annotation de contexto (ex.: Read.class).
+     * @param whereClause     Cláusula WHERE parametrizada, ou {@code null}.
+     * @param parameters      Parâmetros da cláusula WHERE, na ordem dos {@code ?}.
+     * @return Stream de objetos projetados.
+     */
+    public static <T> Stream<T> streamObjects(Connection connection, Class<T> clazz, Class<? extends Annotation> annotationClass,
+                                              String whereClause, Object... parameters) {
+        ColumnMapping[] columns = TableMapping.of(clazz).columnsFor(annotationClass);
+        return stream(connection, selectSql(clazz, annotationClass, whereClause), parameters, resultSet -> {
+            T target = newInstance(clazz);
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].set(target, columns[i].read(resultSet, i + 1));
+            }
+            return target;
+        });
+    }
+
+    /**
+     * Executa o SELECT projetado e transmite cada linha como um Map (nome do campo -> valor), no mesmo formato
+     * de chaves do Mapper.mapToMapForX, sem instanciar a entidade.
+     *
+     * @see #streamObjects(Connection, Class, Class, String, Object...)
+     */
+    public static Stream<Map<String, Object>> streamMaps(Connection connection, Class<?> clazz,
+                                                         Class<? extends Annotation> annotationClass,
+                                                         String whereClause, Object... parameters) {
+        ColumnMapping[] columns = TableMapping.of(clazz).columnsFor(annotationClass);
+        return stream(connection, selectSql(clazz, annotationClass, whereClause), parameters, resultSet -> {
+            Map<String, Object> row = new LinkedHashMap<>(columns.length * 4 / 3 + 1);
+            for (int i = 0; i < columns.length; i++) {
+                row.put(columns[i].field().getName(), columns[i].read(resultSet, i + 1));
+            }
+            return row;
+        });
+    }
+
+    /**
+     * Busca uma única entidade projetada pelo valor do campo @Id.
+     *
+     * @return Objeto projetado, ou vazio se não houver linha com o id informado.
+     */
+    public static <T> Optional<T> findById(Connection connection, Class<T> clazz, Class<? extends Annotation> annotationClass,
+                                           Object id) {
+        String idColumn = TableMapping.of(clazz).getIdColumn().column();
+        try (Stream<T> rows = streamObjects(connection, clazz, annotationClass, idColumn + " = ?", id)) {
+            return rows.findFirst();
+        }
+    }
+
+    private static <R> Stream<R> stream(Connection connection, String sql, Object[] parameters, RowReader<R> reader) {
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(sql);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i] instanceof Enum<?> enumValue ? enumValue.name() : parameters[i]);
+            }
+            ResultSet resultSet = statement.executeQuery();
+            PreparedStatement openStatement = statement;
+
+            Spliterator<R> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super R> action) {
+                    try {
+                        if (!resultSet.next()) return false;
+                        action.accept(reader.read(resultSet));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new PersistenceEngineException("Erro ao ler linha de '" + sql + "': " + e.getMessage());
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> closeQuietly(resultSet, openStatement));
+        } catch (SQLException e) {
+            closeQuietly(null, statement);
+            throw new PersistenceEngineException("Erro ao executar '" + sql + "': " + e.getMessage());
+        }
+    }
+
+    private static <T> T newInstance(Class<T> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new PersistenceEngineException("Erro ao instanciar " + clazz.getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(ResultSet resultSet, PreparedStatement statement) {
+        try {
+            if (resultSet != null) resultSet.close();
+            if (statement != null) statement.close();
+        } catch (SQLException e) {
+            throw new PersistenceEngineException("Erro ao liberar recursos JDBC: " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowReader<R> {
+        R read(ResultSet resultSet) throws SQLException;
+    }
+}
@@ -0,0 +1,130 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.PersistenceEngineException;
+
+import java.lang.annotation.Annotation;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+public class PartialUpdateWriter {
+    /*
+    Depois de Mapper.mergeForX(existing, update, Update.class), apenas as colunas que realmente mudaram precisam
+    voltar ao banco. O UPDATE gerado contém só essas colunas, e UPDATEs consecutivos com o mesmo formato (mesmo
+    conjunto de colunas) são agrupados num único batch JDBC.
+     */
+
+    /**
+     * Compara a entidade original com o resultado do merge e gera o UPDATE parametrizado contendo somente as
+     * colunas alteradas.
+     * <p>
+     * Apenas campos escalares anotados com a annotation de contexto são comparados (os demais nunca são alterados
+     * pelo merge). As colunas aparecem na ordem de declaração dos campos, de forma que merges que alteram o mesmo
+     * conjunto de colunas geram exatamente o mesmo SQL.
+     *
+     * @param base            Entidade como está persistida (ex.: carregada antes do merge).
+     * @param merged          Resultado do merge.
+     * @param annotationClass Annotation de contexto do merge (ex.: Update.class).
+     * @return UPDATE parcial; {@link PartialUpdate#isEmpty()} indica que nenhuma coluna mudou.
+     */
+    public static <T> PartialUpdate diff(T base, T merged, Class<? extends Annotation> annotationClass) {
+        if (base == null || merged == null) {
+            throw new IllegalArgumentEngineException("Objetos não podem ser nulos");
+        }
+        if (!base.getClass().equals(merged.getClass())) {
+            throw new IllegalArgumentEngineException("Classes incompatíveis para UPDATE parcial: "
+                    + base.getClass().getSimpleName() + " ≠ " + merged.getClass().getSimpleName());
+        }
+
+        TableMapping mapping = TableMapping.of(base.getClass());
+        ColumnMapping idColumn = mapping.getIdColumn();
+        Object id = idColumn.get(base);
+        if (id == null) {
+            throw new PersistenceEngineException("UPDATE parcial exige @Id preenchido em " + base.getClass().getSimpleName());
+        }
+
+        StringJoiner assignments = new StringJoiner(", ");
+        List<Object> parameters = new ArrayList<>();
+        for (ColumnMapping column : mapping.columnsFor(annotationClass)) {
+            Object newValue = column.get(merged);
+            if (!Objects.equals(column.get(base), newValue)) {
+                assignments.add(column.column() + " = ?");
+                parameters.add(newValue instanceof Enum<?> enumValue ? enumValue.name() : newValue);
+            }
+        }
+        if (parameters.isEmpty()) return PartialUpdate.EMPTY;
+
+        parameters.add(id);
+        String sql = "UPDATE " + mapping.getTable() + " SET " + assignments + " WHERE " + idColumn.column() + " = ?";
+        return new PartialUpdate(sql, List.copyOf(parameters));
+    }
+
+    /**
+     * Executa os UPDATEs parciais na ordem da entrada, agrupando cada sequência de UPDATEs consecutivos com o mesmo
+     * SQL num único batch JDBC. UPDATEs vazios são ignorados.
+     * <p>
+     * Apenas sequências consecutivas são agrupadas: juntar UPDATEs de mesmo formato separados por outro formato
+     * mudaria a ordem de execução, e dois UPDATEs da mesma linha terminariam com o valor do que deveria ter vindo
+     * antes.
+     * <p>
+     * A transação (auto-commit ou não) continua sob responsabilidade do chamador.
+     *
+     * @param connection Conexão JDBC aberta.
+     * @param updates    UPDATEs gerados por {@link #diff(Object, Object, Class)}.
+     * @return Contagem de linhas afetadas por UPDATE, na mesma ordem da entrada (0 para UPDATEs vazios).
+     */
+    public static int[] executeBatch(Connection connection, List<PartialUpdate> updates) {
+        int[] affectedRows = new int[updates.size()];
+        List<Integer> run = new ArrayList<>();
+        String runSql = null;
+        for (int i = 0; i < updates.size(); i++) {
+            PartialUpdate update = updates.get(i);
+            if (update.isEmpty()) continue;
+            if (!update.sql().equals(runSql)) {
+                executeRun(connection, runSql, run, updates, affectedRows);
+                runSql = update.sql();
+            }
+            run.add(i);
+        }
+        executeRun(connection, runSql, run, updates, affectedRows);
+        return affectedRows;
+    }
+
+    // Executa a sequência de UPDATEs de mesmo SQL como um batch e esvazia a lista de posições.
+    private static void executeRun(Connection connection, String sql, List<Integer> positions,
+                                   List<PartialUpdate> updates, int[] affectedRows) {
+        if (positions.isEmpty()) return;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int position : positions) {
+                List<Object> parameters = updates.get(position).parameters();
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                statement.addBatch();
+            }
+            int[] counts = statement.executeBatch();
+            for (int i = 0; i < counts.length; i++) {
+                // SUCCESS_NO_INFO: o driver executou o comando, mas não informou quantas linhas foram afetadas.
+                affectedRows[positions.get(i)] = counts[i] == Statement.SUCCESS_NO_INFO ? 1 : counts[i];
+            }
+        } catch (SQLException e) {
+            throw new PersistenceEngineException("Erro ao executar batch '" + sql + "': " + e.getMessage());
+        }
+        positions.clear();
+    }
+
+    /**
+     * UPDATE parcial parametrizado. O último parâmetro é sempre o valor do @Id.
+     */
+    public record PartialUpdate(String sql, List<Object> parameters) {
+
+        static final PartialUpdate EMPTY = new PartialUpdate(null, List.of());
+
+        public boolean isEmpty() {
+            return sql == null;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Id;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.persistence.Column;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.persistence.Table;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.PersistenceEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache.ClassMetadataCache;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.FieldPlan;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metadados relacionais de uma classe: tabela, coluna identificadora e colunas participantes de cada contexto.
+ * <p>
+ * Apenas campos escalares (primitivos, wrappers, enums e demais tipos {@code java.*} que não sejam coleções ou mapas)
+ * viram colunas; POJOs aninhados e coleções pertencem a outras tabelas e não são carregados por aqui.
+ * Os metadados são calculados uma vez por classe e mantidos num {@link ClassMetadataCache}.
+ */
+public final class TableMapping {
+
+    private static final ClassMetadataCache<TableMapping> CACHE =
+            new ClassMetadataCache<>("tableMappings", 1024, TableMapping::new);
+
+    private final Class<?> type;
+    private final String table;
+    private final ColumnMapping idColumn;
+    private final List<ColumnMapping> columns;
+    private final Map<Class<? extends Annotation>, ColumnMapping[]> columnsByContext = new ConcurrentHashMap<>();
+
+    private TableMapping(Class<?> type) {
+        this.type = type;
+        Table tableAnnotation = type.getAnnotation(Table.class);
+        this.table = tableAnnotation != null ? tableAnnotation.value() : toSnakeCase(type.getSimpleName());
+
+        List<ColumnMapping> mapped = new ArrayList<>();
+        ColumnMapping id = null;
+        for (Field field : FieldPlan.of(type).fields()) {
+            if (!isColumnType(field.getType())) continue;
+            Column columnAnnotation = field.getAnnotation(Column.class);
+            ColumnMapping column = new ColumnMapping(field,
+                    columnAnnotation != null ? columnAnnotation.value() : toSnakeCase(field.getName()));
+            mapped.add(column);
+            if (id == null && field.isAnnotationPresent(Id.class)) id = column;
+        }
+        this.columns = List.copyOf(mapped);
+        this.idColumn = id;
+    }
+
+    /**
+     * @return Metadados relacionais da classe.
+     */
+    public static TableMapping of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return Coluna do campo anotado com @Id.
+     * @throws PersistenceEngineException se a classe não declarar @Id.
+     */
+    public ColumnMapping getIdColumn() {
+        if (idColumn == null) {
+            throw new PersistenceEngineException("Nenhum campo com @Id encontrado em " + type.getSimpleName());
+        }
+        return idColumn;
+    }
+
+    /**
+     * @return Colunas dos campos escalares anotados com a annotation de contexto, na ordem de declaração.
+     * O array é compartilhado e não deve ser alterado.
+     */
+    public ColumnMapping[] columnsFor(Class<? extends Annotation> context) {
+        return columnsByContext.computeIfAbsent(context, c -> columns.stream()
+                .filter(column -> column.field().isAnnotationPresent(c))
+                .toArray(ColumnMapping[]::new));
+    }
+
+    static boolean isColumnType(Class<?> type) {
+        if (type.isPrimitive() || type.isEnum()) return true;
+        return type.getPackageName().startsWith("java.")
+                && !Collection.class.isAssignableFrom(type)
+                && !Map.class.isAssignableFrom(type);
+    }
+
+    static String toSnakeCase(String name) {
+        StringBuilder builder = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0) builder.append('_');
+                builder.append(Character.toLowerCase(c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,191 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Id;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Version;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.PersistenceEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.FieldPlan;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Repositório em memória de entidades versionadas, com atualizações otimistas sem lock.
+ * <p>
+ * Cada id aponta para uma {@link Entry} imutável (entidade + versão). Uma atualização lê a entrada corrente, calcula
+ * a nova entidade fora de qualquer lock (ex.: {@link Mapper#mergeForX}) e publica o resultado com compare-and-set
+ * sobre a entrada lida; se outra escrita venceu no meio do caminho, a função é reaplicada sobre a entrada nova.
+ * Nenhuma atualização se perde e leituras nunca bloqueiam. Por isso as funções de atualização podem ser executadas
+ * mais de uma vez e não devem ter efeitos colaterais além de construir a nova entidade.
+ * <p>
+ * A classe precisa declarar um campo {@code Long}/{@code long} com @Id, preenchido na criação a partir de um
+ * contador atômico. Se houver um campo {@code long}/{@code int} (ou wrapper) com @Version, ele recebe a versão da entrada.
+ * As entidades publicadas não devem ser alteradas: toda mudança passa por {@link #update}.
+ */
+public final class VersionedEntityStore<T> {
+
+    private final Class<T> type;
+    private final Field idField;
+    private final Field versionField;
+    private final ConcurrentHashMap<Long, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong(1L);
+    private final LongAdder casRetries = new LongAdder();
+
+    public VersionedEntityStore(Class<T> type) {
+        Field id = null;
+        Field version = null;
+        for (Field field : FieldPlan.of(type).fields()) {
+            if (id == null && field.isAnnotationPresent(Id.class)) id = field;
+            if (version == null && field.isAnnotationPresent(Version.class)) version = field;
+        }
+        if (id == null || (id.getType() != Long.class && id.getType() != long.class)) {
+            throw new PersistenceEngineException("VersionedEntityStore exige um campo Long com @Id em " + type.getSimpleName());
+        }
+        if (version != null && !isVersionType(version.getType())) {
+            throw new PersistenceEngineException("Campo @Version deve ser long ou int em " + type.getSimpleName()
+                    + ": " + version.getName());
+        }
+        this.type = type;
+        this.idField = id;
+        this.versionField = version;
+    }
+
+    /**
+     * Grava uma nova entidade com o próximo id e versão 1.
+     *
+     * @param entity Entidade ainda não publicada; o id (e a versão, se houver @Version) é escrito nela.
+     * @return Entrada criada.
+     */
+    public Entry<T> create(T entity) {
+        if (entity == null) {
+            throw new IllegalArgumentEngineException("Entidade não pode ser nula");
+        }
+        long id = ids.getAndIncrement();
+        write(idField, entity, id);
+        Entry<T> entry = stamp(entity, 1L);
+        entries.put(id, entry);
+        return entry;
+    }
+
+    /**
+     * @return Entrada corrente do id, ou {@code null} se não existir.
+     */
+    public Entry<T> get(long id) {
+        return entries.get(id);
+    }
+
+    /**
+     * @return Entidade corrente do id, ou {@code null} se não existir.
+     */
+    public T find(long id) {
+        Entry<T> entry = entries.get(id);
+        return entry != null ? entry.entity() : null;
+    }
+
+    /**
+     * Aplica {@code change} sobre a entidade corrente e publica o resultado com compare-and-set, repetindo enquanto
+     * outra escrita concorrente vencer.
+     *
+     * @param change Função que devolve uma nova instância (ou a própria entidade, se não houver mudança).
+     * @return Entrada publicada, ou {@code null} se o id não existir.
+     */
+    public Entry<T> update(long id, UnaryOperator<T> change) {
+        while (true) {
+            Entry<T> current = entries.get(id);
+            if (current == null) return null;
+            T next = change.apply(current.entity());
+            if (next == current.entity()) return current;
+            Entry<T> updated = stamp(next, current.version() + 1);
+            if (entries.replace(id, current, updated)) return updated;
+            casRetries.increment();
+        }
+    }
+
+    /**
+     * Mescla {@code changes} na entidade corrente com {@link Mapper#mergeForX} (mesmas regras do PUT), com as
+     * mesmas garantias de {@link #update}.
+     *
+     * @return Entrada publicada, ou {@code null} se o id não existir.
+     */
+    public Entry<T> merge(long id, T changes, Class<? extends Annotation> context) {
+        return update(id, current -> Mapper.mergeForX(current, changes, context));
+    }
+
+    /**
+     * Substitui a entidade somente se a versão corrente for {@code expectedVersion} (ex.: cabeçalho If-Match).
+     *
+     * @return Entrada publicada, ou {@code null} se o id não existir ou a versão for outra.
+     */
+    public Entry<T> replace(long id, long expectedVersion, T entity) {
+        Entry<T> current = entries.get(id);
+        if (current == null || current.version() != expectedVersion) return null;
+        write(idField, entity, id);
+        Entry<T> updated = stamp(entity, expectedVersion + 1);
+        return entries.replace(id, current, updated) ? updated : null;
+    }
+
+    /**
+     * @return Se havia uma entidade com o id.
+     */
+    public boolean delete(long id) {
+        return entries.remove(id) != null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return Atualizações reaplicadas porque outra escrita publicou primeiro (medida de contenção).
+     */
+    public long casRetries() {
+        return casRetries.sum();
+    }
+
+    private Entry<T> stamp(T entity, long version) {
+        if (versionField != null) {
+            write(versionField, entity, versionField.getType() == int.class || versionField.getType() == Integer.class
+                    ? Math.toIntExact(version) : version);
+        }
+        return new Entry<>(entity, version);
+    }
+
+    private void write(Field field, T entity, Object value) {
+        try {
+            field.set(entity, value);
+        } catch (IllegalAccessException e) {
+            throw new PersistenceEngineException("Erro ao gravar " + field.getName() + " em " + type.getSimpleName()
+                    + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isVersionType(Class<?> type) {
+        return type == long.class || type == Long.class || type == int.class || type == Integer.class;
+    }
+
+    /**
+     * Entidade publicada e a sua versão. O compare-and-set compara entradas por identidade, nunca pelo equals da entidade.
+     */
+    public static final class Entry<T> {
+        private final T entity;
+        private final long version;
+
+        private Entry(T entity, long version) {
+            this.entity = entity;
+            this.version = version;
+        }
+
+        public T entity() {
+            return entity;
+        }
+
+        public long version() {
+            return version;
+        }
+    }
+}
@@ -5,8 +5,10 @@ import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.ap
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.MergeId;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.validations.Required;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.tracking.DirtyTracking;
 import java.util.List;
 
+@DirtyTracking
 public class OrderItem {
 
     @Read @Update
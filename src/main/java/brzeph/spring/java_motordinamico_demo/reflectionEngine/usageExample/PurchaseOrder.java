@@ -2,15 +2,18 @@ package brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample;
 
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Create;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Id;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.validations.NotBlank;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.validations.Required;
 import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.tracking.DirtyTracking;
 
 import java.time.LocalDateTime;
 import java.util.List;
+@DirtyTracking
 public class PurchaseOrder {
 
-    @Read
+    @Read @Id
     private Long id;
 
     @Read @Create
@@ -1,59 +1,85 @@
 package brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample;
 
-//@RestController
-//@RequestMapping("/api/purchase-orders")
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.JsonMergePatch;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence.VersionedEntityStore;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/purchase-orders")
 public class PurchaseOrderController {
+    /*
+    Fluxo CRUD de exemplo sobre um "banco" em memória. O corpo das requisições chega já mapeado e validado pelo
+    CustomContextualMessageConverter (contexto pelo method HTTP) e as respostas saem como projeção @Read pelo
+    GlobalResponseMapper: secretData nunca aparece no front.
+
+    O "banco" é um VersionedEntityStore: ids atômicos e alterações otimistas (merge/patch reaplicados se outra escrita
+    no mesmo pedido publicar primeiro), pois o exemplo também é usado pela suíte de carga.
+     */
+
+    private final VersionedEntityStore<PurchaseOrder> database = new VersionedEntityStore<>(PurchaseOrder.class);
+    private final AnnotationBasedMapper mapper;
+
+    public PurchaseOrderController(AnnotationBasedMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @PostMapping
+    public ResponseEntity<PurchaseOrder> createOrder(@RequestBody PurchaseOrder incomingOrder) {
+        incomingOrder.setCreatedAt(LocalDateTime.now());
+        incomingOrder.setSecretData("Se isso apareceu no front, estou triste.");
+        long i = 0L;
+        for (OrderItem item : incomingOrder.getItems()) {
+            item.setId(i++);
+        }
+        database.create(incomingOrder);
+        return ResponseEntity.status(HttpStatus.CREATED).body(incomingOrder);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PurchaseOrder> getOrder(@PathVariable Long id) {
+        PurchaseOrder order = database.find(id);
+        if (order == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(order);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<PurchaseOrder> updateOrder(@PathVariable Long id, @RequestBody PurchaseOrder updatedOrder) {
+        VersionedEntityStore.Entry<PurchaseOrder> merged = database.merge(id, updatedOrder, Update.class);
+        if (merged == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(merged.entity());
+    }
+
+    @PatchMapping(value = "/{id}", consumes = JsonMergePatch.MEDIA_TYPE_VALUE)
+    public ResponseEntity<PurchaseOrder> patchOrder(@PathVariable Long id, @RequestBody JsonMergePatch patch) {
+        VersionedEntityStore.Entry<PurchaseOrder> patched = database.update(id, existingOrder -> {
+            PurchaseOrder patchedOrder = Mapper.patchForX(existingOrder, patch, Update.class);
+            // O patch pode limpar campos (null explícito): as regras de @Update são validadas antes de gravar.
+            mapper.validateBody(patchedOrder, OperationContext.PATCH);
+            return patchedOrder;
+        });
+        if (patched == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(patched.entity());
+    }
 
-//    private final Map<Long, PurchaseOrder> database = new HashMap<>();
-//    private Long idCounter = 1L;
-//
-//    @PostMapping
-//    public ResponseEntity<PurchaseOrder> createOrder(@RequestBody PurchaseOrder incomingOrder) {
-//        System.out.println("Incoming order: " + incomingOrder);
-//        incomingOrder.setId(idCounter++);
-//        incomingOrder.setCreatedAt(LocalDateTime.now());
-//        incomingOrder.setSecretData("Se isso apareceu no front, estou triste.");
-//        long i = 0L;
-//        for (OrderItem item : incomingOrder.getItems()) {
-//            item.setId(i++);
-//        }
-//        database.put(incomingOrder.getId(), incomingOrder);
-//        System.out.println("Created order: " + database.get(incomingOrder.getId()));
-//        return ResponseEntity.status(HttpStatus.CREATED).body(incomingOrder);
-//    }
-//
-//    @GetMapping("/{id}")
-//    public ResponseEntity<PurchaseOrder> getOrder(@PathVariable Long id) {
-//        System.out.println("Incoming order: " + id);
-//        PurchaseOrder order = database.get(id);
-//        if (order == null) {
-//            return ResponseEntity.notFound().build();
-//        }
-//        System.out.println("Found order: " + order);
-//        return ResponseEntity.ok(order);
-//    }
-//
-//    @PutMapping("/{id}")
-//    public ResponseEntity<PurchaseOrder> updateOrder(@PathVariable Long id, @RequestBody PurchaseOrder updatedOrder) {
-//        PurchaseOrder existingOrder = database.get(id);
-//        if (existingOrder == null) {
-//            return ResponseEntity.notFound().build();
-//        }
-//        PurchaseOrder mergedOrder = Mapper.mergeForX(existingOrder, updatedOrder, Update.class);
-//        System.out.println("Existing order: " + existingOrder);
-//        System.out.println("Merged order: " + mergedOrder);
-//        System.out.println("Updated order: " + updatedOrder);
-//        database.put(id, mergedOrder);
-//
-//        return ResponseEntity.ok(mergedOrder);
-//    }
-//
-//    @DeleteMapping("/{id}")
-//    public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
-//        System.out.println("Incoming order: " + id);
-//        if (database.remove(id) == null) {
-//            return ResponseEntity.notFound().build();
-//        }
-//        return ResponseEntity.noContent().build();
-//    }
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
+        if (!database.delete(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
 }
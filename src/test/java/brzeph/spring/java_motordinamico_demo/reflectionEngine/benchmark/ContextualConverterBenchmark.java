@@ -0,0 +1,136 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.benchmark;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.CustomContextualMessageConverter;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.OrderItem;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.Payment;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o caminho JSON com os formatos binários (Smile e CBOR) do CustomContextualMessageConverter.
+ * <p>
+ * Leitura: corpo de um POST convertido e mapeado com @Create. Escrita: projeção @Read serializada (JSON pelo conversor
+ * padrão do Jackson, como em produção; Smile e CBOR pelo conversor contextual).
+ * <p>
+ * Execução: {@code mvn test-compile} e em seguida {@code java -cp target/test-classes:<classpath de teste>
+ * brzeph.spring.java_motordinamico_demo.reflectionEngine.benchmark.ContextualConverterBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextualConverterBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"10"})
+    public int items;
+
+    private CustomContextualMessageConverter converter;
+    private MappingJackson2HttpMessageConverter jsonConverter;
+    private MediaType mediaType;
+    private PurchaseOrder order;
+    private byte[] requestBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        converter = new CustomContextualMessageConverter(new AnnotationBasedMapper(), objectMapper);
+        jsonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        mediaType = switch (format) {
+            case "smile" -> CustomContextualMessageConverter.APPLICATION_SMILE;
+            case "cbor" -> CustomContextualMessageConverter.APPLICATION_CBOR;
+            default -> MediaType.APPLICATION_JSON;
+        };
+        order = order(items);
+
+        // O conversor infere o contexto pelo método HTTP da requisição corrente.
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("POST", "/orders")));
+        requestBody = encode(Mapper.mapToMapForX(order, Read.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        MockHttpInputMessage input = new MockHttpInputMessage(requestBody);
+        input.getHeaders().setContentType(mediaType);
+        return converter.read(PurchaseOrder.class, input);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        if (MediaType.APPLICATION_JSON.equals(mediaType)) {
+            jsonConverter.write(Mapper.mapToMapForX(order, Read.class), mediaType, output);
+        } else {
+            converter.write(order, mediaType, output);
+        }
+        return output.getBodyAsBytes();
+    }
+
+    private byte[] encode(Object projection) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        if (MediaType.APPLICATION_JSON.equals(mediaType)) {
+            jsonConverter.write(projection, mediaType, output);
+        } else {
+            converter.write(projection, mediaType, output);
+        }
+        return output.getBodyAsBytes();
+    }
+
+    private static PurchaseOrder order(int itemCount) {
+        PurchaseOrder order = new PurchaseOrder();
+        order.setId(1L);
+        order.setCustomerName("Cliente de benchmark");
+        order.setOrderDate(LocalDateTime.of(2024, 1, 2, 10, 0));
+        order.setNotes("Entregar no período da manhã");
+        List<OrderItem> orderItems = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setId((long) i);
+            item.setProductCode("SKU-" + i);
+            item.setQuantity(i + 1);
+            item.setDiscount(0.05);
+            Payment payment = new Payment();
+            payment.setPaymentId("PAY-" + i);
+            payment.setAmount(10.0 * (i + 1));
+            payment.setPaymentMethod("PIX");
+            item.setPayments(List.of(payment));
+            orderItems.add(item);
+        }
+        order.setItems(orderItems);
+        return order;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContextualConverterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
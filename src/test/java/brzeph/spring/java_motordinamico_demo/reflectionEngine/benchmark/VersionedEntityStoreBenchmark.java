@@ -0,0 +1,102 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.benchmark;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence.VersionedEntityStore;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de merges concorrentes (PUT) no VersionedEntityStore, comparada com um mapa protegido por um único lock
+ * (o desenho anterior do exemplo, com o merge dentro da seção crítica).
+ * <p>
+ * {@code keys=1} concentra todas as threads num único pedido (contenção máxima); {@code keys=1024} espalha as escritas.
+ * Ao final de cada trial, o número de reaplicações do compare-and-set é impresso.
+ * <p>
+ * Execução: {@code mvn test-compile} e em seguida {@code java -cp target/test-classes:<classpath de teste>
+ * brzeph.spring.java_motordinamico_demo.reflectionEngine.benchmark.VersionedEntityStoreBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class VersionedEntityStoreBenchmark {
+
+    @Param({"cas", "locked"})
+    public String store;
+
+    @Param({"1", "1024"})
+    public int keys;
+
+    private VersionedEntityStore<PurchaseOrder> versionedStore;
+    private Map<Long, PurchaseOrder> lockedStore;
+    private PurchaseOrder changes;
+
+    @Setup
+    public void setUp() {
+        versionedStore = new VersionedEntityStore<>(PurchaseOrder.class);
+        lockedStore = new HashMap<>();
+        for (int i = 0; i < keys; i++) {
+            PurchaseOrder order = order();
+            versionedStore.create(order);
+            lockedStore.put(order.getId(), order);
+        }
+        changes = new PurchaseOrder();
+        changes.setNotes("Atualizado pelo benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        if ("cas".equals(store)) {
+            System.out.println("\ncasRetries=" + versionedStore.casRetries());
+        }
+    }
+
+    @Benchmark
+    public Object merge() {
+        long id = 1L + ThreadLocalRandom.current().nextInt(keys);
+        if ("cas".equals(store)) {
+            return versionedStore.merge(id, changes, Update.class);
+        }
+        synchronized (lockedStore) {
+            PurchaseOrder merged = Mapper.mergeForX(lockedStore.get(id), changes, Update.class);
+            lockedStore.put(id, merged);
+            return merged;
+        }
+    }
+
+    @Benchmark
+    public Object read() {
+        long id = 1L + ThreadLocalRandom.current().nextInt(keys);
+        if ("cas".equals(store)) {
+            return versionedStore.find(id);
+        }
+        synchronized (lockedStore) {
+            return lockedStore.get(id);
+        }
+    }
+
+    private static PurchaseOrder order() {
+        PurchaseOrder order = new PurchaseOrder();
+        order.setCustomerName("Cliente de benchmark");
+        order.setOrderDate(LocalDateTime.of(2024, 1, 2, 10, 0));
+        order.setNotes("Entregar no período da manhã");
+        return order;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VersionedEntityStoreBenchmark.class.getSimpleName()).build()).run();
+    }
+}
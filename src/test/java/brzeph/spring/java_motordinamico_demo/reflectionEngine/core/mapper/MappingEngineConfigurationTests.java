@@ -0,0 +1,37 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ContextMappingEngineError;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.ReflectionMapperEngine;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"reflection-engine.max-depth=2", "reflection-engine.identity-tracking=false"})
+class MappingEngineConfigurationTests {
+
+	@Autowired
+	private AnnotationBasedMapper mapper;
+
+	@Test
+	void requestPathFollowsTheConfiguredOptions() {
+		assertThat(mapper.getOptions().maxDepth()).isEqualTo(2);
+		assertThat(mapper.getOptions().identityTracking()).isFalse();
+		assertThat(ReflectionMapperEngine.getOptions().maxDepth()).isNotEqualTo(2);
+
+		// Pedido (1) -> item (2) -> pagamento (3): acima da profundidade configurada.
+		Map<String, Object> body = Map.of("customerName", "Ana", "items",
+				List.of(Map.of("productCode", "P1", "quantity", 1, "payments", List.of(Map.of("paymentId", "p1")))));
+		assertThatThrownBy(() -> mapper.mapForContext(body, PurchaseOrder.class, OperationContext.POST))
+				.isInstanceOf(ContextMappingEngineError.class)
+				.hasMessageContaining("Profundidade máxima");
+	}
+}
@@ -0,0 +1,86 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.OrderItem;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class MergePatchTests {
+
+	@Test
+	void touchesOnlyPresentUpdateFieldsAndClearsExplicitNulls() {
+		PurchaseOrder base = order();
+
+		PurchaseOrder patched = Mapper.patchForX(base,
+				patch("{\"notes\":null,\"internalComments\":\"ic\",\"customerName\":\"ignorado\"}"), Update.class);
+
+		assertThat(patched.getNotes()).isNull();
+		assertThat(patched.getInternalComments()).isEqualTo("ic");
+		assertThat(patched.getCustomerName()).isEqualTo("Ana");
+		assertThat(patched.getItems()).isSameAs(base.getItems());
+		assertThat(base.getNotes()).isEqualTo("n");
+	}
+
+	@Test
+	void mergesListElementsByMergeId() {
+		PurchaseOrder base = order();
+
+		PurchaseOrder patched = Mapper.patchForX(base,
+				patch("{\"items\":[{\"quantity\":9,\"id\":2},{\"id\":3,\"quantity\":1,\"productCode\":\"ignorado\"}]}"),
+				Update.class);
+
+		assertThat(patched.getItems()).extracting(OrderItem::getId, OrderItem::getQuantity, OrderItem::getProductCode)
+				.containsExactly(
+						tuple(1L, 1, "p1"),
+						tuple(2L, 9, "p2"),
+						tuple(3L, 1, null));
+		assertThat(base.getItems()).extracting(OrderItem::getQuantity).containsExactly(1, 2);
+	}
+
+	@Test
+	void keepsBaseOrderAndAppendsNewIdsInPatchOrder() {
+		PurchaseOrder base = order();
+
+		PurchaseOrder patched = Mapper.patchForX(base,
+				patch("{\"items\":[{\"id\":4,\"quantity\":4},{\"id\":2,\"quantity\":20},"
+						+ "{\"quantity\":7},{\"id\":1,\"quantity\":10},{\"id\":3,\"quantity\":3}]}"),
+				Update.class);
+
+		assertThat(patched.getItems()).extracting(OrderItem::getId, OrderItem::getQuantity)
+				.containsExactly(
+						tuple(1L, 10),
+						tuple(2L, 20),
+						tuple(4L, 4),
+						tuple(null, 7),
+						tuple(3L, 3));
+		assertThat(patched.getItems().get(0).getProductCode()).isEqualTo("p1");
+	}
+
+	private static JsonMergePatch patch(String json) {
+		return new JsonMergePatch(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static PurchaseOrder order() {
+		PurchaseOrder order = new PurchaseOrder();
+		order.setId(1L);
+		order.setCustomerName("Ana");
+		order.setNotes("n");
+		List<OrderItem> items = new ArrayList<>();
+		for (long id = 1; id <= 2; id++) {
+			OrderItem item = new OrderItem();
+			item.setId(id);
+			item.setProductCode("p" + id);
+			item.setQuantity((int) id);
+			items.add(item);
+		}
+		order.setItems(items);
+		return order;
+	}
+}
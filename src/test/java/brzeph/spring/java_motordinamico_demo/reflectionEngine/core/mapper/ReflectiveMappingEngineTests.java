@@ -0,0 +1,67 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ContextMappingEngineError;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.MappingOptions;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring.MappingEvent;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring.MappingEvents;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.OrderItem;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReflectiveMappingEngineTests {
+
+	@Test
+	void instancesKeepTheirOwnOptionsSideBySide() {
+		MappingEngine shallow = ReflectiveMappingEngine.builder().name("shallow").options(new MappingOptions(true, 1)).build();
+		MappingEngine regular = ReflectiveMappingEngine.builder().name("regular").build();
+		PurchaseOrder order = new PurchaseOrder();
+		order.setCustomerName("Ana");
+		order.setItems(List.of(new OrderItem()));
+
+		assertThat(regular.mapToMap(order, Read.class, "customerName")).isEqualTo(Map.of("customerName", "Ana"));
+		assertThatThrownBy(() -> shallow.mapToMap(order, Read.class, null)).isInstanceOf(ContextMappingEngineError.class);
+		assertThat(regular.mapToMap(order, Read.class, null)).isEqualTo(Mapper.mapToMapForX(order, Read.class));
+	}
+
+	@Test
+	void eventsCanBeTurnedOffPerInstance(@TempDir Path dir) throws IOException {
+		MappingEngine quiet = ReflectiveMappingEngine.builder().name("quiet").events(false).build();
+		MappingEngine quietWithOptions = ReflectiveMappingEngine.builder().name("quiet-options")
+				.options(new MappingOptions(true, 8)).events(false).build();
+		MappingEngine regular = ReflectiveMappingEngine.builder().name("regular").build();
+		PurchaseOrder order = new PurchaseOrder();
+		Path file = dir.resolve("engines.jfr");
+
+		MappingEvents.configure(new MappingEvents.Thresholds(Duration.ZERO, 10_000, 1_000, 1024));
+		try (Recording recording = new Recording()) {
+			recording.enable(MappingEvent.class);
+			recording.start();
+			quiet.mapToMap(order, Read.class, null);
+			quietWithOptions.mapToObject(order, Read.class);
+			regular.mapToMap(order, Read.class, null);
+			recording.stop();
+			recording.dump(file);
+		} finally {
+			MappingEvents.configure(MappingEvents.Thresholds.defaults());
+		}
+
+		assertThat(RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals("brzeph.reflectionEngine.Mapping"))
+				.map(event -> event.getString("operation")))
+				.containsExactly("mapToMap");
+		assertThat(((ReflectiveMappingEngine) quietWithOptions).getOptions()).isEqualTo(new MappingOptions(true, 8, false));
+	}
+}
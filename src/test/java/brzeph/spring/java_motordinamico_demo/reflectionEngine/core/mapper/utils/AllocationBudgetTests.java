@@ -0,0 +1,131 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.ReflectionMapperEngine;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.OrderItem;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.Payment;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Orçamento de alocação (bytes por operação, medidos com ThreadMXBean.getThreadAllocatedBytes) dos caminhos
+ * quentes do motor sobre fixtures fixas. Um estouro indica lixo por requisição reintroduzido
+ * (ex.: ObjectMapper criado por conversão); ajustar o orçamento só com a mudança que o justifica.
+ */
+class AllocationBudgetTests {
+
+	// Orçamentos em bytes/operação, com folga de ~2x sobre o medido (JDK 17, fixture de 3 itens x 2 pagamentos).
+	private static final long MAP_BUDGET = 8 * 1024;
+	private static final long MERGE_BUDGET = 8 * 1024;
+	private static final long MAP_FOR_CONTEXT_BUDGET = 10 * 1024;
+	private static final long VALIDATE_BUDGET = 2 * 1024;
+
+	private static final int WARMUP = 2_000;
+	private static final int MEASURED = 2_000;
+
+	private static com.sun.management.ThreadMXBean threads;
+	private final AnnotationBasedMapper mapper = new AnnotationBasedMapper();
+
+	@BeforeAll
+	static void allocationCounterAvailable() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported());
+		threads.setThreadAllocatedMemoryEnabled(true);
+	}
+
+	@Test
+	void mapStaysWithinBudget() {
+		PurchaseOrder order = order();
+		assertWithinBudget("map", MAP_BUDGET, () -> ReflectionMapperEngine.map(order, PurchaseOrder.class, Read.class, true));
+	}
+
+	@Test
+	void mergeWithAnnotationStaysWithinBudget() {
+		PurchaseOrder base = order();
+		PurchaseOrder override = order();
+		override.setNotes("alterado");
+		assertWithinBudget("mergeWithAnnotation", MERGE_BUDGET,
+				() -> ReflectionMapperEngine.mergeWithAnnotation(base, override, Update.class));
+	}
+
+	@Test
+	void mapForContextStaysWithinBudget() {
+		Map<String, Object> body = Map.of(
+				"customerName", "Cliente",
+				"orderDate", "2024-01-02T10:00:00",
+				"notes", "n",
+				"items", List.of(
+						Map.of("productCode", "P1", "quantity", 2, "backordered", false),
+						Map.of("productCode", "P2", "quantity", 1),
+						Map.of("productCode", "P3", "quantity", 5)));
+		assertWithinBudget("mapForContext", MAP_FOR_CONTEXT_BUDGET,
+				() -> mapper.mapForContext(body, PurchaseOrder.class, OperationContext.POST));
+	}
+
+	@Test
+	void validateBodyStaysWithinBudget() {
+		PurchaseOrder order = order();
+		assertWithinBudget("validateBody", VALIDATE_BUDGET, () -> {
+			mapper.validateBody(order, OperationContext.POST);
+			return order;
+		});
+	}
+
+	private static void assertWithinBudget(String operation, long budget, java.util.function.Supplier<Object> call) {
+		// Aquecimento: caches de metadados preenchidos e código compilado pelo JIT antes da medição.
+		Object sink = null;
+		for (int i = 0; i < WARMUP; i++) sink = call.get();
+
+		long threadId = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < MEASURED; i++) sink = call.get();
+		long perOperation = (threads.getThreadAllocatedBytes(threadId) - before) / MEASURED;
+
+		assertThat(sink).isNotNull();
+		assertThat(perOperation)
+				.as("%s alocou %d bytes/operação (orçamento %d)", operation, perOperation, budget)
+				.isLessThanOrEqualTo(budget);
+	}
+
+	private static PurchaseOrder order() {
+		PurchaseOrder order = new PurchaseOrder();
+		order.setId(1L);
+		order.setCustomerName("Cliente");
+		order.setOrderDate(LocalDateTime.of(2024, 1, 2, 10, 0));
+		order.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+		order.setNotes("n");
+		order.setSecretData("s");
+		List<OrderItem> items = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			OrderItem item = new OrderItem();
+			item.setId((long) i);
+			item.setProductCode("P" + i);
+			item.setQuantity(i + 1);
+			List<Payment> payments = new ArrayList<>();
+			for (int p = 0; p < 2; p++) {
+				Payment payment = new Payment();
+				payment.setPaymentId("pay-" + i + "-" + p);
+				payment.setAmount(10.0 * (p + 1));
+				payment.setPaymentMethod("PIX");
+				payments.add(payment);
+			}
+			item.setPayments(payments);
+			items.add(item);
+		}
+		order.setItems(items);
+		return order;
+	}
+}
@@ -0,0 +1,89 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryFormatRequestTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void smileBodiesFollowTheOperationContext() throws Exception {
+		roundTrip(new SmileMapper(), CustomContextualMessageConverter.APPLICATION_SMILE);
+	}
+
+	@Test
+	void cborBodiesFollowTheOperationContext() throws Exception {
+		roundTrip(new CBORMapper(), CustomContextualMessageConverter.APPLICATION_CBOR);
+	}
+
+	private void roundTrip(ObjectMapper codec, MediaType mediaType) throws Exception {
+		// POST (@Create): internalComments e secretData do corpo são descartados.
+		JsonNode created = perform(codec, mediaType, post("/api/purchase-orders"), Map.of(
+				"customerName", "Ana",
+				"orderDate", "2024-01-02T10:00:00",
+				"notes", "n",
+				"internalComments", "ignorado no POST",
+				"secretData", "do cliente",
+				"items", List.of(Map.of("productCode", "P1", "quantity", 2))), 201);
+		assertThat(created.get("customerName").asText()).isEqualTo("Ana");
+		assertThat(created.get("notes").asText()).isEqualTo("n");
+		assertThat(created.path("internalComments").isNull() || created.path("internalComments").isMissingNode()).isTrue();
+		assertThat(created.has("secretData")).isFalse();
+		assertThat(created.get("items").get(0).get("quantity").asInt()).isEqualTo(2);
+		String url = "/api/purchase-orders/" + created.get("id").asLong();
+
+		// PUT (@Update): customerName não participa e é mantido; internalComments passa a ser aceito.
+		JsonNode updated = perform(codec, mediaType, put(url), Map.of(
+				"customerName", "Outro",
+				"orderDate", "2024-02-03T11:00:00",
+				"notes", "u",
+				"internalComments", "ic",
+				"secretData", "do cliente",
+				"items", List.of(Map.of("id", 0, "quantity", 5))), 200);
+		assertThat(updated.get("customerName").asText()).isEqualTo("Ana");
+		assertThat(updated.get("notes").asText()).isEqualTo("u");
+		assertThat(updated.get("internalComments").asText()).isEqualTo("ic");
+		assertThat(updated.has("secretData")).isFalse();
+		assertThat(updated.get("items").get(0).get("quantity").asInt()).isEqualTo(5);
+
+		// GET (@Read) no mesmo formato decodifica para a mesma projeção.
+		MvcResult read = mockMvc.perform(get(url).accept(mediaType))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(mediaType))
+				.andReturn();
+		assertThat(codec.readTree(read.getResponse().getContentAsByteArray())).isEqualTo(updated);
+	}
+
+	private JsonNode perform(ObjectMapper codec, MediaType mediaType, MockHttpServletRequestBuilder request,
+							 Map<String, Object> body, int expectedStatus) throws Exception {
+		MvcResult result = mockMvc.perform(request.contentType(mediaType).accept(mediaType).content(codec.writeValueAsBytes(body)))
+				.andExpect(status().is(expectedStatus))
+				.andExpect(content().contentTypeCompatibleWith(mediaType))
+				.andReturn();
+		return codec.readTree(result.getResponse().getContentAsByteArray());
+	}
+}
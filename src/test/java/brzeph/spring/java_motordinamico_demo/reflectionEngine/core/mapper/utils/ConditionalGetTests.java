@@ -0,0 +1,96 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.JsonMergePatch;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private String orderUrl;
+
+	@BeforeEach
+	void createOrder() throws Exception {
+		MvcResult created = mockMvc.perform(post("/api/purchase-orders").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"customerName\":\"Ana\",\"orderDate\":\"2024-01-02T10:00:00\",\"notes\":\"n\","
+								+ "\"items\":[{\"productCode\":\"P1\",\"quantity\":1}]}"))
+				.andExpect(status().isCreated())
+				.andReturn();
+		JsonNode body = new ObjectMapper().readTree(created.getResponse().getContentAsByteArray());
+		orderUrl = "/api/purchase-orders/" + body.get("id").asLong();
+	}
+
+	@Test
+	void unchangedResourceKeepsItsEtagAndAnswersNotModified() throws Exception {
+		String etag = jsonEtag();
+		assertThat(jsonEtag()).isEqualTo(etag);
+
+		mockMvc.perform(get(orderUrl).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(content().bytes(new byte[0]));
+		mockMvc.perform(get(orderUrl).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void changedFieldProducesANewEtag() throws Exception {
+		String etag = jsonEtag();
+
+		mockMvc.perform(patch(orderUrl).contentType(JsonMergePatch.MEDIA_TYPE_VALUE).content("{\"notes\":\"changed\"}"))
+				.andExpect(status().isOk());
+
+		String changed = jsonEtag();
+		assertThat(changed).isNotEqualTo(etag);
+		mockMvc.perform(get(orderUrl).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, changed));
+	}
+
+	@Test
+	void etagDependsOnTheSelectedRepresentation() throws Exception {
+		MvcResult json = mockMvc.perform(get(orderUrl).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andReturn();
+		MvcResult smile = mockMvc.perform(get(orderUrl).accept(CustomContextualMessageConverter.APPLICATION_SMILE))
+				.andExpect(status().isOk()).andReturn();
+
+		String jsonTag = json.getResponse().getHeader(HttpHeaders.ETAG);
+		String smileTag = smile.getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(jsonTag).isNotNull().isNotEqualTo(smileTag);
+		assertThat(json.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+		assertThat(smile.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+
+		mockMvc.perform(get(orderUrl).accept(CustomContextualMessageConverter.APPLICATION_SMILE)
+						.header(HttpHeaders.IF_NONE_MATCH, jsonTag))
+				.andExpect(status().isOk());
+	}
+
+	private String jsonEtag() throws Exception {
+		String etag = mockMvc.perform(get(orderUrl).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).isNotNull();
+		return etag;
+	}
+}
@@ -0,0 +1,78 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.MappingContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Create;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "reflection-engine.contexts.review="
+		+ "brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.CustomContextRequestTests$Review")
+@AutoConfigureMockMvc
+@Import(CustomContextRequestTests.NoteController.class)
+class CustomContextRequestTests {
+
+	private static final String BODY = "{\"title\":\"Relatório\",\"reviewer\":\"Bia\"}";
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.FIELD)
+	@interface Review {}
+
+	static class Note {
+		@Read @Create
+		public String title;
+
+		@Read @Review
+		public String reviewer;
+	}
+
+	@RestController
+	static class NoteController {
+
+		@PostMapping("/test/notes")
+		Note create(@RequestBody Note note) {
+			return note;
+		}
+
+		@PostMapping("/test/notes/review")
+		Note review(@RequestBody @MappingContext("review") Note note) {
+			return note;
+		}
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void registeredContextDrivesRequestMapping() throws Exception {
+		mockMvc.perform(post("/test/notes/review").contentType(MediaType.APPLICATION_JSON).content(BODY))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.reviewer").value("Bia"))
+				.andExpect(jsonPath("$.title").doesNotExist());
+	}
+
+	@Test
+	void parametersWithoutMappingContextKeepTheHttpMethodContext() throws Exception {
+		mockMvc.perform(post("/test/notes").contentType(MediaType.APPLICATION_JSON).content(BODY))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.title").value("Relatório"))
+				.andExpect(jsonPath("$.reviewer").doesNotExist());
+	}
+}
@@ -0,0 +1,62 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.aot;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.OrderItem;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.Payment;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrderController;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EngineReflectionHintsTests {
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.FIELD)
+	@interface PartnerView {}
+
+	public static class BaseDocument {
+		private String tenant;
+	}
+
+	public static class PartnerDocument extends BaseDocument {
+		@PartnerView
+		private String reference;
+	}
+
+	@Test
+	void registersAnnotatedDtosAndEverythingTheEngineInstantiates() {
+		RuntimeHints hints = new RuntimeHints();
+
+		Set<Class<?>> registered = EngineReflectionHints.register(hints, getClass().getClassLoader(),
+				List.of(PurchaseOrder.class.getPackageName()), List.of());
+
+		assertThat(registered).containsExactlyInAnyOrder(PurchaseOrder.class, OrderItem.class, Payment.class);
+		for (Class<?> type : registered) {
+			assertThat(RuntimeHintsPredicates.reflection().onType(type)
+					.withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+					.accepts(hints);
+		}
+		assertThat(hints.reflection().getTypeHint(PurchaseOrderController.class)).isNull();
+	}
+
+	@Test
+	void customContextsPullInTheirClassesAndSuperclasses() {
+		RuntimeHints hints = new RuntimeHints();
+
+		Set<Class<?>> registered = EngineReflectionHints.register(hints, getClass().getClassLoader(),
+				List.of(getClass().getPackageName()), List.of(PartnerView.class));
+
+		assertThat(registered).containsExactlyInAnyOrder(PartnerDocument.class, BaseDocument.class);
+		assertThat(RuntimeHintsPredicates.reflection().onType(PartnerView.class)).accepts(hints);
+	}
+}
@@ -0,0 +1,63 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.async;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ContextMappingEngineError;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncMapperTests {
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	@AfterEach
+	void shutdown() {
+		RequestContextHolder.resetRequestAttributes();
+		executor.shutdownNow();
+	}
+
+	@Test
+	void mapsOnTheExecutorWithExplicitContext() {
+		AsyncMapper asyncMapper = new AsyncMapper(new AnnotationBasedMapper(), executor);
+		Map<String, Object> body = Map.of("customerName", "Ana", "orderDate", "2024-01-02T10:00:00",
+				"items", List.of(), "secretData", "ignorado");
+
+		PurchaseOrder order = asyncMapper.mapForContext(body, PurchaseOrder.class, OperationContext.POST).join();
+
+		assertThat(order.getCustomerName()).isEqualTo("Ana");
+		assertThat(order.getSecretData()).isNull();
+		assertThatThrownBy(() -> asyncMapper.mapForContext(Map.of(), PurchaseOrder.class, OperationContext.POST).join())
+				.isInstanceOf(CompletionException.class)
+				.hasCauseInstanceOf(ContextMappingEngineError.class);
+	}
+
+	@Test
+	void tasksDoNotSeeTheRequestThreadLocals() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("PUT", "/orders/1")));
+		AtomicReference<Object> seen = new AtomicReference<>("não executado");
+		AnnotationBasedMapper recording = new AnnotationBasedMapper() {
+			@Override
+			public void validateBody(Object requestBody, OperationContext context) {
+				seen.set(RequestContextHolder.getRequestAttributes());
+			}
+		};
+
+		new AsyncMapper(recording, executor).validateBody(new PurchaseOrder(), OperationContext.PUT).join();
+
+		assertThat(seen.get()).isNull();
+	}
+}
@@ -0,0 +1,106 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.buffers;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.CustomContextualMessageConverter;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.limits.PayloadLimits;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BufferPoolTests {
+
+	@Test
+	void reusesBuffersOfTheSameSizeClass() {
+		BufferPool pool = new BufferPool(64 * 1024, 2);
+
+		byte[] first;
+		try (PooledBuffer buffer = pool.acquire(5000)) {
+			first = buffer.array();
+		}
+		try (PooledBuffer buffer = pool.acquire(8192)) {
+			assertThat(buffer.array()).isSameAs(first).hasSize(8192);
+		}
+
+		BufferPoolStats eightKb = pool.stats().get(1);
+		assertThat(eightKb.bufferSize()).isEqualTo(8192);
+		assertThat(eightKb.hits()).isEqualTo(1);
+		assertThat(eightKb.misses()).isEqualTo(1);
+		assertThat(eightKb.hitRate()).isEqualTo(0.5);
+		assertThat(eightKb.inUse()).isZero();
+	}
+
+	@Test
+	void boundsRetainedBuffersAndRefusesOversizedRequests() {
+		BufferPool pool = new BufferPool(64 * 1024, 2);
+
+		PooledBuffer a = pool.acquire(100);
+		PooledBuffer b = pool.acquire(100);
+		PooledBuffer c = pool.acquire(100);
+		a.close();
+		b.close();
+		c.close();
+		c.close();
+
+		BufferPoolStats fourKb = pool.stats().get(0);
+		assertThat(fourKb.free()).isEqualTo(2);
+		assertThat(fourKb.discarded()).isEqualTo(1);
+		assertThat(pool.retainedBytes()).isEqualTo(2 * 4096);
+
+		assertThat(pool.acquire(64 * 1024 + 1)).isNull();
+		assertThat(pool.oversizedRequests()).isEqualTo(1);
+	}
+
+	@Test
+	void capsTheTotalRetainedBytesAcrossSizeClasses() {
+		BufferPool pool = new BufferPool(64 * 1024, 8, 80 * 1024);
+
+		PooledBuffer a = pool.acquire(64 * 1024);
+		PooledBuffer b = pool.acquire(16 * 1024);
+		PooledBuffer c = pool.acquire(16 * 1024);
+		a.close();
+		b.close();
+		c.close();
+
+		// 64KB + 16KB cabem no limite; o segundo buffer de 16KB passaria de 80KB e é descartado.
+		assertThat(pool.retainedBytes()).isEqualTo(80 * 1024);
+		assertThat(pool.stats().get(2).discarded()).isEqualTo(1);
+
+		try (PooledBuffer reused = pool.acquire(64 * 1024)) {
+			assertThat(pool.retainedBytes()).isEqualTo(16 * 1024);
+		}
+		assertThat(pool.retainedBytes()).isEqualTo(80 * 1024);
+	}
+
+	@Test
+	void converterReadsSizedBodiesThroughThePool() throws Exception {
+		BufferPool pool = new BufferPool(64 * 1024, 4);
+		CustomContextualMessageConverter converter = new CustomContextualMessageConverter(
+				new AnnotationBasedMapper(), new ObjectMapper(), PayloadLimits.defaults(), pool);
+
+		for (String customer : new String[]{"Ana", "Bia"}) {
+			PurchaseOrder order = converter.read(PurchaseOrder.class,
+					sized("{\"customerName\":\"" + customer + "\",\"orderDate\":\"2024-01-02T10:00:00\",\"items\":[]}"), OperationContext.POST);
+			assertThat(order.getCustomerName()).isEqualTo(customer);
+		}
+
+		BufferPoolStats fourKb = pool.stats().get(0);
+		assertThat(fourKb.misses()).isEqualTo(1);
+		assertThat(fourKb.hits()).isEqualTo(1);
+		assertThat(fourKb.inUse()).isZero();
+	}
+
+	private static MockHttpInputMessage sized(String body) {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		MockHttpInputMessage message = new MockHttpInputMessage(bytes);
+		message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		message.getHeaders().setContentLength(bytes.length);
+		return message;
+	}
+}
@@ -0,0 +1,104 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassMetadataCacheTests {
+
+	private final List<Class<?>> loads = new ArrayList<>();
+
+	private ClassMetadataCache<String> cache(int maxSize) {
+		return new ClassMetadataCache<>("test", maxSize, type -> {
+			loads.add(type);
+			return type.getSimpleName();
+		});
+	}
+
+	@Test
+	void hitsAndMissesAreCounted() {
+		ClassMetadataCache<String> cache = cache(4);
+
+		assertThat(cache.get(String.class)).isEqualTo("String");
+		assertThat(cache.get(String.class)).isEqualTo("String");
+		cache.get(Integer.class);
+
+		assertThat(cache.stats()).isEqualTo(new CacheStats("test", 1, 2, 0, 2, 4));
+		assertThat(loads).containsExactly(String.class, Integer.class);
+	}
+
+	@Test
+	void sizeBoundEvictsTheEldestEntry() {
+		ClassMetadataCache<String> cache = cache(2);
+		cache.get(String.class);
+		cache.get(Integer.class);
+		cache.get(Long.class);
+
+		assertThat(cache.stats().size()).isEqualTo(2);
+		assertThat(cache.stats().evictions()).isEqualTo(1);
+
+		cache.get(Integer.class);
+		cache.get(Long.class);
+		assertThat(loads).containsExactly(String.class, Integer.class, Long.class);
+		cache.get(String.class);
+		assertThat(loads).containsExactly(String.class, Integer.class, Long.class, String.class);
+	}
+
+	@Test
+	void reloadAfterInvalidateIsNotEvictedByItsStaleQueueEntry() {
+		ClassMetadataCache<String> cache = cache(2);
+		cache.get(String.class);
+		cache.get(Integer.class);
+		cache.invalidate(String.class);
+		cache.get(String.class);
+		assertThat(cache.stats().size()).isEqualTo(2);
+
+		cache.get(Long.class);
+
+		CacheStats stats = cache.stats();
+		assertThat(stats.size()).isEqualTo(2);
+		assertThat(stats.evictions()).isEqualTo(1);
+		loads.clear();
+		cache.get(String.class);
+		cache.get(Long.class);
+		assertThat(loads).isEmpty();
+		cache.get(Integer.class);
+		assertThat(loads).containsExactly(Integer.class);
+	}
+
+	@Test
+	void repeatedInvalidationKeepsTheSizeConsistent() {
+		ClassMetadataCache<String> cache = cache(2);
+		for (int i = 0; i < 5; i++) {
+			cache.get(String.class);
+			cache.invalidate(String.class);
+			cache.invalidate(String.class);
+		}
+		cache.get(String.class);
+		cache.get(Integer.class);
+
+		assertThat(cache.stats().size()).isEqualTo(2);
+		assertThat(cache.stats().evictions()).isZero();
+	}
+
+	@Test
+	void clearStartsANewGeneration() {
+		ClassMetadataCache<String> cache = cache(2);
+		cache.get(String.class);
+		cache.get(Integer.class);
+
+		EngineCaches.clearAll();
+
+		assertThat(cache.stats().size()).isZero();
+		cache.get(String.class);
+		cache.get(Integer.class);
+		cache.get(Long.class);
+		assertThat(loads).containsExactly(String.class, Integer.class, String.class, Integer.class, Long.class);
+		assertThat(cache.stats().size()).isEqualTo(2);
+		assertThat(cache.stats().evictions()).isEqualTo(1);
+		assertThat(EngineCaches.stats()).contains(cache.stats());
+	}
+}
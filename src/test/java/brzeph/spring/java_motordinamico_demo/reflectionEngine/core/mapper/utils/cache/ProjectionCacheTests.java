@@ -0,0 +1,194 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.cache.CacheableProjection;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Id;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Version;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProjectionCacheTests {
+
+	@CacheableProjection
+	public static class Parent {
+		@Read @Id
+		Long id = 1L;
+
+		@Read @Version
+		Long version = 1L;
+
+		@Read @Update
+		String label = "p";
+
+		@Read
+		Child a;
+
+		@Read
+		Child b;
+
+		@Read
+		List<Leaf> leaves = List.of(new Leaf());
+	}
+
+	public static class Child {
+		@Read
+		String name = "child";
+
+		@Read
+		Leaf leaf = new Leaf();
+	}
+
+	public static class Leaf {
+		@Read
+		String value = "leaf";
+	}
+
+	private long capacity;
+
+	@BeforeEach
+	void clearCache() {
+		ProjectionCache.clear();
+		capacity = ProjectionCache.stats().capacity();
+	}
+
+	@AfterEach
+	void restoreCache() {
+		ProjectionCache.configure(capacity);
+		ProjectionCache.clear();
+	}
+
+	@Test
+	void sameVersionIsServedFromTheCache() {
+		Parent parent = new Parent();
+		CacheStats before = ProjectionCache.stats();
+
+		Object first = Mapper.mapToMapForX(parent, Read.class);
+		Object second = Mapper.mapToMapForX(parent, Read.class);
+
+		CacheStats after = ProjectionCache.stats();
+		assertThat(second).isSameAs(first);
+		assertThat(after.misses() - before.misses()).isEqualTo(1);
+		assertThat(after.hits() - before.hits()).isEqualTo(1);
+
+		parent.version = 2L;
+		assertThat(Mapper.mapToMapForX(parent, Read.class)).isNotSameAs(first).isEqualTo(withVersion(first, 2L));
+	}
+
+	@Test
+	void weightBoundEvictsTheLeastRecentlyUsedEntry() {
+		Parent first = parent(1L);
+		Object projection = Mapper.mapToMapForX(first, Read.class);
+		long weight = ProjectionCache.stats().size();
+		ProjectionCache.configure(weight);
+		long evictions = ProjectionCache.stats().evictions();
+
+		Mapper.mapToMapForX(parent(2L), Read.class);
+
+		CacheStats stats = ProjectionCache.stats();
+		assertThat(stats.evictions() - evictions).isEqualTo(1);
+		assertThat(stats.size()).isEqualTo(weight).isLessThanOrEqualTo(stats.capacity());
+		assertThat(Mapper.mapToMapForX(first, Read.class)).isNotSameAs(projection).isEqualTo(projection);
+	}
+
+	@Test
+	void mergeInvalidatesEveryProjectionOfTheEntity() {
+		Parent parent = parent(1L);
+		Parent other = parent(2L);
+		Object read = Mapper.mapToMapForX(parent, Read.class);
+		Object masked = Mapper.mapToMapForX(parent, Read.class, "id,label");
+		Object untouched = Mapper.mapToMapForX(other, Read.class);
+
+		Parent update = new Parent();
+		update.label = "changed";
+		Mapper.mergeForX(parent, update, Update.class);
+
+		assertThat(Mapper.mapToMapForX(parent, Read.class)).isNotSameAs(read);
+		assertThat(Mapper.mapToMapForX(parent, Read.class, "id,label")).isNotSameAs(masked);
+		assertThat(Mapper.mapToMapForX(other, Read.class)).isSameAs(untouched);
+	}
+
+	@Test
+	void equivalentMasksShareOneEntry() {
+		Parent parent = new Parent();
+		Object masked = Mapper.mapToMapForX(parent, Read.class, "id,label");
+		long weight = ProjectionCache.stats().size();
+
+		assertThat(Mapper.mapToMapForX(parent, Read.class, "label,id")).isSameAs(masked);
+		assertThat(Mapper.mapToMapForX(parent, Read.class, " id , label,unknown")).isSameAs(masked);
+		assertThat(ProjectionCache.stats().size()).isEqualTo(weight);
+		assertThat(Mapper.mapToMapForX(parent, Read.class, "id")).isNotSameAs(masked);
+	}
+
+	@Test
+	void invalidationFindsEntriesAfterTheIdentityMetadataIsReloaded() throws ClassNotFoundException {
+		Parent parent = new Parent();
+		Object projection = Mapper.mapToMapForX(parent, Read.class);
+
+		// Mais de 1024 classes consultadas descartam os metadados de identidade de Parent (cache FIFO por classe).
+		for (String component : List.of("Ljava.lang.String;", "Ljava.lang.Integer;", "Ljava.lang.Long;",
+				"Ljava.lang.Double;", "Ljava.lang.Short;")) {
+			for (int dimensions = 1; dimensions <= 255; dimensions++) {
+				ProjectionCache.isCacheable(Class.forName("[".repeat(dimensions) + component));
+			}
+		}
+
+		assertThat(Mapper.mapToMapForX(parent, Read.class)).isSameAs(projection);
+		ProjectionCache.invalidate(parent);
+		assertThat(ProjectionCache.stats().size()).isZero();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void cachedProjectionsAreImmutableAtEveryLevel() {
+		Parent parent = new Parent();
+		parent.a = new Child();
+
+		Map<String, Object> projection = (Map<String, Object>) Mapper.mapToMapForX(parent, Read.class);
+		Map<String, Object> child = (Map<String, Object>) projection.get("a");
+		List<Object> leaves = (List<Object>) projection.get("leaves");
+
+		assertThatThrownBy(() -> projection.put("label", "x")).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> child.remove("name")).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> ((Map<String, Object>) child.get("leaf")).clear())
+				.isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> leaves.add(Map.of())).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> ((Map<String, Object>) leaves.get(0)).put("value", "x"))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void sharedChildIsFrozenOnce() {
+		Parent parent = new Parent();
+		parent.a = parent.b = new Child();
+
+		@SuppressWarnings("unchecked")
+		Map<String, Object> projection = (Map<String, Object>) Mapper.mapToMapForX(parent, Read.class);
+
+		assertThat(projection.get("a")).isSameAs(projection.get("b"));
+		assertThat(projection.get("a")).isEqualTo(Map.of("name", "child", "leaf", Map.of("value", "leaf")));
+		assertThat(Mapper.mapToMapForX(parent, Read.class)).isSameAs(projection);
+	}
+
+	private static Parent parent(long id) {
+		Parent parent = new Parent();
+		parent.id = id;
+		return parent;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> withVersion(Object projection, long version) {
+		Map<String, Object> expected = new HashMap<>((Map<String, Object>) projection);
+		expected.put("version", version);
+		return expected;
+	}
+}
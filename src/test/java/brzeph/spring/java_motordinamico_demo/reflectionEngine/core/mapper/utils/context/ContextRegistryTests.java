@@ -0,0 +1,56 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalStateEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContextRegistryTests {
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.FIELD)
+	@interface AdminRead {}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.FIELD)
+	@interface InternalSync {}
+
+	static class Account {
+		@Read @AdminRead
+		private String login = "ana";
+
+		@AdminRead @InternalSync
+		private String passwordHash = "x1";
+
+		@InternalSync
+		private long revision = 7;
+	}
+
+	@Test
+	void userDefinedContextsDriveProjectionThroughBitmaps() {
+		int adminRead = ContextRegistry.register("admin-read", AdminRead.class);
+
+		assertThat(ContextRegistry.resolve("admin-read")).isEqualTo(AdminRead.class);
+		assertThat(ContextRegistry.register("admin-read", AdminRead.class)).isEqualTo(adminRead);
+		assertThat(FieldParticipation.of(Account.class).bitmap(AdminRead.class).toString()).isEqualTo("{0, 1}");
+		assertThat(Mapper.mapToMapForX(new Account(), Read.class)).isEqualTo(Map.of("login", "ana"));
+		assertThat(Mapper.mapToMapForX(new Account(), AdminRead.class)).isEqualTo(Map.of("login", "ana", "passwordHash", "x1"));
+		assertThatThrownBy(() -> ContextRegistry.register("admin-read", InternalSync.class))
+				.isInstanceOf(IllegalStateEngineException.class);
+	}
+
+	@Test
+	void unregisteredAnnotationsAreCompiledOnFirstUse() {
+		assertThat(FieldParticipation.of(Account.class).participates(2, InternalSync.class)).isTrue();
+		assertThat(ContextRegistry.resolve("InternalSync")).isEqualTo(InternalSync.class);
+	}
+}
@@ -0,0 +1,71 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl.ReflectionMapperEngine;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.OrderItem;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.Payment;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DirtyFieldsTests {
+
+	private final AnnotationBasedMapper mapper = new AnnotationBasedMapper();
+
+	@Test
+	void mapForContextRecordsKeysPresentInTheBody() {
+		PurchaseOrder body = mapper.mapForContext(Map.of("orderDate", "2024-01-02T10:00:00", "notes", "nova",
+				"items", List.of(Map.of("id", 1, "quantity", 5))), PurchaseOrder.class, OperationContext.PUT);
+
+		FieldPlan plan = FieldPlan.of(PurchaseOrder.class);
+		assertThat(DirtyFields.of(body).stream().toArray()).containsExactly(
+				plan.indexOf("orderDate"), plan.indexOf("items"), plan.indexOf("notes"));
+		assertThat(DirtyFields.of(body.getItems().get(0)).cardinality()).isEqualTo(2);
+		assertThat(DirtyFields.of(new PurchaseOrder())).isNull();
+	}
+
+	@Test
+	void mergeVisitsOnlyFieldsPresentInTheRequest() {
+		PurchaseOrder base = base();
+		PurchaseOrder body = mapper.mapForContext(Map.of("orderDate", "2024-01-02T10:00:00",
+				"items", List.of(Map.of("id", 1, "quantity", 5))), PurchaseOrder.class, OperationContext.PUT);
+		// Alterado depois do mapeamento: não veio na requisição, portanto o merge não o visita.
+		body.setInternalComments("fora do body");
+
+		PurchaseOrder merged = ReflectionMapperEngine.mergeWithAnnotation(base, body, Update.class);
+
+		assertThat(merged.getOrderDate()).isEqualTo(LocalDateTime.of(2024, 1, 2, 10, 0));
+		assertThat(merged.getNotes()).isEqualTo("n");
+		assertThat(merged.getInternalComments()).isEqualTo("ic");
+		OrderItem item = merged.getItems().get(0);
+		assertThat(item.getQuantity()).isEqualTo(5);
+		assertThat(item.getProductCode()).isEqualTo("P1");
+		assertThat(item.getPayments()).isSameAs(base.getItems().get(0).getPayments());
+
+		DirtyFields.forget(body);
+		assertThat(ReflectionMapperEngine.mergeWithAnnotation(base, body, Update.class).getInternalComments())
+				.isEqualTo("fora do body");
+	}
+
+	private static PurchaseOrder base() {
+		OrderItem item = new OrderItem();
+		item.setId(1L);
+		item.setProductCode("P1");
+		item.setQuantity(1);
+		item.setPayments(List.of(new Payment()));
+		PurchaseOrder order = new PurchaseOrder();
+		order.setId(7L);
+		order.setOrderDate(LocalDateTime.of(2023, 1, 1, 0, 0));
+		order.setNotes("n");
+		order.setInternalComments("ic");
+		order.setItems(List.of(item));
+		return order;
+	}
+}
@@ -0,0 +1,66 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Id;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldPlanTests {
+
+	public static class BaseEntity {
+		private static final String TABLE = "ignorado";
+
+		@Read @Id
+		Long id;
+
+		@Read
+		String label = "base";
+	}
+
+	public static class Customer extends BaseEntity {
+		@Read @Update
+		String name;
+
+		// Sombreia o campo herdado: passa a valer a declaração da subclasse.
+		@Update
+		String label;
+	}
+
+	public static class VipCustomer extends Customer {
+		@Read
+		Integer tier;
+	}
+
+	@Test
+	void flattensHierarchyWithSuperclassFieldsFirstAndShadowingInPlace() {
+		Field[] fields = FieldPlan.of(VipCustomer.class).fields();
+
+		assertThat(Arrays.stream(fields).map(Field::getName)).containsExactly("id", "label", "name", "tier");
+		assertThat(fields[1].getDeclaringClass()).isEqualTo(Customer.class);
+		assertThat(FieldPlan.of(VipCustomer.class).indexOf("TABLE")).isEqualTo(-1);
+	}
+
+	@Test
+	void engineSeesInheritedFields() {
+		VipCustomer source = new VipCustomer();
+		source.id = 10L;
+		source.name = "Ana";
+		source.tier = 2;
+
+		assertThat(Mapper.mapToMapForX(source, Read.class))
+				.isEqualTo(Map.of("id", 10L, "name", "Ana", "tier", 2));
+
+		VipCustomer update = new VipCustomer();
+		update.label = "novo";
+		VipCustomer merged = Mapper.mergeForX(source, update, Update.class);
+		assertThat(merged.id).isEqualTo(10L);
+		assertThat(merged.label).isEqualTo("novo");
+	}
+}
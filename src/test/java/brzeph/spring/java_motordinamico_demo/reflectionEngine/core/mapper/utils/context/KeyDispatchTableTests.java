@@ -0,0 +1,62 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Create;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ContextMappingEngineError;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper.UnknownKeyPolicy;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyDispatchTableTests {
+
+	@Test
+	void dispatchesOnlyTheFieldsOfTheContext() {
+		FieldParticipation participation = FieldParticipation.of(PurchaseOrder.class);
+		KeyDispatchTable create = participation.dispatch(Create.class);
+		KeyDispatchTable read = participation.dispatch(Read.class);
+
+		assertThat(create.size()).isEqualTo(participation.bitmap(Create.class).cardinality());
+		assertThat(participation.fields()[create.indexOf("customerName")].getName()).isEqualTo("customerName");
+		assertThat(create.indexOf("id")).isEqualTo(-1);
+		assertThat(read.indexOf("id")).isEqualTo(FieldPlan.of(PurchaseOrder.class).indexOf("id"));
+		assertThat(create.indexOf("secretData")).isEqualTo(-1);
+		assertThat(create.indexOf("unknown")).isEqualTo(-1);
+		assertThat(create.indexOf(null)).isEqualTo(-1);
+	}
+
+	@Test
+	void unknownKeysAreIgnoredOrRejectedByPolicy() {
+		Map<String, Object> body = Map.of("customerName", "Ana", "orderDate", "2024-01-02T10:00:00", "items",
+				List.of(Map.of("productCode", "P1", "quantity", 1)), "id", 99, "secretData", "fora do contexto");
+
+		PurchaseOrder lenient = new AnnotationBasedMapper(UnknownKeyPolicy.IGNORE)
+				.mapForContext(withKey(body, "typo", 1), PurchaseOrder.class, OperationContext.POST);
+		assertThat(lenient.getCustomerName()).isEqualTo("Ana");
+		assertThat(lenient.getId()).isNull();
+
+		AnnotationBasedMapper strict = new AnnotationBasedMapper(UnknownKeyPolicy.REJECT);
+		// Campos existentes fora do contexto continuam apenas filtrados.
+		assertThat(strict.mapForContext(body, PurchaseOrder.class, OperationContext.POST).getSecretData()).isNull();
+		assertThatThrownBy(() -> strict.mapForContext(withKey(body, "typo", 1), PurchaseOrder.class, OperationContext.POST))
+				.isInstanceOf(ContextMappingEngineError.class)
+				.hasMessageContaining("typo");
+		Map<String, Object> nestedTypo = withKey(body, "items", List.of(Map.of("productCode", "P1", "quantity", 1, "qty", 2)));
+		assertThatThrownBy(() -> strict.mapForContext(nestedTypo, PurchaseOrder.class, OperationContext.POST))
+				.hasMessageContaining("qty");
+	}
+
+	private static Map<String, Object> withKey(Map<String, Object> body, String key, Object value) {
+		Map<String, Object> copy = new HashMap<>(body);
+		copy.put(key, value);
+		return copy;
+	}
+}
@@ -0,0 +1,186 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Create;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.MergeId;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.validations.NotBlank;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.validations.Required;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ContextMappingEngineError;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ValidationEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.JsonMergePatch;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CollectionFactoryTests {
+
+	public enum Color { RED, GREEN }
+
+	public static class Tag {
+		@Read @Create @Update @MergeId
+		public String code;
+
+		@Read @Create @Update
+		public String label;
+
+		public String internal;
+	}
+
+	public static class Step {
+		@Read @Create @Update
+		public String name;
+	}
+
+	public static class Entry {
+		@Read @Create @Required @NotBlank
+		public String value;
+	}
+
+	public static class Catalog {
+		@Read @Create @Update
+		public Set<Tag> tags;
+
+		@Read @Create
+		public Set<Color> colors;
+
+		@Read @Create
+		public Deque<Tag> steps;
+
+		@Read @Create
+		public Tag[] featured;
+
+		@Read @Create @Update
+		public Map<String, Tag> byCode;
+
+		@Read @Create
+		public SortedSet<String> labels;
+
+		@Read @Update
+		public Deque<Step> history;
+
+		@Read @Create
+		public Entry[] entries;
+
+		@Read @Create
+		public Map<String, Entry> entriesByKey;
+	}
+
+	@Test
+	void choosesTheCheapestImplementationForTheDeclaredType() {
+		assertThat(CollectionFactory.newCollection(List.class, String.class, 10)).isInstanceOf(ArrayList.class);
+		assertThat(CollectionFactory.newCollection(Set.class, String.class, 10)).isInstanceOf(LinkedHashSet.class);
+		assertThat(CollectionFactory.newCollection(Set.class, Color.class, 10)).isInstanceOf(EnumSet.class);
+		assertThat(CollectionFactory.newCollection(NavigableSet.class, String.class, 10)).isInstanceOf(TreeSet.class);
+		assertThat(CollectionFactory.newCollection(Deque.class, String.class, 10)).isInstanceOf(ArrayDeque.class);
+		assertThat(CollectionFactory.newMap(Map.class, Color.class, 2)).isInstanceOf(EnumMap.class);
+		assertThat(CollectionFactory.newMap(SortedMap.class, String.class, 2)).isInstanceOf(TreeMap.class);
+		assertThatThrownBy(() -> CollectionFactory.newCollection(EnumSet.class, String.class, 1))
+				.isInstanceOf(IllegalArgumentEngineException.class);
+	}
+
+	@Test
+	void mapForContextPreservesDeclaredTypesAndMapsNestedValues() {
+		Map<String, Object> tag = Map.of("code", "a", "label", "A", "internal", "ignorado");
+		Catalog catalog = new AnnotationBasedMapper().mapForContext(Map.of(
+				"tags", List.of(tag),
+				"colors", List.of("GREEN", "RED"),
+				"steps", List.of(tag),
+				"featured", List.of(tag),
+				"byCode", Map.of("a", tag)), Catalog.class, OperationContext.POST);
+
+		assertThat(catalog.tags).isInstanceOf(LinkedHashSet.class).singleElement().satisfies(t -> assertThat(t.internal).isNull());
+		assertThat(catalog.colors).isInstanceOf(EnumSet.class).containsExactly(Color.RED, Color.GREEN);
+		assertThat(catalog.steps).isInstanceOf(ArrayDeque.class).hasSize(1);
+		assertThat(catalog.featured).hasSize(1);
+		assertThat(catalog.featured[0].label).isEqualTo("A");
+		assertThat(catalog.byCode.get("a").internal).isNull();
+	}
+
+	@Test
+	void nullElementsAreRejectedOnlyByNullIntolerantCollections() throws NoSuchFieldException {
+		Collection<Object> list = CollectionFactory.newCollection(List.class, Step.class, 1);
+		CollectionFactory.add(list, null, Catalog.class.getField("history"));
+		assertThat(list).containsExactly((Object) null);
+
+		for (String name : List.of("steps", "colors", "labels")) {
+			Map<String, Object> body = Map.of(name, Arrays.asList(name.equals("colors") ? "RED" : null, null));
+			assertThatThrownBy(() -> new AnnotationBasedMapper().mapForContext(body, Catalog.class, OperationContext.POST))
+					.isInstanceOf(ContextMappingEngineError.class)
+					.hasMessageContaining("Elemento nulo não permitido em " + name);
+		}
+
+		JsonMergePatch patch = new JsonMergePatch("{\"history\":[{\"name\":\"a\"},null]}".getBytes());
+		assertThatThrownBy(() -> Mapper.patchForX(new Catalog(), patch, Update.class))
+				.isInstanceOf(ValidationEngineException.class)
+				.hasMessageContaining("history");
+	}
+
+	@Test
+	void validationVisitsArrayItemsAndMapValues() {
+		Map<String, Object> blank = Map.of("value", " ");
+		AnnotationBasedMapper mapper = new AnnotationBasedMapper();
+
+		assertThatThrownBy(() -> mapper.mapForContext(Map.of("entries", List.of(Map.of("value", "ok"), blank)),
+				Catalog.class, OperationContext.POST))
+				.isInstanceOf(ContextMappingEngineError.class)
+				.hasMessageContaining("Campo não pode estar em branco: value");
+		assertThatThrownBy(() -> mapper.mapForContext(Map.of("entriesByKey", Map.of("a", Map.of())),
+				Catalog.class, OperationContext.POST))
+				.isInstanceOf(ContextMappingEngineError.class)
+				.hasMessageContaining("Campo obrigatório não informado: value");
+
+		Catalog valid = mapper.mapForContext(Map.of("entries", Arrays.asList(Map.of("value", "ok"), null),
+				"entriesByKey", Map.of("a", Map.of("value", "ok"))), Catalog.class, OperationContext.POST);
+		assertThat(valid.entries).hasSize(2);
+		assertThat(valid.entriesByKey.get("a").value).isEqualTo("ok");
+	}
+
+	@Test
+	void sortedSetsRequireComparableElements() {
+		assertThat(CollectionFactory.newCollection(SortedSet.class, String.class, 2)).isInstanceOf(TreeSet.class);
+		assertThatThrownBy(() -> CollectionFactory.newCollection(SortedSet.class, Tag.class, 2))
+				.isInstanceOf(IllegalArgumentEngineException.class)
+				.hasMessageContaining("Comparable");
+	}
+
+	@Test
+	void projectionAndMergeHandleArraysSetsAndPojoMaps() {
+		Catalog base = new Catalog();
+		base.tags = new LinkedHashSet<>(List.of(tag("a", "A", "x"), tag("b", "B", "y")));
+		base.featured = new Tag[]{tag("a", "A", "x")};
+		base.byCode = Map.of("a", tag("a", "A", "x"));
+
+		@SuppressWarnings("unchecked")
+		Map<String, Object> projection = (Map<String, Object>) ReflectionMapperEngine.map(base, Catalog.class, Read.class, true);
+		assertThat(projection.get("featured")).isEqualTo(List.of(Map.of("code", "a", "label", "A")));
+		assertThat(projection.get("byCode")).isEqualTo(Map.of("a", Map.of("code", "a", "label", "A")));
+
+		Catalog update = new Catalog();
+		update.tags = Set.of(tag("b", "B2", null));
+		update.byCode = Map.of("a", tag(null, "A2", null), "c", tag("c", "C", null));
+
+		Catalog merged = ReflectionMapperEngine.mergeWithAnnotation(base, update, Update.class);
+
+		assertThat(merged.tags).isInstanceOf(LinkedHashSet.class)
+				.extracting(t -> t.code + "=" + t.label).containsExactly("b=B2", "a=A");
+		assertThat(merged.byCode.get("a").label).isEqualTo("A2");
+		assertThat(merged.byCode.get("a").internal).isEqualTo("x");
+		assertThat(merged.byCode).containsKey("c");
+	}
+
+	private static Tag tag(String code, String label, String internal) {
+		Tag tag = new Tag();
+		tag.code = code;
+		tag.label = label;
+		tag.internal = internal;
+		return tag;
+	}
+}
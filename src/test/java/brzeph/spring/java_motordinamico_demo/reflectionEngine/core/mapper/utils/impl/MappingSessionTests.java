@@ -0,0 +1,137 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.impl;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.identity.Id;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ContextMappingEngineError;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.IllegalArgumentEngineException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappingSessionTests {
+
+	private static final MappingOptions TRACKING = new MappingOptions(true, MappingOptions.DEFAULT_MAX_DEPTH);
+
+	public static class Department {
+		@Read @Id
+		Long id = 10L;
+
+		@Read
+		Employee manager;
+
+		@Read
+		List<Employee> staff;
+	}
+
+	public static class Employee {
+		@Read
+		String name;
+
+		@Read
+		Department department;
+
+		@Read
+		Employee mentor;
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void bidirectionalReferenceEmitsReferenceMarkerInsteadOfRecursing() {
+		Department department = new Department();
+		department.manager = employee("Ana", department);
+
+		Map<String, Object> projection = (Map<String, Object>) ReflectionMapperEngine.map(department, Department.class,
+				Read.class, true, TRACKING);
+
+		Map<String, Object> manager = (Map<String, Object>) projection.get("manager");
+		assertThat(manager.get("name")).isEqualTo("Ana");
+		assertThat(manager.get("department")).isEqualTo(Map.of(ReflectionMapperEngine.REFERENCE_MARKER, "Department#10"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void sharedSubObjectIsMappedOnce() {
+		Department department = new Department();
+		Employee ana = employee("Ana", null);
+		department.manager = ana;
+		department.staff = List.of(ana, employee("Bia", null));
+
+		Map<String, Object> projection = (Map<String, Object>) ReflectionMapperEngine.map(department, Department.class,
+				Read.class, true, TRACKING);
+		Department copy = (Department) ReflectionMapperEngine.map(department, Department.class, Read.class, false, TRACKING);
+
+		assertThat(((List<Object>) projection.get("staff")).get(0)).isSameAs(projection.get("manager"));
+		assertThat(copy.staff.get(0)).isSameAs(copy.manager).isNotSameAs(ana);
+	}
+
+	@Test
+	void cycleInObjectOutputReusesTheTargetUnderConstruction() {
+		Department department = new Department();
+		department.manager = employee("Ana", department);
+
+		Department copy = (Department) ReflectionMapperEngine.map(department, Department.class, Read.class, false, TRACKING);
+
+		assertThat(copy.manager.department).isSameAs(copy);
+	}
+
+	@Test
+	void maxDepthIsEnforced() {
+		Employee chain = employee("e0", null);
+		for (int i = 1; i < 3; i++) {
+			Employee mentee = employee("e" + i, null);
+			mentee.mentor = chain;
+			chain = mentee;
+		}
+		Employee deepest = chain;
+
+		assertThat(ReflectionMapperEngine.map(deepest, Employee.class, Read.class, true, new MappingOptions(true, 3)))
+				.isNotNull();
+		assertThatThrownBy(() -> ReflectionMapperEngine.map(deepest, Employee.class, Read.class, true, new MappingOptions(true, 2)))
+				.isInstanceOf(ContextMappingEngineError.class)
+				.hasMessageContaining("(2)");
+	}
+
+	@Test
+	void withoutIdentityTrackingACycleStopsAtMaxDepth() {
+		Department department = new Department();
+		department.manager = employee("Ana", department);
+
+		assertThatThrownBy(() -> ReflectionMapperEngine.map(department, Department.class, Read.class, true,
+				new MappingOptions(false, 16)))
+				.isInstanceOf(ContextMappingEngineError.class)
+				.hasMessageContaining("(16)");
+	}
+
+	@Test
+	void sessionTracksDepthAndCollections() {
+		MappingSession session = new MappingSession(new MappingOptions(false, 2));
+		Object source = new Object();
+
+		session.enter(Department.class);
+		session.enter(Employee.class);
+		session.exit();
+		session.recordCollection(3);
+		session.recordCollection(5);
+
+		assertThat(session.register(source, null, source)).isNull();
+		assertThat(session.visitOf(source)).isNull();
+		assertThat(session.objectCount()).isEqualTo(2);
+		assertThat(session.deepestLevel()).isEqualTo(2);
+		assertThat(session.largestCollection()).isEqualTo(5);
+		assertThat(session.collectionElements()).isEqualTo(8);
+		session.enter(Employee.class);
+		assertThatThrownBy(() -> session.enter(Employee.class)).isInstanceOf(ContextMappingEngineError.class);
+		assertThatThrownBy(() -> new MappingOptions(true, 0)).isInstanceOf(IllegalArgumentEngineException.class);
+	}
+
+	private static Employee employee(String name, Department department) {
+		Employee employee = new Employee();
+		employee.name = name;
+		employee.department = department;
+		return employee;
+	}
+}
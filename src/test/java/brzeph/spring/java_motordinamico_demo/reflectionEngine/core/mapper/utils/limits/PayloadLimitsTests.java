@@ -0,0 +1,164 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.limits;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.EngineGlobalExceptionHandler;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.PayloadLimitEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.PayloadLimitEngineException.Limit;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.JsonMergePatch;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.CustomContextualMessageConverter;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PayloadLimitsTests {
+
+	private final CustomContextualMessageConverter converter = new CustomContextualMessageConverter(
+			new AnnotationBasedMapper(), new ObjectMapper(), new PayloadLimits(64 * 1024, 100, 4, 64));
+
+	@Test
+	void acceptsBodiesWithinLimits() throws Exception {
+		PurchaseOrder order = converter.read(PurchaseOrder.class, json("{\"customerName\":\"Ana\","
+				+ "\"orderDate\":\"2024-01-02T10:00:00\",\"items\":[{\"productCode\":\"P1\",\"quantity\":2}]}"), OperationContext.POST);
+
+		assertThat(order.getItems()).hasSize(1);
+		assertThat(order.getItems().get(0).getQuantity()).isEqualTo(2);
+	}
+
+	@Test
+	void rejectsDeclaredContentLengthBeforeReading() {
+		MockHttpInputMessage message = new MockHttpInputMessage(new EndlessInputStream("{", " "));
+		message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		message.getHeaders().setContentLength(1_000_000);
+
+		assertLimit(() -> converter.read(PurchaseOrder.class, message, OperationContext.POST), Limit.BODY_BYTES);
+	}
+
+	@Test
+	void stopsReadingEndlessBodiesAtTheLimits() {
+		EndlessInputStream whitespace = new EndlessInputStream("{\"notes\":", " ");
+		assertLimit(() -> converter.read(PurchaseOrder.class, json(whitespace), OperationContext.POST), Limit.BODY_BYTES);
+		assertThat(whitespace.consumed).isLessThanOrEqualTo(64 * 1024 + 1);
+
+		EndlessInputStream items = new EndlessInputStream("{\"items\":[1", ",1");
+		assertLimit(() -> converter.read(PurchaseOrder.class, json(items), OperationContext.POST), Limit.COLLECTION_LENGTH);
+		// Rejeitado no 101º elemento: apenas o primeiro buffer do parser foi lido, muito antes do limite de bytes.
+		assertThat(items.consumed).isLessThan(16 * 1024);
+	}
+
+	@Test
+	void rejectsDeepNestingAndLongStrings() {
+		assertLimit(() -> converter.read(PurchaseOrder.class, json("{\"a\":{\"b\":{\"c\":{\"d\":{}}}}}"), OperationContext.POST),
+				Limit.NESTING_DEPTH);
+		assertLimit(() -> converter.read(PurchaseOrder.class, json("{\"notes\":\"" + "x".repeat(65) + "\"}"), OperationContext.POST),
+				Limit.STRING_LENGTH);
+		assertLimit(() -> converter.read(PurchaseOrder.class, json("{\"" + "k".repeat(65) + "\":1}"), OperationContext.POST),
+				Limit.STRING_LENGTH);
+	}
+
+	@Test
+	void stopsBufferingLongStringsInsideTheParser() {
+		EndlessInputStream value = new EndlessInputStream("{\"notes\":\"", "x");
+		assertLimit(() -> converter.read(PurchaseOrder.class, json(value), OperationContext.POST), Limit.STRING_LENGTH);
+		// O próprio parser recusa o token: a string não é bufferizada até o limite de bytes do corpo.
+		assertThat(value.consumed).isLessThan(16 * 1024);
+
+		EndlessInputStream name = new EndlessInputStream("{\"", "k");
+		assertLimit(() -> converter.read(PurchaseOrder.class, json(name), OperationContext.POST), Limit.STRING_LENGTH);
+		assertThat(name.consumed).isLessThan(16 * 1024);
+	}
+
+	@Test
+	void leavesTheSharedObjectMapperUnconstrained() {
+		ObjectMapper shared = new ObjectMapper();
+		new CustomContextualMessageConverter(new AnnotationBasedMapper(), shared, new PayloadLimits(64 * 1024, 100, 4, 64));
+
+		assertThat(shared.getFactory().streamReadConstraints().getMaxStringLength()).isGreaterThan(64);
+	}
+
+	@Test
+	void appliesTheLimitsToMergePatchDocuments() throws Exception {
+		PurchaseOrder patched = Mapper.patchForX(new PurchaseOrder(), mergePatch("{\"notes\":\"ok\",\"items\":[{\"id\":1,\"quantity\":2}]}"),
+				Update.class);
+		assertThat(patched.getNotes()).isEqualTo("ok");
+		assertThat(patched.getItems()).hasSize(1);
+
+		String items = "{\"id\":1}" + ",{\"id\":1}".repeat(100);
+		assertLimit(() -> Mapper.patchForX(new PurchaseOrder(), mergePatch("{\"items\":[" + items + "]}"), Update.class),
+				Limit.COLLECTION_LENGTH);
+		// Valores que não são listas de POJOs também são lidos com o limite de coleção antes da conversão.
+		assertLimit(() -> Mapper.patchForX(new PurchaseOrder(), mergePatch("{\"notes\":[1" + ",1".repeat(100) + "]}"),
+				Update.class), Limit.COLLECTION_LENGTH);
+		assertLimit(() -> Mapper.patchForX(new PurchaseOrder(), mergePatch("{\"notes\":{\"a\":{\"b\":{\"c\":{}}}}}"),
+				Update.class), Limit.NESTING_DEPTH);
+		assertLimit(() -> Mapper.patchForX(new PurchaseOrder(), mergePatch("{\"notes\":\"" + "x".repeat(65) + "\"}"),
+				Update.class), Limit.STRING_LENGTH);
+	}
+
+	@Test
+	void mapsLimitsToStatusCodes() {
+		EngineGlobalExceptionHandler handler = new EngineGlobalExceptionHandler();
+
+		assertThat(handler.handlePayloadLimitException(new PayloadLimitEngineException(Limit.BODY_BYTES, "x")).getStatusCode())
+				.isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+		assertThat(handler.handlePayloadLimitException(new PayloadLimitEngineException(Limit.COLLECTION_LENGTH, "x")).getStatusCode())
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	private static void assertLimit(ThrowingCallable call, Limit limit) {
+		assertThatThrownBy(call)
+				.isInstanceOf(PayloadLimitEngineException.class)
+				.extracting(e -> ((PayloadLimitEngineException) e).getLimit())
+				.isEqualTo(limit);
+	}
+
+	private JsonMergePatch mergePatch(String body) throws Exception {
+		MockHttpInputMessage message = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+		message.getHeaders().setContentType(MediaType.parseMediaType(JsonMergePatch.MEDIA_TYPE_VALUE));
+		return (JsonMergePatch) converter.read(JsonMergePatch.class, message);
+	}
+
+	private static MockHttpInputMessage json(String body) {
+		return json(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static MockHttpInputMessage json(InputStream body) {
+		MockHttpInputMessage message = new MockHttpInputMessage(body);
+		message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		return message;
+	}
+
+	// Corpo sem fim: um prefixo seguido de repetições infinitas, contando quantos bytes foram consumidos.
+	private static final class EndlessInputStream extends InputStream {
+		private final byte[] prefix;
+		private final byte[] repeated;
+		private long consumed;
+
+		private EndlessInputStream(String prefix, String repeated) {
+			this.prefix = prefix.getBytes(StandardCharsets.UTF_8);
+			this.repeated = repeated.getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public int read() {
+			byte b = consumed < prefix.length
+					? prefix[(int) consumed]
+					: repeated[(int) ((consumed - prefix.length) % repeated.length)];
+			consumed++;
+			return b;
+		}
+	}
+}
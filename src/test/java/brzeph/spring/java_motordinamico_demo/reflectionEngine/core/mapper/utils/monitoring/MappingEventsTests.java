@@ -0,0 +1,122 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.monitoring;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.OrderItem;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappingEventsTests {
+
+	@AfterEach
+	void restoreThresholds() {
+		MappingEvents.configure(MappingEvents.Thresholds.defaults());
+	}
+
+	@Test
+	void recordsOnlyOperationsAboveThresholds(@TempDir Path dir) throws IOException {
+		MappingEvents.configure(new MappingEvents.Thresholds(Duration.ofHours(1), 10_000, 3, 1024));
+		Path file = dir.resolve("mapping.jfr");
+
+		try (Recording recording = new Recording()) {
+			recording.enable(MappingEvent.class);
+			recording.start();
+			Mapper.mapToMapForX(order(2), Read.class);
+			Mapper.mapToMapForX(order(5), Read.class);
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals("brzeph.reflectionEngine.Mapping"))
+				.toList();
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getString("reason")).isEqualTo("oversized");
+		assertThat(event.getString("context")).isEqualTo("Read");
+		assertThat(event.getInt("largestCollection")).isEqualTo(5);
+		assertThat(event.getInt("objectCount")).isEqualTo(6);
+		assertThat(event.getInt("nestingDepth")).isEqualTo(2);
+		assertThat(event.getDuration()).isPositive();
+	}
+
+	@Test
+	void slowEventsSpanTheWholeOperation(@TempDir Path dir) throws IOException {
+		MappingEvents.configure(new MappingEvents.Thresholds(Duration.ZERO, 10_000, 1_000, 1024));
+		Path file = dir.resolve("slow.jfr");
+
+		Instant before;
+		Instant after;
+		try (Recording recording = new Recording()) {
+			recording.enable(MappingEvent.class);
+			recording.start();
+			before = Instant.now();
+			Mapper.mapToMapForX(order(3), Read.class);
+			after = Instant.now();
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals("brzeph.reflectionEngine.Mapping"))
+				.toList();
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getString("reason")).isEqualTo("slow");
+		assertThat(event.getDuration()).isPositive();
+		assertThat(event.getStartTime()).isBetween(before.minusMillis(1), event.getEndTime());
+		assertThat(event.getEndTime()).isBefore(after.plusMillis(1));
+		assertThat(event.hasField("mappingDuration")).isFalse();
+	}
+
+	@Test
+	void mapForContextValidatesTheGraphInsideItsOwnEvent(@TempDir Path dir) throws IOException {
+		MappingEvents.configure(new MappingEvents.Thresholds(Duration.ZERO, 10_000, 1_000, 1024));
+		Path file = dir.resolve("request.jfr");
+		Map<String, Object> body = Map.of("customerName", "Ana", "orderDate", "2024-01-02T10:00:00",
+				"items", List.of(Map.of("productCode", "P1", "quantity", 1), Map.of("productCode", "P2", "quantity", 2)));
+
+		try (Recording recording = new Recording()) {
+			recording.enable(MappingEvent.class);
+			recording.start();
+			new AnnotationBasedMapper().mapForContext(body, PurchaseOrder.class, OperationContext.POST);
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<String> operations = RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals("brzeph.reflectionEngine.Mapping"))
+				.map(event -> event.getString("operation"))
+				.toList();
+		assertThat(operations).containsExactly("mapForContext");
+	}
+
+	private static PurchaseOrder order(int items) {
+		PurchaseOrder order = new PurchaseOrder();
+		List<OrderItem> orderItems = new ArrayList<>();
+		for (int i = 0; i < items; i++) {
+			OrderItem item = new OrderItem();
+			item.setId((long) i);
+			orderItems.add(item);
+		}
+		order.setItems(orderItems);
+		return order;
+	}
+}
@@ -0,0 +1,94 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.projection;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldMaskCompilerTests {
+
+	static class Order {
+		@Read
+		private Long id = 7L;
+
+		@Read
+		private String customerName = "Ana";
+
+		@Read
+		private Address address = new Address();
+
+		@Read
+		private List<Item> items = List.of(new Item("P1", 2), new Item("P2", 5));
+
+		private String secretData = "s";
+	}
+
+	static class Address {
+		@Read
+		private String city = "Recife";
+
+		@Read
+		private String street = "Rua A";
+	}
+
+	static class Item {
+		@Read
+		private String productCode;
+
+		@Read
+		private Integer quantity;
+
+		Item(String productCode, Integer quantity) {
+			this.productCode = productCode;
+			this.quantity = quantity;
+		}
+	}
+
+	@AfterEach
+	void clearCache() {
+		FieldMaskCompiler.clearCache();
+	}
+
+	@Test
+	void nestedPathsProjectOnlyTheSelectedLeaves() {
+		Object projection = Mapper.mapToMapForX(new Order(), Read.class, "id,items.productCode,address.city");
+
+		assertThat(projection).isEqualTo(Map.of(
+				"id", 7L,
+				"address", Map.of("city", "Recife"),
+				"items", List.of(Map.of("productCode", "P1"), Map.of("productCode", "P2"))));
+	}
+
+	@Test
+	void pathOrderAndBlankSegmentsShareOneCompiledMask() {
+		CompiledFieldMask mask = FieldMaskCompiler.compile(Order.class, Read.class, "items.productCode,id");
+
+		assertThat(FieldMaskCompiler.compile(Order.class, Read.class, " id , items.productCode ")).isSameAs(mask);
+		assertThat(FieldMaskCompiler.compile(Order.class, Read.class, ",id,,items.productCode,")).isSameAs(mask);
+		assertThat(FieldMaskCompiler.compile(Order.class, Read.class, "  ")).isNull();
+		assertThat(FieldMaskCompiler.compile(Order.class, Read.class, null)).isNull();
+	}
+
+	@Test
+	void unknownAndOutOfContextPathsAreIgnored() {
+		Object projection = Mapper.mapToMapForX(new Order(), Read.class, "id,secretData,missing,address.zip");
+
+		assertThat(projection).isEqualTo(Map.of("id", 7L, "address", Map.of()));
+	}
+
+	@Test
+	void pathWithoutChildrenProjectsTheWholeSubtree() {
+		Map<String, Object> wholeAddress = Map.of("city", "Recife", "street", "Rua A");
+
+		assertThat(Mapper.mapToMapForX(new Order(), Read.class, "address"))
+				.isEqualTo(Map.of("address", wholeAddress));
+		// O caminho inteiro prevalece sobre o caminho aninhado do mesmo campo.
+		assertThat(Mapper.mapToMapForX(new Order(), Read.class, "address.city,address"))
+				.isEqualTo(Map.of("address", wholeAddress));
+	}
+}
@@ -0,0 +1,88 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence.BulkCreatePipeline.BulkCreateOptions;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence.BulkCreatePipeline.BulkCreateReport;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkCreatePipelineTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+	private JdbcDataSource dataSource;
+
+	@BeforeEach
+	void createSchema() throws SQLException {
+		dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:bulkCreate;DB_CLOSE_DELAY=-1");
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE purchase_order (id BIGINT AUTO_INCREMENT PRIMARY KEY, customer_name VARCHAR(100), "
+					+ "order_date TIMESTAMP, created_at TIMESTAMP, notes VARCHAR(200), internal_comments VARCHAR(200), "
+					+ "secret_data VARCHAR(200))");
+		}
+	}
+
+	@AfterEach
+	void dropSchema() throws SQLException {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("DROP ALL OBJECTS");
+		}
+		executor.shutdownNow();
+	}
+
+	@Test
+	void insertsValidElementsInBatchesAndReportsInvalidOnes() throws SQLException {
+		String body = "[" + order("Ana") + "," + order("Bia") + ",{\"notes\":\"sem cliente\",\"items\":[]}," + order("Caio")
+				+ ",42," + order("Duda") + "]";
+		AtomicInteger tasks = new AtomicInteger();
+		Executor counting = task -> {
+			tasks.incrementAndGet();
+			executor.execute(task);
+		};
+		BulkCreatePipeline pipeline = new BulkCreatePipeline(dataSource, new AnnotationBasedMapper(), new ObjectMapper(),
+				new BulkCreateOptions(2, 2, 10), counting);
+
+		BulkCreateReport report = pipeline.run(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), PurchaseOrder.class);
+
+		assertThat(report.received()).isEqualTo(6);
+		assertThat(report.inserted()).isEqualTo(4);
+		assertThat(report.failed()).isEqualTo(2);
+		assertThat(report.errors()).extracting(BulkCreatePipeline.ElementError::index).containsExactly(2, 4);
+		// Um lote por tarefa no executor recebido; nenhum pool é criado pela execução.
+		assertThat(tasks).hasValue(3);
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+			 ResultSet rows = statement.executeQuery("SELECT COUNT(*), COUNT(secret_data) FROM purchase_order")) {
+			rows.next();
+			assertThat(rows.getInt(1)).isEqualTo(4);
+			assertThat(rows.getInt(2)).isZero();
+		}
+	}
+
+	@Test
+	void insertUsesCreateColumnsOnly() {
+		assertThat(BulkCreatePipeline.insertSql(PurchaseOrder.class))
+				.isEqualTo("INSERT INTO purchase_order (customer_name, order_date, notes) VALUES (?, ?, ?)");
+	}
+
+	private static String order(String customer) {
+		return "{\"customerName\":\"" + customer + "\",\"orderDate\":\"2024-01-02T10:00:00\",\"items\":[],"
+				+ "\"secretData\":\"ignorado\"}";
+	}
+}
@@ -0,0 +1,78 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcProjectionMapperTests {
+
+	private Connection connection;
+
+	@BeforeEach
+	void createSchema() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:h2:mem:projection;DB_CLOSE_DELAY=-1");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE purchase_order (id BIGINT PRIMARY KEY, customer_name VARCHAR(100), "
+					+ "order_date TIMESTAMP, created_at TIMESTAMP, notes VARCHAR(200), internal_comments VARCHAR(200), "
+					+ "secret_data VARCHAR(200))");
+			statement.execute("INSERT INTO purchase_order VALUES (1, 'Ana', TIMESTAMP '2024-01-02 10:00:00', "
+					+ "TIMESTAMP '2024-01-01 09:00:00', 'n1', 'c1', 's1')");
+			statement.execute("INSERT INTO purchase_order VALUES (2, 'Bia', TIMESTAMP '2024-02-02 10:00:00', "
+					+ "TIMESTAMP '2024-02-01 09:00:00', 'n2', 'c2', 's2')");
+		}
+	}
+
+	@AfterEach
+	void dropSchema() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("DROP ALL OBJECTS");
+		}
+		connection.close();
+	}
+
+	@Test
+	void selectContainsOnlyContextColumns() {
+		assertThat(JdbcProjectionMapper.selectSql(PurchaseOrder.class, Update.class, "id = ?"))
+				.isEqualTo("SELECT order_date, notes, internal_comments FROM purchase_order WHERE id = ?");
+		assertThat(JdbcProjectionMapper.selectSql(PurchaseOrder.class, Read.class, null))
+				.doesNotContain("secret_data");
+	}
+
+	@Test
+	void streamsRowsIntoProjectedObjects() {
+		try (Stream<PurchaseOrder> rows = JdbcProjectionMapper.streamObjects(connection, PurchaseOrder.class, Read.class,
+				"customer_name LIKE ?", "%a")) {
+			List<PurchaseOrder> orders = rows.toList();
+			assertThat(orders).extracting(PurchaseOrder::getId).containsExactly(1L, 2L);
+			assertThat(orders.get(0).getOrderDate()).isEqualTo(LocalDateTime.of(2024, 1, 2, 10, 0));
+			assertThat(orders).allSatisfy(order -> assertThat(order.getSecretData()).isNull());
+		}
+	}
+
+	@Test
+	void streamsRowsIntoMapsAndFindsById() {
+		try (Stream<Map<String, Object>> rows = JdbcProjectionMapper.streamMaps(connection, PurchaseOrder.class, Update.class,
+				"id = ?", 2L)) {
+			assertThat(rows.toList()).singleElement().satisfies(row -> assertThat(row)
+					.containsOnlyKeys("orderDate", "notes", "internalComments")
+					.containsEntry("notes", "n2"));
+		}
+		assertThat(JdbcProjectionMapper.findById(connection, PurchaseOrder.class, Read.class, 1L))
+				.hasValueSatisfying(order -> assertThat(order.getCustomerName()).isEqualTo("Ana"));
+		assertThat(JdbcProjectionMapper.findById(connection, PurchaseOrder.class, Read.class, 3L)).isEmpty();
+	}
+}
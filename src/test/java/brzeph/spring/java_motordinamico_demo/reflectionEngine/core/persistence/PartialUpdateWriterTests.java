@@ -0,0 +1,112 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence.PartialUpdateWriter.PartialUpdate;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class PartialUpdateWriterTests {
+
+	private Connection connection;
+
+	@BeforeEach
+	void createSchema() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:h2:mem:partialUpdate;DB_CLOSE_DELAY=-1");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE purchase_order (id BIGINT PRIMARY KEY, customer_name VARCHAR(100), "
+					+ "order_date TIMESTAMP, created_at TIMESTAMP, notes VARCHAR(200), internal_comments VARCHAR(200), "
+					+ "secret_data VARCHAR(200))");
+			for (int id = 1; id <= 3; id++) {
+				statement.execute("INSERT INTO purchase_order (id, customer_name, notes) VALUES (" + id + ", 'c" + id + "', 'n')");
+			}
+		}
+	}
+
+	@AfterEach
+	void dropSchema() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("DROP ALL OBJECTS");
+		}
+		connection.close();
+	}
+
+	@Test
+	void updatesOnlyChangedColumns() {
+		PurchaseOrder existing = order(1L, "n", null);
+		PurchaseOrder merged = Mapper.mergeForX(existing, order(null, "changed", null), Update.class);
+
+		PartialUpdate update = PartialUpdateWriter.diff(existing, merged, Update.class);
+
+		assertThat(update.sql()).isEqualTo("UPDATE purchase_order SET notes = ? WHERE id = ?");
+		assertThat(update.parameters()).containsExactly("changed", 1L);
+		assertThat(PartialUpdateWriter.diff(existing, existing, Update.class).isEmpty()).isTrue();
+	}
+
+	@Test
+	void batchesStatementsWithTheSameShape() {
+		List<PartialUpdate> updates = List.of(
+				PartialUpdateWriter.diff(order(1L, "n", null), order(1L, "a", null), Update.class),
+				PartialUpdateWriter.diff(order(2L, "n", null), order(2L, "n", "ic"), Update.class),
+				PartialUpdateWriter.diff(order(3L, "n", null), order(3L, "b", null), Update.class),
+				PartialUpdateWriter.diff(order(3L, "n", null), order(3L, "n", null), Update.class));
+
+		assertThat(PartialUpdateWriter.executeBatch(connection, updates)).containsExactly(1, 1, 1, 0);
+
+		try (Stream<PurchaseOrder> rows = JdbcProjectionMapper.streamObjects(connection, PurchaseOrder.class, Read.class, "id > 0")) {
+			assertThat(rows.toList()).extracting(PurchaseOrder::getNotes, PurchaseOrder::getInternalComments)
+					.containsExactly(
+							tuple("a", null),
+							tuple("n", "ic"),
+							tuple("b", null));
+		}
+	}
+
+	@Test
+	void keepsTheInputOrderForUpdatesOfTheSameRow() {
+		LocalDateTime date = LocalDateTime.of(2024, 1, 2, 10, 0);
+		PurchaseOrder v1 = order(1L, "a", null);
+		PurchaseOrder v2 = order(1L, "b", null);
+		v2.setOrderDate(date);
+		PurchaseOrder v3 = order(1L, "c", null);
+		v3.setOrderDate(date);
+
+		// [notes], [notes, order_date], [notes]: o último UPDATE da lista deve ser o último executado.
+		List<PartialUpdate> updates = List.of(
+				PartialUpdateWriter.diff(order(1L, "n", null), v1, Update.class),
+				PartialUpdateWriter.diff(v1, v2, Update.class),
+				PartialUpdateWriter.diff(v2, v3, Update.class));
+		assertThat(updates).extracting(PartialUpdate::sql).containsExactly(
+				"UPDATE purchase_order SET notes = ? WHERE id = ?",
+				"UPDATE purchase_order SET order_date = ?, notes = ? WHERE id = ?",
+				"UPDATE purchase_order SET notes = ? WHERE id = ?");
+
+		assertThat(PartialUpdateWriter.executeBatch(connection, updates)).containsExactly(1, 1, 1);
+
+		try (Stream<PurchaseOrder> rows = JdbcProjectionMapper.streamObjects(connection, PurchaseOrder.class, Read.class, "id = 1")) {
+			assertThat(rows.toList()).singleElement().extracting(PurchaseOrder::getNotes).isEqualTo("c");
+		}
+	}
+
+	private static PurchaseOrder order(Long id, String notes, String internalComments) {
+		PurchaseOrder order = new PurchaseOrder();
+		order.setId(id);
+		order.setNotes(notes);
+		order.setInternalComments(internalComments);
+		return order;
+	}
+}
@@ -0,0 +1,90 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.persistence.VersionedEntityStore.Entry;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionedEntityStoreTests {
+
+	@Test
+	void assignsIdsAndVersionsAndMergesWithUpdateRules() {
+		VersionedEntityStore<PurchaseOrder> store = new VersionedEntityStore<>(PurchaseOrder.class);
+		Entry<PurchaseOrder> first = store.create(order("n", "c1"));
+		Entry<PurchaseOrder> second = store.create(order("n", "c2"));
+
+		assertThat(first.entity().getId()).isEqualTo(1L);
+		assertThat(second.entity().getId()).isEqualTo(2L);
+		assertThat(first.version()).isEqualTo(1L);
+
+		Entry<PurchaseOrder> merged = store.merge(1L, order("changed", "ignorado"), Update.class);
+
+		assertThat(merged.version()).isEqualTo(2L);
+		assertThat(merged.entity().getNotes()).isEqualTo("changed");
+		assertThat(merged.entity().getCustomerName()).isEqualTo("c1");
+		assertThat(store.find(1L)).isSameAs(merged.entity());
+		assertThat(store.merge(99L, order("x", "x"), Update.class)).isNull();
+	}
+
+	@Test
+	void replaceRequiresTheExpectedVersion() {
+		VersionedEntityStore<PurchaseOrder> store = new VersionedEntityStore<>(PurchaseOrder.class);
+		store.create(order("n", "c"));
+
+		assertThat(store.replace(1L, 5L, order("stale", "c"))).isNull();
+		assertThat(store.replace(1L, 1L, order("fresh", "c")).version()).isEqualTo(2L);
+		assertThat(store.find(1L).getNotes()).isEqualTo("fresh");
+		assertThat(store.delete(1L)).isTrue();
+		assertThat(store.delete(1L)).isFalse();
+	}
+
+	@Test
+	void concurrentUpdatesOnAHotKeyAreNotLost() throws Exception {
+		VersionedEntityStore<PurchaseOrder> store = new VersionedEntityStore<>(PurchaseOrder.class);
+		store.create(order("", "c"));
+		int threads = 4;
+		int updatesPerThread = 500;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			futures.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < updatesPerThread; i++) {
+					store.update(1L, current -> {
+						PurchaseOrder next = Mapper.mergeForX(current, new PurchaseOrder(), Update.class);
+						next.setNotes(current.getNotes() + "x");
+						return next;
+					});
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		assertThat(store.find(1L).getNotes()).hasSize(threads * updatesPerThread);
+		assertThat(store.get(1L).version()).isEqualTo(1L + threads * updatesPerThread);
+	}
+
+	private static PurchaseOrder order(String notes, String customerName) {
+		PurchaseOrder order = new PurchaseOrder();
+		order.setNotes(notes);
+		order.setCustomerName(customerName);
+		return order;
+	}
+}
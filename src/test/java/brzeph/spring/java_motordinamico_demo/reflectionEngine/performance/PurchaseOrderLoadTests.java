@@ -0,0 +1,209 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.performance;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.JsonMergePatch;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Suíte de carga ponta a ponta do pipeline contextual (converter na entrada, GlobalResponseMapper na saída)
+ * sobre o CRUD de exemplo, com servidor embarcado em porta aleatória e gerador de carga local (somente localhost).
+ * <p>
+ * Modelo fechado: cada usuário virtual envia uma requisição, espera a resposta e envia a próxima, com mix
+ * GET/POST/PUT/PATCH ponderado. Relata, por endpoint, p50/p99/p999 de latência e vazão.
+ * <p>
+ * Fora do build padrão; rodar com {@code mvn test -Pperformance}. Parâmetros (system properties):
+ * {@code perf.users}, {@code perf.warmupSeconds}, {@code perf.durationSeconds}, {@code perf.seedOrders}.
+ */
+@Tag("performance")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PurchaseOrderLoadTests {
+
+	private static final int USERS = Integer.getInteger("perf.users", 16);
+	private static final int WARMUP_SECONDS = Integer.getInteger("perf.warmupSeconds", 5);
+	private static final int DURATION_SECONDS = Integer.getInteger("perf.durationSeconds", 20);
+	private static final int SEED_ORDERS = Integer.getInteger("perf.seedOrders", 200);
+
+	private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+	@LocalServerPort
+	private int port;
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	@Test
+	void reportsLatencyPercentilesAndThroughputPerEndpoint() throws Exception {
+		List<Long> ids = new ArrayList<>(SEED_ORDERS);
+		for (int i = 0; i < SEED_ORDERS; i++) {
+			HttpResponse<String> created = send(Endpoint.POST, null, i);
+			assertThat(created.statusCode()).as(created.body()).isEqualTo(201);
+			Matcher matcher = ID.matcher(created.body());
+			assertThat(matcher.find()).isTrue();
+			ids.add(Long.parseLong(matcher.group(1)));
+		}
+		long[] seeded = ids.stream().mapToLong(Long::longValue).toArray();
+
+		run(seeded, Duration.ofSeconds(WARMUP_SECONDS));
+		List<Recorder> recorders = run(seeded, Duration.ofSeconds(DURATION_SECONDS));
+
+		System.out.printf("%nPurchaseOrder load test: %d usuários, %ds (warmup %ds)%n", USERS, DURATION_SECONDS, WARMUP_SECONDS);
+		System.out.printf("%-8s %10s %8s %12s %10s %10s %10s %10s%n",
+				"endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+		for (Endpoint endpoint : Endpoint.values()) {
+			Stats stats = Stats.merge(endpoint, recorders);
+			System.out.printf("%-8s %10d %8d %12.1f %10.3f %10.3f %10.3f %10.3f%n", endpoint, stats.count(),
+					stats.errors(), stats.count() / (double) DURATION_SECONDS, stats.percentileMillis(0.50),
+					stats.percentileMillis(0.99), stats.percentileMillis(0.999), stats.percentileMillis(1.0));
+
+			assertThat(stats.count()).as("requisições em " + endpoint).isPositive();
+			assertThat(stats.errors()).as("respostas inesperadas em " + endpoint + ": " + stats.firstError()).isZero();
+		}
+	}
+
+	private List<Recorder> run(long[] seeded, Duration duration) throws InterruptedException, ExecutionException {
+		ExecutorService users = Executors.newFixedThreadPool(USERS);
+		try {
+			long deadline = System.nanoTime() + duration.toNanos();
+			List<Future<Recorder>> futures = new ArrayList<>(USERS);
+			for (int u = 0; u < USERS; u++) {
+				futures.add(users.submit(() -> virtualUser(seeded, deadline)));
+			}
+			List<Recorder> recorders = new ArrayList<>(USERS);
+			for (Future<Recorder> future : futures) {
+				recorders.add(future.get());
+			}
+			return recorders;
+		} finally {
+			users.shutdownNow();
+		}
+	}
+
+	private Recorder virtualUser(long[] seeded, long deadline) throws IOException, InterruptedException {
+		Recorder recorder = new Recorder();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int sequence = 0;
+		while (System.nanoTime() < deadline) {
+			Endpoint endpoint = Endpoint.pick(random.nextInt(100));
+			long id = seeded[random.nextInt(seeded.length)];
+
+			long start = System.nanoTime();
+			HttpResponse<String> response = send(endpoint, id, sequence++);
+			long elapsed = System.nanoTime() - start;
+
+			recorder.record(endpoint, elapsed, response.statusCode() == endpoint.expectedStatus ? null
+					: response.statusCode() + " " + response.body());
+		}
+		return recorder;
+	}
+
+	private HttpResponse<String> send(Endpoint endpoint, Long id, int sequence) throws IOException, InterruptedException {
+		String base = "http://localhost:" + port + "/api/purchase-orders";
+		HttpRequest.Builder request = HttpRequest.newBuilder().timeout(Duration.ofSeconds(10));
+		switch (endpoint) {
+			case GET -> request.uri(URI.create(base + "/" + id)).GET();
+			case POST -> request.uri(URI.create(base))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(createBody(sequence)));
+			case PUT -> request.uri(URI.create(base + "/" + id))
+					.header("Content-Type", "application/json")
+					.PUT(HttpRequest.BodyPublishers.ofString(updateBody(sequence)));
+			case PATCH -> request.uri(URI.create(base + "/" + id))
+					.header("Content-Type", JsonMergePatch.MEDIA_TYPE_VALUE)
+					.method("PATCH", HttpRequest.BodyPublishers.ofString("{\"notes\":\"patch " + sequence + "\"}"));
+		}
+		return client.send(request.header("Accept", "application/json").build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static String createBody(int sequence) {
+		return "{\"customerName\":\"Cliente " + sequence + "\",\"orderDate\":\"2024-01-02T10:00:00\",\"notes\":\"n\","
+				+ "\"items\":[{\"productCode\":\"P1\",\"quantity\":2,\"discount\":0.5},"
+				+ "{\"productCode\":\"P2\",\"quantity\":1,\"backordered\":true}],\"secretData\":\"ignorado\"}";
+	}
+
+	private static String updateBody(int sequence) {
+		return "{\"orderDate\":\"2024-02-03T11:00:00\",\"notes\":\"put " + sequence + "\","
+				+ "\"items\":[{\"id\":0,\"quantity\":" + (sequence % 10 + 1) + "}]}";
+	}
+
+	private enum Endpoint {
+		// Mix: 60% GET, 20% POST, 15% PUT, 5% PATCH.
+		GET(200, 60), POST(201, 80), PUT(200, 95), PATCH(200, 100);
+
+		private final int expectedStatus;
+		private final int cumulativeWeight;
+
+		Endpoint(int expectedStatus, int cumulativeWeight) {
+			this.expectedStatus = expectedStatus;
+			this.cumulativeWeight = cumulativeWeight;
+		}
+
+		static Endpoint pick(int roll) {
+			for (Endpoint endpoint : values()) {
+				if (roll < endpoint.cumulativeWeight) return endpoint;
+			}
+			return GET;
+		}
+	}
+
+	// Um por usuário virtual: gravação sem contenção entre threads; os resultados são unidos no fim.
+	private static final class Recorder {
+		private final long[][] latencies = new long[Endpoint.values().length][1024];
+		private final int[] counts = new int[Endpoint.values().length];
+		private final int[] errors = new int[Endpoint.values().length];
+		private final String[] firstErrors = new String[Endpoint.values().length];
+
+		void record(Endpoint endpoint, long nanos, String error) {
+			int e = endpoint.ordinal();
+			if (counts[e] == latencies[e].length) latencies[e] = Arrays.copyOf(latencies[e], counts[e] * 2);
+			latencies[e][counts[e]++] = nanos;
+			if (error != null && errors[e]++ == 0) firstErrors[e] = error;
+		}
+	}
+
+	private record Stats(long[] sortedNanos, int errors, String firstError) {
+
+		static Stats merge(Endpoint endpoint, List<Recorder> recorders) {
+			int e = endpoint.ordinal();
+			int total = recorders.stream().mapToInt(r -> r.counts[e]).sum();
+			long[] all = new long[total];
+			int offset = 0;
+			int errors = 0;
+			String firstError = null;
+			for (Recorder recorder : recorders) {
+				System.arraycopy(recorder.latencies[e], 0, all, offset, recorder.counts[e]);
+				offset += recorder.counts[e];
+				errors += recorder.errors[e];
+				if (firstError == null) firstError = recorder.firstErrors[e];
+			}
+			Arrays.sort(all);
+			return new Stats(all, errors, firstError);
+		}
+
+		int count() {
+			return sortedNanos.length;
+		}
+
+		double percentileMillis(double percentile) {
+			if (sortedNanos.length == 0) return Double.NaN;
+			int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+			return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+		}
+	}
+}
@@ -0,0 +1,276 @@
+package brzeph.spring.java_motordinamico_demo.reflectionEngine.stress;
+
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.OperationContext;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Read;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.annotation.apiCallType.Update;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.exceptions.ValidationEngineException;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.Mapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.AnnotationBasedMapper;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.cache.EngineCaches;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.core.mapper.utils.context.ContextRegistry;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.OrderItem;
+import brzeph.spring.java_motordinamico_demo.reflectionEngine.usageExample.PurchaseOrder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Estresse do estado compartilhado do motor (caches de metadados, registro de contextos, singletons): várias
+ * threads executam map, map com máscara, merge, mapForContext e validação e conferem cada resultado, enquanto
+ * outra thread esvazia os caches e registra um novo contexto no meio da execução.
+ * <p>
+ * A contenção é observada com os eventos JFR jdk.JavaMonitorEnter e jdk.ThreadPark: o tempo bloqueado é
+ * atribuído ao primeiro frame do motor na pilha e a suíte falha se ele passar de uma fração do tempo total
+ * das threads (medido após um aquecimento). Fora do build padrão; rodar com {@code mvn test -Pstress}. Parâmetros (system properties):
+ * {@code stress.threads}, {@code stress.warmupSeconds}, {@code stress.durationSeconds},
+ * {@code stress.clearIntervalMillis}, {@code stress.maxBlockedRatio}.
+ */
+@Tag("stress")
+class EngineStressTests {
+
+	private static final int THREADS = Integer.getInteger("stress.threads", 16);
+	private static final int WARMUP_SECONDS = Integer.getInteger("stress.warmupSeconds", 3);
+	private static final int DURATION_SECONDS = Integer.getInteger("stress.durationSeconds", 15);
+	private static final long CLEAR_INTERVAL_MILLIS = Long.getLong("stress.clearIntervalMillis", 10);
+	private static final double MAX_BLOCKED_RATIO = Double.parseDouble(System.getProperty("stress.maxBlockedRatio", "0.01"));
+
+	private static final String ENGINE_PACKAGE = "brzeph.spring.java_motordinamico_demo.reflectionEngine.core";
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.FIELD)
+	@interface StressAudit {}
+
+	static class AuditedOrder {
+		@Read @StressAudit
+		private Long id;
+
+		@StressAudit
+		private String auditTrail;
+
+		@Read
+		private String customerName;
+
+		AuditedOrder(long id) {
+			this.id = id;
+			this.auditTrail = "audit-" + id;
+			this.customerName = "Cliente " + id;
+		}
+	}
+
+	private final AnnotationBasedMapper mapper = new AnnotationBasedMapper();
+
+	@Test
+	void sharedStateStaysCorrectAndUncontendedUnderConcurrency(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("stress.jfr");
+		Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+		LongAdder operations = new LongAdder();
+		LongAdder cacheClears = new LongAdder();
+		AtomicBoolean auditRegistered = new AtomicBoolean();
+
+		// Aquecimento fora da gravação: carga de classes e compilação do JIT não são contenção do motor.
+		run(Duration.ofSeconds(WARMUP_SECONDS), false, new AtomicBoolean(), new LongAdder(), new LongAdder(), failures);
+
+		long elapsedNanos;
+		try (Recording recording = new Recording()) {
+			recording.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(1)).withStackTrace();
+			recording.enable("jdk.ThreadPark").withThreshold(Duration.ofMillis(1)).withStackTrace();
+			recording.start();
+			long start = System.nanoTime();
+			run(Duration.ofSeconds(DURATION_SECONDS), true, auditRegistered, operations, cacheClears, failures);
+			elapsedNanos = System.nanoTime() - start;
+			recording.stop();
+			recording.dump(file);
+		}
+
+		Map<String, Long> blockedByFrame = new HashMap<>();
+		long blockedNanos = 0;
+		for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+			String frame = engineFrame(event);
+			if (frame == null) continue;
+			long nanos = event.getDuration().toNanos();
+			blockedByFrame.merge(event.getEventType().getName() + " @ " + frame, nanos, Long::sum);
+			blockedNanos += nanos;
+		}
+		double blockedRatio = blockedNanos / ((double) elapsedNanos * THREADS);
+
+		System.out.printf("%nEngine stress: %d threads, %ds, %d operações, %d limpezas de cache%n",
+				THREADS, DURATION_SECONDS, operations.sum(), cacheClears.sum());
+		System.out.printf("Tempo bloqueado no motor: %.3f ms (%.4f%% do tempo das threads)%n",
+				blockedNanos / 1_000_000.0, blockedRatio * 100);
+		blockedByFrame.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+				.limit(10)
+				.forEach(entry -> System.out.printf("  %10.3f ms  %s%n", entry.getValue() / 1_000_000.0, entry.getKey()));
+
+		assertThat(failures).as("falhas de corretude sob concorrência").isEmpty();
+		assertThat(auditRegistered).isTrue();
+		assertThat(operations.sum()).isPositive();
+		assertThat(blockedRatio).as("hotspots de contenção: " + blockedByFrame).isLessThanOrEqualTo(MAX_BLOCKED_RATIO);
+	}
+
+	private void run(Duration duration, boolean registerAudit, AtomicBoolean auditRegistered, LongAdder operations,
+					 LongAdder cacheClears, Queue<Throwable> failures) throws InterruptedException, ExecutionException {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+		long deadline = System.nanoTime() + duration.toNanos();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			futures.add(pool.submit(() -> churn(deadline, duration, registerAudit, auditRegistered, cacheClears, failures)));
+			for (int t = 0; t < THREADS; t++) {
+				int worker = t;
+				futures.add(pool.submit(() -> work(worker, deadline, auditRegistered, operations, failures)));
+			}
+			for (Future<?> future : futures) future.get();
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	// Esvazia os caches continuamente e registra um contexto novo na metade do teste.
+	private void churn(long deadline, Duration duration, boolean registerAudit, AtomicBoolean auditRegistered,
+					   LongAdder cacheClears, Queue<Throwable> failures) {
+		long halfway = deadline - duration.toNanos() / 2;
+		try {
+			while (System.nanoTime() < deadline) {
+				if (registerAudit && !auditRegistered.get() && System.nanoTime() >= halfway) {
+					ContextRegistry.register("stress-audit", StressAudit.class);
+					auditRegistered.set(true);
+				}
+				EngineCaches.clearAll();
+				cacheClears.increment();
+				Thread.sleep(CLEAR_INTERVAL_MILLIS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Throwable e) {
+			failures.add(e);
+		}
+	}
+
+	private void work(int worker, long deadline, AtomicBoolean auditRegistered, LongAdder operations, Queue<Throwable> failures) {
+		long iteration = 0;
+		try {
+			while (System.nanoTime() < deadline) {
+				long id = worker * 1_000_000L + iteration;
+				switch ((int) (iteration++ % 6)) {
+					case 0 -> checkMap(id);
+					case 1 -> checkMaskedMap(id);
+					case 2 -> checkMerge(id);
+					case 3 -> checkMapForContext(id);
+					case 4 -> checkValidation(id);
+					default -> checkCustomContext(id, auditRegistered.get());
+				}
+				operations.increment();
+			}
+		} catch (Throwable e) {
+			failures.add(e);
+		}
+	}
+
+	private void checkMap(long id) {
+		Map<?, ?> mapped = (Map<?, ?>) Mapper.mapToMapForX(order(id, 3), Read.class);
+		assertThat(mapped.get("id")).isEqualTo(id);
+		assertThat(mapped.get("customerName")).isEqualTo("Cliente " + id);
+		assertThat(mapped.containsKey("secretData")).isFalse();
+		assertThat((List<?>) mapped.get("items")).hasSize(3);
+	}
+
+	private void checkMaskedMap(long id) {
+		Map<?, ?> mapped = (Map<?, ?>) Mapper.mapToMapForX(order(id, 2), Read.class, "id,items.productCode");
+		assertThat(mapped.keySet()).hasSize(2);
+		assertThat(mapped.get("id")).isEqualTo(id);
+		assertThat(mapped.get("items")).isEqualTo(List.of(Map.of("productCode", "P0"), Map.of("productCode", "P1")));
+	}
+
+	private void checkMerge(long id) {
+		PurchaseOrder base = order(id, 2);
+		PurchaseOrder update = new PurchaseOrder();
+		update.setNotes("notes " + id);
+		update.setCustomerName("ignorado");
+		PurchaseOrder merged = Mapper.mergeForX(base, update, Update.class);
+		assertThat(merged.getNotes()).isEqualTo("notes " + id);
+		assertThat(merged.getCustomerName()).isEqualTo("Cliente " + id);
+		assertThat(merged.getItems()).hasSize(2);
+	}
+
+	private void checkMapForContext(long id) {
+		Map<String, Object> body = Map.of(
+				"customerName", "Cliente " + id,
+				"orderDate", "2024-01-02T10:00:00",
+				"secretData", "ignorado",
+				"items", List.of(Map.of("productCode", "P" + id, "quantity", 2)));
+		PurchaseOrder order = mapper.mapForContext(body, PurchaseOrder.class, OperationContext.POST);
+		assertThat(order.getCustomerName()).isEqualTo("Cliente " + id);
+		assertThat(order.getSecretData()).isNull();
+		assertThat(order.getItems()).extracting(OrderItem::getProductCode).containsExactly("P" + id);
+	}
+
+	private void checkValidation(long id) {
+		PurchaseOrder valid = order(id, 1);
+		mapper.validateBody(valid, OperationContext.POST);
+		valid.setCustomerName(" ");
+		assertThatThrownBy(() -> mapper.validateBody(valid, OperationContext.POST))
+				.isInstanceOf(ValidationEngineException.class);
+	}
+
+	private void checkCustomContext(long id, boolean registered) {
+		// Antes do registro explícito o contexto é autorregistrado no primeiro uso; o resultado deve ser o mesmo.
+		Map<?, ?> mapped = (Map<?, ?>) Mapper.mapToMapForX(new AuditedOrder(id), StressAudit.class);
+		assertThat(mapped).as(registered ? "contexto registrado" : "contexto autorregistrado")
+				.isEqualTo(Map.of("id", id, "auditTrail", "audit-" + id));
+	}
+
+	private static PurchaseOrder order(long id, int items) {
+		PurchaseOrder order = new PurchaseOrder();
+		order.setId(id);
+		order.setCustomerName("Cliente " + id);
+		order.setOrderDate(LocalDateTime.of(2024, 1, 2, 10, 0));
+		order.setSecretData("s");
+		List<OrderItem> orderItems = new ArrayList<>();
+		for (int i = 0; i < items; i++) {
+			OrderItem item = new OrderItem();
+			item.setId((long) i);
+			item.setProductCode("P" + i);
+			item.setQuantity(i + 1);
+			orderItems.add(item);
+		}
+		order.setItems(orderItems);
+		return order;
+	}
+
+	private static String engineFrame(RecordedEvent event) {
+		if (event.getStackTrace() == null) return null;
+		for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+			String type = frame.getMethod().getType().getName();
+			if (type.startsWith(ENGINE_PACKAGE)) {
+				// Frame do motor que chegou ao lock e o frame que efetivamente bloqueou (pode ser do JDK ou do Jackson).
+				RecordedFrame top = event.getStackTrace().getFrames().get(0);
+				return simpleName(type) + "." + frame.getMethod().getName()
+						+ " <- " + simpleName(top.getMethod().getType().getName()) + "." + top.getMethod().getName();
+			}
+		}
+		return null;
+	}
+
+	private static String simpleName(String type) {
+		return type.substring(type.lastIndexOf('.') + 1);
+	}
+}